@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Measures time to readiness and latency of the first request for the default fat jar
+# and for the fast-startup layout (AOT + AppCDS + prod profile).
+#
+#   ./mvnw -Pfast-startup package -DskipTests
+#   scripts/measure-startup.sh [runs] [port]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${2:-18080}
+BASE_URL="http://localhost:${PORT}"
+cd "$(dirname "$0")/.."
+
+FAT_JAR=$(ls target/testingapp-*.jar | grep -v -- '-app.jar' | head -n 1)
+APP_DIR=target/app
+APP_JAR=$(ls ${APP_DIR}/testingapp-*-app.jar | head -n 1)
+
+now_ms() {
+    date +%s%3N
+}
+
+# prints "<ms until /actuator/health is UP> <ms of the first GET /api/employees>"
+measure() {
+    local start ready first_start first_end pid
+    start=$(now_ms)
+    "$@" --server.port="${PORT}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "application exited during startup" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    ready=$(now_ms)
+    first_start=$(now_ms)
+    curl -sf "${BASE_URL}/api/employees" > /dev/null
+    first_end=$(now_ms)
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+    echo "$((ready - start)) $((first_end - first_start))"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+report() {
+    local name=$1
+    shift
+    local ready=() first=() result
+    for _ in $(seq "${RUNS}"); do
+        result=$(measure "$@")
+        ready+=("${result% *}")
+        first+=("${result#* }")
+    done
+    printf '%-14s startup median %5d ms   first request median %4d ms   (startup runs: %s)\n' "${name}" \
+        "$(printf '%s\n' "${ready[@]}" | median)" "$(printf '%s\n' "${first[@]}" | median)" "${ready[*]}"
+}
+
+report "fat jar" java -jar "${FAT_JAR}"
+report "fast-startup" java -XX:SharedArchiveFile="${APP_DIR}/application.jsa" -Xlog:cds=error \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar "${APP_JAR}"
@@ -0,0 +1,43 @@
+package db.migration.common;
+
+import io.github.joenas.testingapp.model.EmailHash;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// The hash is SHA-256 based and normalized in Java, which neither H2 nor MySQL can reproduce exactly in SQL.
+// Rows are walked in keyset pages and each page is one batched update.
+public class V6__backfill_employee_email_hash extends BaseJavaMigration {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(
+                "select id, email from employees where id > ? order by id limit " + PAGE_SIZE);
+             PreparedStatement update = connection.prepareStatement(
+                     "update employees set email_hash = ? where id = ?")) {
+            long lastId = 0;
+            int rows;
+            do {
+                rows = 0;
+                select.setLong(1, lastId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getLong(1);
+                        update.setLong(1, EmailHash.of(resultSet.getString(2)));
+                        update.setLong(2, lastId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                update.executeBatch();
+            } while (rows == PAGE_SIZE);
+        }
+    }
+}
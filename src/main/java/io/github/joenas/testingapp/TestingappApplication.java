@@ -1,9 +1,14 @@
 package io.github.joenas.testingapp;
 
+import io.github.joenas.testingapp.startup.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
+@EnableScheduling
 public class TestingappApplication {
 
 	public static void main(String[] args) {
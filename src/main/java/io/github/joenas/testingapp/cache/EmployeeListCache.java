@@ -0,0 +1,122 @@
+package io.github.joenas.testingapp.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.dto.EmployeeMapper;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.service.EmployeesInvalidatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Pre-serialized, pre-compressed body of GET /api/employees.
+// Every employee mutation drops the cached bytes and schedules a rebuild on a background thread;
+// until the rebuild is done readers get an empty Optional and fall back to the normal request path,
+// they never wait for it and never see a list older than the last mutation.
+public class EmployeeListCache implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeListCache.class);
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-list-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // at most one rebuild is queued, mutations arriving meanwhile are covered by it
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    // guarded by this
+    private long version;
+    private volatile SerializedEmployeeList current;
+
+    public EmployeeListCache(EmployeeService employeeService, ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<SerializedEmployeeList> get() {
+        return Optional.ofNullable(current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onEmployeesInvalidated(EmployeesInvalidatedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        synchronized (this) {
+            version++;
+            current = null;
+        }
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    void rebuild() {
+        rebuildScheduled.set(false);
+        long buildVersion;
+        synchronized (this) {
+            buildVersion = version;
+        }
+        SerializedEmployeeList list;
+        try {
+            // read after taking the version, a mutation committed meanwhile bumps the version and is caught below
+            byte[] json = objectMapper.writeValueAsBytes(EmployeeMapper.toResponses(employeeService.getAllEmployees()));
+            list = SerializedEmployeeList.of(json, gzip(json), buildVersion);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Rebuilding the employee list cache failed, requests are served uncached", e);
+            return;
+        }
+        synchronized (this) {
+            if (version == buildVersion) {
+                current = list;
+            }
+        }
+    }
+
+    // compressed once per version, so the best compression level is affordable
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+}
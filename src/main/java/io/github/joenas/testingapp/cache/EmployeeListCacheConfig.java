@@ -0,0 +1,30 @@
+package io.github.joenas.testingapp.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.dto.EmployeeStreamWriter;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Serves GET /api/employees from pre-serialized bytes, switched on by app.list-cache.enabled=true (prod profile).
+// Only mutations through the EmployeeService invalidate the cache, not writes going to the repository directly.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.list-cache", name = "enabled", havingValue = "true")
+public class EmployeeListCacheConfig {
+
+    @Bean
+    public EmployeeListCache employeeListCache(EmployeeService employeeService, ObjectMapper objectMapper) {
+        return new EmployeeListCache(employeeService, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<EmployeeListCacheFilter> employeeListCacheFilter(
+            EmployeeListCache employeeListCache, EmployeeStreamWriter employeeStreamWriter) {
+        FilterRegistrationBean<EmployeeListCacheFilter> registration = new FilterRegistrationBean<>(
+                new EmployeeListCacheFilter(employeeListCache, employeeStreamWriter));
+        registration.addUrlPatterns("/api/employees");
+        return registration;
+    }
+}
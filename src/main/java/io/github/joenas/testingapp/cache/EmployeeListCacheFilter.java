@@ -0,0 +1,108 @@
+package io.github.joenas.testingapp.cache;
+
+import io.github.joenas.testingapp.dto.EmployeeStreamWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+// Answers GET /api/employees from the EmployeeListCache when the client negotiates JSON,
+// writing the cached (gzip) bytes straight to the response without touching the controller.
+public class EmployeeListCacheFilter extends OncePerRequestFilter {
+
+    private final EmployeeListCache employeeListCache;
+    private final EmployeeStreamWriter employeeStreamWriter;
+
+    public EmployeeListCacheFilter(EmployeeListCache employeeListCache, EmployeeStreamWriter employeeStreamWriter) {
+        this.employeeListCache = employeeListCache;
+        this.employeeStreamWriter = employeeStreamWriter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || !request.getRequestURI().equals(request.getContextPath() + "/api/employees");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Optional<SerializedEmployeeList> cached = employeeListCache.get();
+        if (cached.isEmpty() || !negotiatesJson(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        SerializedEmployeeList list = cached.get();
+        // the body depends on the negotiated format as well as the encoding
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, list.etag());
+        if (list.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = list.json();
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = list.gzip();
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private boolean negotiatesJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        try {
+            List<MediaType> accepted = accept == null ? List.of() : MediaType.parseMediaTypes(accept);
+            return MediaType.APPLICATION_JSON.equals(employeeStreamWriter.negotiate(accepted));
+        } catch (HttpMediaTypeNotAcceptableException | IllegalArgumentException e) {
+            // let Spring MVC produce the error response
+            return false;
+        }
+    }
+
+    // gzip is sent when the client lists it, or a wildcard, with a non-zero quality (RFC 9110 section 12.5.3)
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].strip().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip")) {
+                gzipQuality = quality(parameters);
+            } else if (name.equals("*")) {
+                wildcardQuality = quality(parameters);
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].strip();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.joenas.testingapp.cache;
+
+import org.springframework.util.DigestUtils;
+
+// the JSON body of GET /api/employees, plain and gzip compressed, for one version of the employee data
+public record SerializedEmployeeList(byte[] json, byte[] gzip, long version, String etag) {
+
+    // the ETag is derived from the content, so it survives restarts and is the same on every instance
+    public static SerializedEmployeeList of(byte[] json, byte[] gzip, long version) {
+        return new SerializedEmployeeList(json, gzip, version, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+}
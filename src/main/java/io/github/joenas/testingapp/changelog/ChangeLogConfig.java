@@ -0,0 +1,62 @@
+package io.github.joenas.testingapp.changelog;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.UUID;
+
+// Cross-instance cache invalidation through the shared database, for deployments with several instances:
+// with app.change-log.enabled=true every mutation is logged and every instance polls the log of the others.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.change-log", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ChangeLogProperties.class)
+public class ChangeLogConfig {
+
+    // identifies this instance's own rows, which the poller skips
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Bean
+    public ChangeLogWriter changeLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new ChangeLogWriter(jdbcTemplate, new TransactionTemplate(transactionManager), instanceId,
+                Clock.systemUTC());
+    }
+
+    @Bean
+    public ChangeLogPoller changeLogPoller(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                           ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                           ChangeLogProperties properties) {
+        return new ChangeLogPoller(jdbcTemplate, eventPublisher, entityManagerFactory.getIfAvailable(), instanceId,
+                properties.maxStaleness(), properties.batchSize(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ChangeLogPurger changeLogPurger(ChangeLogPoller changeLogPoller, ChangeLogProperties properties) {
+        return new ChangeLogPurger(changeLogPoller, properties);
+    }
+
+    static class ChangeLogPurger {
+
+        private final ChangeLogPoller changeLogPoller;
+        private final ChangeLogProperties properties;
+
+        ChangeLogPurger(ChangeLogPoller changeLogPoller, ChangeLogProperties properties) {
+            this.changeLogPoller = changeLogPoller;
+            this.properties = properties;
+        }
+
+        @Scheduled(fixedDelayString = "${app.change-log.purge-interval:PT1M}")
+        void purge() {
+            changeLogPoller.purgeOlderThan(properties.retention());
+        }
+    }
+}
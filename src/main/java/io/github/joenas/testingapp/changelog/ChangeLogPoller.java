@@ -0,0 +1,161 @@
+package io.github.joenas.testingapp.changelog;
+
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeesInvalidatedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Reads new employee_change_log rows written by other instances and invalidates the local caches for their ids:
+// the Hibernate second-level and query cache directly, everything else through an EmployeesInvalidatedEvent.
+// An ALL row stands for changes its writer could not log, see ChangeLogWriter, and drops all cached employees.
+//
+// Rows are read by primary key above a high-water mark. Sequence numbers are assigned on insert but can become
+// visible out of order (or never, after a rollback), so a missing number holds the mark back until it shows up
+// or is older than max-staleness. If the log cannot be read for longer than max-staleness, all caches are dropped.
+public class ChangeLogPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String instanceId;
+    private final Duration maxStaleness;
+    private final int batchSize;
+    private final Clock clock;
+
+    // all sequence numbers up to here are processed
+    private long highWaterMark;
+    // processed sequence numbers above the high-water mark
+    private final TreeSet<Long> processedAbove = new TreeSet<>();
+    // missing sequence numbers and when they were first noticed
+    private final Map<Long, Instant> gapsSince = new HashMap<>();
+    private Instant lastSuccessfulPoll;
+    private boolean invalidatedEverything;
+
+    public ChangeLogPoller(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                           EntityManagerFactory entityManagerFactory, String instanceId,
+                           Duration maxStaleness, int batchSize, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.instanceId = instanceId;
+        this.maxStaleness = maxStaleness;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        // caches start empty, so older changes are irrelevant
+        Long maxSeq = jdbcTemplate.queryForObject("select max(seq) from employee_change_log", Long.class);
+        this.highWaterMark = maxSeq == null ? 0 : maxSeq;
+        this.lastSuccessfulPoll = clock.instant();
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-log.poll-interval:PT1S}")
+    public synchronized void poll() {
+        Instant now = clock.instant();
+        List<ChangeLogEntry> entries;
+        try {
+            entries = jdbcTemplate.query(
+                    "select seq, employee_id, change_type, origin from employee_change_log"
+                            + " where seq > ? order by seq limit ?",
+                    (rs, rowNum) -> new ChangeLogEntry(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                            rs.getString(4)),
+                    highWaterMark, batchSize);
+        } catch (DataAccessException e) {
+            logger.warn("Polling the employee change log failed", e);
+            if (!invalidatedEverything && lastSuccessfulPoll.plus(maxStaleness).isBefore(now)) {
+                invalidateEverything();
+            }
+            return;
+        }
+        lastSuccessfulPoll = now;
+        invalidatedEverything = false;
+
+        Set<Long> changedIds = new LinkedHashSet<>();
+        boolean changesLost = false;
+        for (ChangeLogEntry entry : entries) {
+            if (processedAbove.add(entry.seq()) && !instanceId.equals(entry.origin())) {
+                if (ChangeLogWriter.ALL.equals(entry.changeType())) {
+                    changesLost = true;
+                } else {
+                    changedIds.add(entry.employeeId());
+                }
+            }
+        }
+        advanceHighWaterMark(now);
+        if (changesLost) {
+            logger.warn("Another instance could not log some of its changes, dropping all cached employees");
+            evictEverything();
+        } else if (!changedIds.isEmpty()) {
+            invalidate(changedIds);
+        }
+    }
+
+    // any instance may purge, the delete is idempotent; retention has to be well above max-staleness
+    public void purgeOlderThan(Duration retention) {
+        jdbcTemplate.update("delete from employee_change_log where changed_at < ?",
+                Timestamp.from(clock.instant().minus(retention)));
+    }
+
+    synchronized long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    private void advanceHighWaterMark(Instant now) {
+        while (!processedAbove.isEmpty()) {
+            long next = highWaterMark + 1;
+            if (!processedAbove.remove(next)) {
+                Instant since = gapsSince.computeIfAbsent(next, seq -> now);
+                if (since.plus(maxStaleness).isAfter(now)) {
+                    // the row may still be committed
+                    return;
+                }
+                // rolled back, the insert never became visible
+            }
+            gapsSince.remove(next);
+            highWaterMark = next;
+        }
+    }
+
+    private void invalidate(Set<Long> ids) {
+        if (entityManagerFactory != null) {
+            ids.forEach(id -> entityManagerFactory.getCache().evict(Employee.class, id));
+            // query results depend on the table, this instance's update timestamps know nothing of the change
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+        eventPublisher.publishEvent(EmployeesInvalidatedEvent.of(ids));
+    }
+
+    private void invalidateEverything() {
+        logger.warn("Employee change log unreadable for more than {}, dropping all cached employees", maxStaleness);
+        invalidatedEverything = true;
+        evictEverything();
+    }
+
+    private void evictEverything() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.getCache().evict(Employee.class);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+        eventPublisher.publishEvent(EmployeesInvalidatedEvent.everything());
+    }
+
+    private record ChangeLogEntry(long seq, long employeeId, String changeType, String origin) {
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.joenas.testingapp.changelog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// bound from app.change-log.*, poll-interval itself is read by the @Scheduled poller
+@ConfigurationProperties(prefix = "app.change-log")
+public record ChangeLogProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("1s") Duration pollInterval,
+                                  @DefaultValue("10s") Duration maxStaleness,
+                                  @DefaultValue("1000") int batchSize,
+                                  @DefaultValue("1h") Duration retention) {
+}
@@ -0,0 +1,84 @@
+package io.github.joenas.testingapp.changelog;
+
+import io.github.joenas.testingapp.service.EmployeeChangedEvent.ChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Appends a row to employee_change_log for every mutation made through this instance's EmployeeService.
+// EmployeeServiceImpl writes the rows in the mutation's own transaction, so both commit or roll back together.
+// Mutations outside of this database's transactions (the sharded service) are recorded afterwards. When such an
+// insert fails, an ALL row is written as soon as the log is writable again and the other instances drop everything.
+public class ChangeLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogWriter.class);
+
+    static final String ALL = "ALL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId;
+    private final Clock clock;
+    private final AtomicBoolean changesLost = new AtomicBoolean();
+
+    public ChangeLogWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, String instanceId,
+                           Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.instanceId = instanceId;
+        this.clock = clock;
+    }
+
+    // runs the mutation and logs the ids it changed in one transaction, joining the caller's if there is one
+    public <T> T inTransaction(ChangeType type, Supplier<T> mutation, Function<T, Collection<Long>> changedIds) {
+        return transactionTemplate.execute(status -> {
+            T result = mutation.get();
+            insert(type.name(), changedIds.apply(result));
+            return result;
+        });
+    }
+
+    // logs a mutation that has already been committed elsewhere, a failure must not fail the request
+    public void record(ChangeType type, long id) {
+        try {
+            insert(type.name(), List.of(id));
+        } catch (DataAccessException e) {
+            logger.warn("Logging the {} of employee {} failed, the other instances will drop all cached employees",
+                    type, id, e);
+            changesLost.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-log.poll-interval:PT1S}")
+    public void recordLostChanges() {
+        if (changesLost.compareAndSet(true, false)) {
+            try {
+                insert(ALL, List.of(0L));
+            } catch (DataAccessException e) {
+                logger.warn("Employee change log still not writable", e);
+                changesLost.set(true);
+            }
+        }
+    }
+
+    private void insert(String changeType, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = Timestamp.from(clock.instant());
+        jdbcTemplate.batchUpdate(
+                "insert into employee_change_log (employee_id, change_type, origin, changed_at) values (?, ?, ?, ?)",
+                ids.stream().map(id -> new Object[]{id, changeType, instanceId, changedAt}).toList());
+    }
+}
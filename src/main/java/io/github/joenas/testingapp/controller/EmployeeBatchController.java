@@ -0,0 +1,41 @@
+package io.github.joenas.testingapp.controller;
+
+import io.github.joenas.testingapp.dto.EmployeeMapper;
+import io.github.joenas.testingapp.dto.EmployeeResponse;
+import io.github.joenas.testingapp.fanout.AsyncEmployeeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+// Several employees in one request, e.g. GET /api/employees/batch?ids=1,2,3. The lookups run in parallel,
+// unknown ids are left out of the answer.
+@RestController
+@RequestMapping("/api/employees/batch")
+public class EmployeeBatchController {
+
+    private final AsyncEmployeeService asyncEmployeeService;
+
+    public EmployeeBatchController(AsyncEmployeeService asyncEmployeeService) {
+        this.asyncEmployeeService = asyncEmployeeService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<EmployeeResponse>> getEmployeesByIds(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(EmployeeMapper.toResponses(asyncEmployeeService.getEmployeesByIds(ids).join()));
+        } catch (CompletionException e) {
+            // the failure of the first failing lookup, mapped by GlobalExceptionHandler like a serial call
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
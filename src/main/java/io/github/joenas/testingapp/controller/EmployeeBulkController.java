@@ -0,0 +1,53 @@
+package io.github.joenas.testingapp.controller;
+
+import io.github.joenas.testingapp.dto.BulkDeleteRequest;
+import io.github.joenas.testingapp.dto.BulkOperationResponse;
+import io.github.joenas.testingapp.dto.EmailDomainChangeRequest;
+import io.github.joenas.testingapp.exception.InvalidRequestException;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Admin operations on many employees at once, answered with the number of affected employees.
+@RestController
+@RequestMapping("/api/employees/bulk")
+public class EmployeeBulkController {
+
+    private final EmployeeService employeeService;
+
+    public EmployeeBulkController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping("email-domain")
+    public ResponseEntity<BulkOperationResponse> replaceEmailDomain(@RequestBody EmailDomainChangeRequest request) {
+        String fromDomain = requireDomain(request.fromDomain(), "fromDomain");
+        String toDomain = requireDomain(request.toDomain(), "toDomain");
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(new BulkOperationResponse(employeeService.replaceEmailDomain(fromDomain, toDomain)));
+    }
+
+    @PostMapping("delete")
+    public ResponseEntity<BulkOperationResponse> deleteEmployees(@RequestBody BulkDeleteRequest request) {
+        boolean byIds = request.ids() != null;
+        boolean byDomain = request.emailDomain() != null;
+        if (byIds == byDomain) {
+            throw new InvalidRequestException("Exactly one of ids or emailDomain must be given");
+        }
+        int deleted = byIds
+                ? employeeService.deleteEmployees(request.ids())
+                : employeeService.deleteEmployeesByEmailDomain(requireDomain(request.emailDomain(), "emailDomain"));
+        return ResponseEntity.status(HttpStatus.OK).body(new BulkOperationResponse(deleted));
+    }
+
+    private static String requireDomain(String domain, String field) {
+        if (domain == null || domain.isBlank() || domain.contains("@")) {
+            throw new InvalidRequestException(field + " must be a domain without @");
+        }
+        return domain.trim();
+    }
+}
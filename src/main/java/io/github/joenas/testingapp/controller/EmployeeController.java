@@ -1,10 +1,14 @@
 package io.github.joenas.testingapp.controller;
 
+import io.github.joenas.testingapp.dto.EmployeeMapper;
+import io.github.joenas.testingapp.dto.EmployeeRequest;
+import io.github.joenas.testingapp.dto.EmployeeResponse;
 import io.github.joenas.testingapp.model.Employee;
 import io.github.joenas.testingapp.service.EmployeeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,39 +23,39 @@ public class EmployeeController {
         this.employeeService = employeeService;
     }
 
+    // the JPA entity never leaves the controller, requests and responses are mapped by EmployeeMapper
     @PostMapping()
-    public ResponseEntity<Employee> createEnmployee(@RequestBody Employee employee) {
+    public ResponseEntity<EmployeeResponse> createEnmployee(@RequestBody EmployeeRequest employee) {
+        Employee savedEmployee = employeeService.saveEmployee(EmployeeMapper.toEntity(employee));
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(employeeService.saveEmployee(employee));
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+                        .buildAndExpand(savedEmployee.getId()).toUri())
+                .body(EmployeeMapper.toResponse(savedEmployee));
     }
 
     @GetMapping()
-    public ResponseEntity<List<Employee>> getAllEmployees() {
+    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
         return ResponseEntity.status(HttpStatus.OK)
-                .body(employeeService.getAllEmployees());
+                .body(EmployeeMapper.toResponses(employeeService.getAllEmployees()));
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable long id) {
+    public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable long id) {
         Optional<Employee> employee = employeeService.getEmployeeById(id);
         return employee
-                .map(value -> ResponseEntity.status(HttpStatus.OK).body(value))
+                .map(value -> ResponseEntity.status(HttpStatus.OK).body(EmployeeMapper.toResponse(value)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
     @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long id, @RequestBody Employee employee) {
+    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable("id") long id,
+                                                           @RequestBody EmployeeRequest employee) {
 
-        return employeeService.getEmployeeById(id)
-                .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return ResponseEntity.status(HttpStatus.OK).body(updatedEmployee);
-                })
+        // the fields are applied to the current version of the employee, again if a concurrent update wins
+        return employeeService.updateEmployee(id, savedEmployee -> EmployeeMapper.applyTo(employee, savedEmployee))
+                .map(updatedEmployee ->
+                        ResponseEntity.status(HttpStatus.OK).body(EmployeeMapper.toResponse(updatedEmployee)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -0,0 +1,43 @@
+package io.github.joenas.testingapp.controller;
+
+import io.github.joenas.testingapp.dto.EmployeeStreamWriter;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+// Streams all employees in JSON (default), CBOR or Smile depending on the Accept header.
+// Unlike GET /api/employees the list is never materialized, neither as entities nor as bytes.
+@RestController
+@RequestMapping("/api/employees/export")
+public class EmployeeExportController {
+
+    private final EmployeeService employeeService;
+    private final EmployeeStreamWriter employeeStreamWriter;
+
+    public EmployeeExportController(EmployeeService employeeService, EmployeeStreamWriter employeeStreamWriter) {
+        this.employeeService = employeeService;
+        this.employeeStreamWriter = employeeStreamWriter;
+    }
+
+    @GetMapping()
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+            throws HttpMediaTypeNotAcceptableException {
+        MediaType mediaType = employeeStreamWriter.negotiate(
+                accept == null ? List.of() : MediaType.parseMediaTypes(accept));
+        StreamingResponseBody body = out -> employeeStreamWriter.write(mediaType, out, employeeService::forEachEmployee);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(mediaType)
+                .body(body);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.joenas.testingapp.controller;
+
+import io.github.joenas.testingapp.exception.ResourceNotFoundException;
+import io.github.joenas.testingapp.export.EmployeeExportFormat;
+import io.github.joenas.testingapp.export.ExportJob;
+import io.github.joenas.testingapp.export.ExportJobService;
+import io.github.joenas.testingapp.export.ExportJobStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+
+// Exports that take too long for a single request: POST starts a background job, GET reports its progress
+// (202 while it runs) and serves the finished gzip file, DELETE cancels the job and removes the file.
+@RestController
+@RequestMapping("/api/employees/exports")
+public class EmployeeExportJobController {
+
+    // Tomcat's sendfile support, the connector copies the file to the socket without passing it through the JVM
+    static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobService;
+
+    public EmployeeExportJobController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @PostMapping()
+    public ResponseEntity<ExportJobStatus> startExport(
+            @RequestParam(defaultValue = "NDJSON") EmployeeExportFormat format) {
+        ExportJob job = exportJobService.start(format);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(ExportJobStatus.of(job));
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<?> getExport(@PathVariable String id, HttpServletRequest request) throws IOException {
+        ExportJob job = exportJobService.getJob(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Export job not found with id: " + id));
+        if (job.getState() != ExportJob.State.COMPLETED) {
+            HttpStatus status = job.getState().isFinished() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ExportJobStatus.of(job));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType("application", "gzip"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(job.getFile().getFileName().toString())
+                .build());
+        long length = Files.size(job.getFile());
+        // range requests are left to the Resource path below, which answers them with a ResourceRegion
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))
+                && request.getHeader(HttpHeaders.RANGE) == null) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, job.getFile().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, length);
+            headers.setContentLength(length);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        // served by the ResourceHttpMessageConverter, which streams the file without buffering it
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(job.getFile()));
+    }
+
+    @DeleteMapping("{id}")
+    public ResponseEntity<Void> cancelExport(@PathVariable String id) {
+        if (!exportJobService.cancel(id)) {
+            throw new ResourceNotFoundException("Export job not found with id: " + id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.joenas.testingapp.controller;
+
+import io.github.joenas.testingapp.stats.EmployeeStats;
+import io.github.joenas.testingapp.stats.EmployeeStatsStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Counts for dashboards without pulling every employee, answered from memory. 503 until the counts are built.
+@RestController
+@RequestMapping("/api/employees/stats")
+public class EmployeeStatsController {
+
+    private final EmployeeStatsStore employeeStatsStore;
+
+    public EmployeeStatsController(EmployeeStatsStore employeeStatsStore) {
+        this.employeeStatsStore = employeeStatsStore;
+    }
+
+    @GetMapping
+    public ResponseEntity<EmployeeStats> getStats() {
+        return ResponseEntity.status(HttpStatus.OK).body(employeeStatsStore.getStats());
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.joenas.testingapp.dataquality;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+// Duplicate and data quality scans of the employees table with app.data-quality.enabled=true, started by
+// app.data-quality.cron or POST /actuator/dataquality, see DataQualityScanner
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.data-quality", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataQualityProperties.class)
+public class DataQualityConfig {
+
+    @Bean
+    public DataQualityScanner dataQualityScanner(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                                 DataQualityProperties properties) throws IOException {
+        Path directory = properties.directory() != null
+                ? properties.directory()
+                : Path.of(System.getProperty("java.io.tmpdir"), "employee-data-quality");
+        return new DataQualityScanner(jdbcTemplate, objectMapper, directory, properties, Clock.systemUTC());
+    }
+
+    @Bean
+    public DataQualityEndpoint dataQualityEndpoint(DataQualityScanner dataQualityScanner) {
+        return new DataQualityEndpoint(dataQualityScanner);
+    }
+
+    @Bean
+    public DataQualitySchedule dataQualitySchedule(DataQualityScanner dataQualityScanner) {
+        return new DataQualitySchedule(dataQualityScanner);
+    }
+
+    static class DataQualitySchedule {
+
+        private final DataQualityScanner dataQualityScanner;
+
+        DataQualitySchedule(DataQualityScanner dataQualityScanner) {
+            this.dataQualityScanner = dataQualityScanner;
+        }
+
+        @Scheduled(cron = "${app.data-quality.cron:-}")
+        void scan() {
+            dataQualityScanner.start();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.joenas.testingapp.dataquality;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+// GET /actuator/dataquality reports the progress of the running or last scan, POST starts a scan,
+// DELETE cancels the running one
+@Endpoint(id = "dataquality")
+public class DataQualityEndpoint {
+
+    private final DataQualityScanner scanner;
+
+    public DataQualityEndpoint(DataQualityScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    @ReadOperation
+    public DataQualityScanStatus status() {
+        return scanner.getCurrent().map(DataQualityScanStatus::of).orElse(null);
+    }
+
+    @WriteOperation
+    public DataQualityScanStatus start() {
+        return DataQualityScanStatus.of(scanner.start());
+    }
+
+    @DeleteOperation
+    public DataQualityScanStatus cancel() {
+        scanner.cancel();
+        return status();
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.joenas.testingapp.dataquality;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Bound from app.data-quality.*. parallelism is the number of CPU threads a scan may use, max-connections the
+// number of pooled connections it may hold at once; pause-between-pages throttles it further. The directory
+// defaults to employee-data-quality in java.io.tmpdir, a cron of "-" only runs scans on request.
+@ConfigurationProperties(prefix = "app.data-quality")
+public record DataQualityProperties(@DefaultValue("false") boolean enabled,
+                                    @DefaultValue("-") String cron,
+                                    @DefaultValue("2") int parallelism,
+                                    @DefaultValue("1") int maxConnections,
+                                    @DefaultValue("10000") int rangeSize,
+                                    @DefaultValue("1000") int pageSize,
+                                    @DefaultValue("0ms") Duration pauseBetweenPages,
+                                    @DefaultValue("0.9") double nameSimilarity,
+                                    Path directory) {
+}
@@ -0,0 +1,12 @@
+package io.github.joenas.testingapp.dataquality;
+
+import java.time.Instant;
+import java.util.List;
+
+// contents of the report file written at the end of a scan
+public record DataQualityReport(String scanId, Instant startedAt, Instant finishedAt, long rowsScanned,
+                                int exactEmailGroups, int normalizedEmailGroups, int similarNameGroups,
+                                // name blocks too large to compare pairwise, their names were not checked
+                                int skippedNameBlocks,
+                                List<DuplicateGroup> groups) {
+}
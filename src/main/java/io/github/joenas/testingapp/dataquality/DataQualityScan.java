@@ -0,0 +1,106 @@
+package io.github.joenas.testingapp.dataquality;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+// progress of one scan, updated by the fork-join workers and read by the dataquality endpoint
+public class DataQualityScan {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this != RUNNING;
+        }
+    }
+
+    private final String id;
+    private final Instant startedAt;
+    private final AtomicLong rangesCompleted = new AtomicLong();
+    private final AtomicLong rowsScanned = new AtomicLong();
+    private volatile long ranges;
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile Path reportFile;
+    private volatile DataQualityReport report;
+    private volatile String error;
+
+    DataQualityScan(String id, Instant startedAt) {
+        this.id = id;
+        this.startedAt = startedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getRanges() {
+        return ranges;
+    }
+
+    public long getRangesCompleted() {
+        return rangesCompleted.get();
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned.get();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    public DataQualityReport getReport() {
+        return report;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    void setRanges(long ranges) {
+        this.ranges = ranges;
+    }
+
+    void rangeCompleted() {
+        rangesCompleted.incrementAndGet();
+    }
+
+    void rowsScanned(int rows) {
+        rowsScanned.addAndGet(rows);
+    }
+
+    synchronized boolean complete(DataQualityReport report, Path reportFile, Instant finishedAt) {
+        if (state.isFinished()) {
+            return false;
+        }
+        this.report = report;
+        this.reportFile = reportFile;
+        this.finishedAt = finishedAt;
+        this.state = State.COMPLETED;
+        return true;
+    }
+
+    synchronized boolean finish(State finalState, String error, Instant finishedAt) {
+        if (state.isFinished()) {
+            return false;
+        }
+        this.error = error;
+        this.finishedAt = finishedAt;
+        this.state = finalState;
+        return true;
+    }
+}
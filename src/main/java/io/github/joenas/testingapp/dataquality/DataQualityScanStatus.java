@@ -0,0 +1,21 @@
+package io.github.joenas.testingapp.dataquality;
+
+import java.time.Instant;
+
+// progress of a scan as reported by the dataquality endpoint, the group counts are set once it completed
+public record DataQualityScanStatus(String id, DataQualityScan.State state, long ranges, long rangesCompleted,
+                                    long rowsScanned, Instant startedAt, Instant finishedAt, String reportFile,
+                                    Integer exactEmailGroups, Integer normalizedEmailGroups,
+                                    Integer similarNameGroups, String error) {
+
+    public static DataQualityScanStatus of(DataQualityScan scan) {
+        DataQualityReport report = scan.getReport();
+        return new DataQualityScanStatus(scan.getId(), scan.getState(), scan.getRanges(), scan.getRangesCompleted(),
+                scan.getRowsScanned(), scan.getStartedAt(), scan.getFinishedAt(),
+                scan.getReportFile() == null ? null : scan.getReportFile().toString(),
+                report == null ? null : report.exactEmailGroups(),
+                report == null ? null : report.normalizedEmailGroups(),
+                report == null ? null : report.similarNameGroups(),
+                scan.getError());
+    }
+}
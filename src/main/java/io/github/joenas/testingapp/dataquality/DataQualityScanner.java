@@ -0,0 +1,353 @@
+package io.github.joenas.testingapp.dataquality;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.model.EmailHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Background scan of the employees table for near-duplicates that the exact email check in saveEmployee let
+// through. The id space is cut into ranges of rangeSize ids which a fork-join pool of parallelism threads reads
+// in keyset pages and indexes by email hash and name blocking key; the partial indexes are merged pairwise
+// on the way back up. Reads hold at most maxConnections pooled connections at once, the CPU work happens
+// outside of them. The merged index holds every row once until the report is done. One scan runs at a time,
+// its report is written as JSON into the directory.
+public class DataQualityScanner implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataQualityScanner.class);
+    // names in larger blocks are not compared pairwise, the block is counted as skipped in the report
+    static final int MAX_BLOCK_SIZE = 2_000;
+    private static final String BOUNDS_QUERY = "select min(id), max(id) from employees";
+    private static final String RANGE_QUERY = "select id, first_name, last_name, email, email_hash from employees"
+            + " where id > ? and id <= ? order by id limit ?";
+    private static final RowMapper<EmployeeRow> ROW_MAPPER = (rs, rowNum) -> new EmployeeRow(rs.getLong(1),
+            rs.getString(2), rs.getString(3), rs.getString(4), rs.getLong(5));
+    private static final Comparator<DuplicateGroup> GROUP_ORDER = Comparator
+            .comparing(DuplicateGroup::reason)
+            .thenComparingLong(group -> group.employees().get(0).id());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int rangeSize;
+    private final int pageSize;
+    private final Duration pauseBetweenPages;
+    private final double nameSimilarity;
+    private final Semaphore connections;
+    private final Clock clock;
+    private final ForkJoinPool pool;
+    private volatile DataQualityScan current;
+
+    public DataQualityScanner(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Path directory,
+                              DataQualityProperties properties, Clock clock) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(directory);
+        this.rangeSize = properties.rangeSize();
+        this.pageSize = properties.pageSize();
+        this.pauseBetweenPages = properties.pauseBetweenPages();
+        this.nameSimilarity = properties.nameSimilarity();
+        this.connections = new Semaphore(properties.maxConnections());
+        this.clock = clock;
+        // never more than parallelism threads, the pool does not add compensating threads for blocked workers
+        this.pool = new ForkJoinPool(properties.parallelism(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("data-quality-" + thread.getPoolIndex());
+            return thread;
+        }, null, false, 0, properties.parallelism(), 1, pool -> true, 60, TimeUnit.SECONDS);
+    }
+
+    // starts a scan unless one is running already, in which case that one is returned
+    public synchronized DataQualityScan start() {
+        DataQualityScan running = current;
+        if (running != null && !running.getState().isFinished()) {
+            return running;
+        }
+        DataQualityScan scan = new DataQualityScan(UUID.randomUUID().toString(), clock.instant());
+        current = scan;
+        pool.execute(() -> run(scan));
+        return scan;
+    }
+
+    // the running or the last finished scan
+    public Optional<DataQualityScan> getCurrent() {
+        return Optional.ofNullable(current);
+    }
+
+    // the workers stop at their next page
+    public boolean cancel() {
+        DataQualityScan scan = current;
+        return scan != null && scan.finish(DataQualityScan.State.CANCELLED, null, clock.instant());
+    }
+
+    private void run(DataQualityScan scan) {
+        try {
+            long[] bounds = withConnection(() -> jdbcTemplate.query(BOUNDS_QUERY, rs -> {
+                rs.next();
+                long min = rs.getLong(1);
+                return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+            }));
+            Partition partition = new Partition();
+            if (bounds != null) {
+                long ranges = (bounds[1] - bounds[0]) / rangeSize + 1;
+                scan.setRanges(ranges);
+                // ranges are (lowerExclusive, upperInclusive] id intervals starting just below the smallest id
+                partition = new RangeTask(scan, bounds[0] - 1, 0, ranges).invoke();
+            }
+            DataQualityReport report = report(scan, partition);
+            Path reportFile = write(report);
+            if (scan.complete(report, reportFile, clock.instant())) {
+                logger.info("Data quality scan {} found {} exact email, {} normalized email and {} similar name"
+                                + " duplicate groups in {} employees", scan.getId(), report.exactEmailGroups(),
+                        report.normalizedEmailGroups(), report.similarNameGroups(), report.rowsScanned());
+            } else {
+                // cancelled while the report was being written
+                Files.deleteIfExists(reportFile);
+            }
+        } catch (CancellationException e) {
+            scan.finish(DataQualityScan.State.CANCELLED, null, clock.instant());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Data quality scan {} failed", scan.getId(), e);
+            scan.finish(DataQualityScan.State.FAILED, e.getMessage(), clock.instant());
+        }
+    }
+
+    // reads the ranges fromRange (inclusive) to toRange (exclusive), splitting until a single range is left
+    private final class RangeTask extends RecursiveTask<Partition> {
+
+        private final DataQualityScan scan;
+        private final long base;
+        private final long fromRange;
+        private final long toRange;
+
+        private RangeTask(DataQualityScan scan, long base, long fromRange, long toRange) {
+            this.scan = scan;
+            this.base = base;
+            this.fromRange = fromRange;
+            this.toRange = toRange;
+        }
+
+        @Override
+        protected Partition compute() {
+            if (toRange - fromRange == 1) {
+                return scanRange(scan, base + fromRange * rangeSize, base + toRange * rangeSize);
+            }
+            long middle = (fromRange + toRange) >>> 1;
+            RangeTask left = new RangeTask(scan, base, fromRange, middle);
+            left.fork();
+            Partition right = new RangeTask(scan, base, middle, toRange).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    private Partition scanRange(DataQualityScan scan, long afterId, long upToId) {
+        Partition partition = new Partition();
+        long lastId = afterId;
+        List<EmployeeRow> page;
+        do {
+            if (scan.getState() != DataQualityScan.State.RUNNING) {
+                throw new CancellationException();
+            }
+            long pageAfterId = lastId;
+            page = withConnection(() -> jdbcTemplate.query(RANGE_QUERY, ROW_MAPPER, pageAfterId, upToId, pageSize));
+            page.forEach(partition::add);
+            scan.rowsScanned(page.size());
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).id();
+                pause();
+            }
+        } while (page.size() == pageSize);
+        scan.rangeCompleted();
+        return partition;
+    }
+
+    private <T> T withConnection(Supplier<T> query) {
+        try {
+            connections.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+        try {
+            return query.get();
+        } finally {
+            connections.release();
+        }
+    }
+
+    private void pause() {
+        if (pauseBetweenPages.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseBetweenPages);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    // runs on a worker of the pool, so the parallel stream over the name blocks stays within the CPU budget
+    private DataQualityReport report(DataQualityScan scan, Partition partition) {
+        List<DuplicateGroup> groups = new ArrayList<>();
+        for (List<EmployeeRow> rows : partition.byEmailHash.values()) {
+            if (rows.size() > 1) {
+                emailGroups(rows, groups);
+            }
+        }
+        groups.addAll(partition.byNameBlock.entrySet().parallelStream()
+                .filter(block -> block.getValue().size() > 1 && block.getValue().size() <= MAX_BLOCK_SIZE)
+                .flatMap(block -> similarNameGroups(block.getKey(), block.getValue()).stream())
+                .toList());
+        groups.sort(GROUP_ORDER);
+        int skippedNameBlocks = (int) partition.byNameBlock.values().stream()
+                .filter(rows -> rows.size() > MAX_BLOCK_SIZE)
+                .count();
+        return new DataQualityReport(scan.getId(), scan.getStartedAt(), clock.instant(), scan.getRowsScanned(),
+                count(groups, DuplicateGroup.Reason.EXACT_EMAIL), count(groups, DuplicateGroup.Reason.NORMALIZED_EMAIL),
+                count(groups, DuplicateGroup.Reason.SIMILAR_NAME), skippedNameBlocks, groups);
+    }
+
+    // rows sharing an email hash: identical emails, and emails that only differ in case or whitespace
+    private static void emailGroups(List<EmployeeRow> rows, List<DuplicateGroup> groups) {
+        Map<String, List<EmployeeRow>> byNormalized = groupBy(rows, row -> EmailHash.normalize(row.email()));
+        for (Map.Entry<String, List<EmployeeRow>> normalized : byNormalized.entrySet()) {
+            if (normalized.getValue().size() < 2) {
+                continue;
+            }
+            Map<String, List<EmployeeRow>> byEmail = groupBy(normalized.getValue(), EmployeeRow::email);
+            if (byEmail.size() > 1) {
+                groups.add(new DuplicateGroup(DuplicateGroup.Reason.NORMALIZED_EMAIL, normalized.getKey(),
+                        normalized.getValue()));
+            }
+            byEmail.forEach((email, sameEmail) -> {
+                if (sameEmail.size() > 1) {
+                    groups.add(new DuplicateGroup(DuplicateGroup.Reason.EXACT_EMAIL, email, sameEmail));
+                }
+            });
+        }
+    }
+
+    // clusters of a name block whose full names are similar, transitively
+    private List<DuplicateGroup> similarNameGroups(String blockingKey, List<EmployeeRow> block) {
+        List<EmployeeRow> rows = block.stream().sorted(Comparator.comparingLong(EmployeeRow::id)).toList();
+        String[] names = new String[rows.size()];
+        int[] cluster = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            names[i] = NameMatching.normalize(rows.get(i).firstName()) + " "
+                    + NameMatching.normalize(rows.get(i).lastName());
+            cluster[i] = i;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            for (int j = i + 1; j < rows.size(); j++) {
+                if (NameMatching.jaroWinkler(names[i], names[j]) >= nameSimilarity) {
+                    cluster[root(cluster, j)] = root(cluster, i);
+                }
+            }
+        }
+        Map<Integer, List<EmployeeRow>> clusters = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            clusters.computeIfAbsent(root(cluster, i), root -> new ArrayList<>()).add(rows.get(i));
+        }
+        return clusters.values().stream()
+                .filter(members -> members.size() > 1)
+                .map(members -> new DuplicateGroup(DuplicateGroup.Reason.SIMILAR_NAME, blockingKey, members))
+                .toList();
+    }
+
+    private static int root(int[] cluster, int i) {
+        while (cluster[i] != i) {
+            cluster[i] = cluster[cluster[i]];
+            i = cluster[i];
+        }
+        return i;
+    }
+
+    private static Map<String, List<EmployeeRow>> groupBy(List<EmployeeRow> rows,
+                                                          Function<EmployeeRow, String> key) {
+        Map<String, List<EmployeeRow>> groups = new LinkedHashMap<>();
+        rows.stream()
+                .sorted(Comparator.comparingLong(EmployeeRow::id))
+                .forEach(row -> groups.computeIfAbsent(key.apply(row), k -> new ArrayList<>()).add(row));
+        return groups;
+    }
+
+    private static int count(List<DuplicateGroup> groups, DuplicateGroup.Reason reason) {
+        return (int) groups.stream().filter(group -> group.reason() == reason).count();
+    }
+
+    private Path write(DataQualityReport report) throws IOException {
+        Path file = directory.resolve("data-quality-" + report.scanId() + ".json");
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(partFile)) {
+                objectMapper.writeValue(out, report);
+            }
+            return Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partFile);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        cancel();
+        pool.shutdownNow();
+    }
+
+    // the rows of some ranges, indexed by the keys duplicates can share
+    static final class Partition {
+
+        private final Map<Long, List<EmployeeRow>> byEmailHash = new HashMap<>();
+        private final Map<String, List<EmployeeRow>> byNameBlock = new HashMap<>();
+
+        void add(EmployeeRow row) {
+            byEmailHash.computeIfAbsent(row.emailHash(), hash -> new ArrayList<>(1)).add(row);
+            String blockingKey = NameMatching.blockingKey(row.firstName(), row.lastName());
+            if (blockingKey != null) {
+                byNameBlock.computeIfAbsent(blockingKey, key -> new ArrayList<>(1)).add(row);
+            }
+        }
+
+        // merges the smaller partition into the larger one and returns the larger
+        Partition merge(Partition other) {
+            if (other.byEmailHash.size() > byEmailHash.size()) {
+                return other.merge(this);
+            }
+            other.byEmailHash.forEach((hash, rows) -> byEmailHash.merge(hash, rows, Partition::concat));
+            other.byNameBlock.forEach((key, rows) -> byNameBlock.merge(key, rows, Partition::concat));
+            return this;
+        }
+
+        private static List<EmployeeRow> concat(List<EmployeeRow> rows, List<EmployeeRow> more) {
+            rows.addAll(more);
+            return rows;
+        }
+    }
+}
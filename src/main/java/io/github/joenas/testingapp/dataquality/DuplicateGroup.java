@@ -0,0 +1,16 @@
+package io.github.joenas.testingapp.dataquality;
+
+import java.util.List;
+
+// employees that are probably the same person, ordered by id
+public record DuplicateGroup(Reason reason, String key, List<EmployeeRow> employees) {
+
+    public enum Reason {
+        // the very same email string, what the duplicate check in saveEmployee should have prevented
+        EXACT_EMAIL,
+        // emails differing only in case or surrounding whitespace, see EmailHash
+        NORMALIZED_EMAIL,
+        // similar first and last names, e.g. a typo or a changed email
+        SIMILAR_NAME
+    }
+}
@@ -0,0 +1,5 @@
+package io.github.joenas.testingapp.dataquality;
+
+// one row of the employees table as read by the scan, emailHash is the stored hash of the normalized email
+public record EmployeeRow(long id, String firstName, String lastName, String email, long emailHash) {
+}
@@ -0,0 +1,103 @@
+package io.github.joenas.testingapp.dataquality;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+// Name comparison for the duplicate scan. Names are only compared within a block of employees sharing the
+// Soundex code of the last name and the first letter of the first name, so "Jon Smith" and "John Smyth" meet
+// but the scan never compares every pair of the table. Within a block Jaro-Winkler decides.
+final class NameMatching {
+
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    private NameMatching() {
+    }
+
+    // lower case ASCII letters only, accents are dropped: "Zoë O'Brien" becomes "zoeobrien"
+    static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder letters = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                letters.append(c);
+            }
+        }
+        return letters.toString();
+    }
+
+    // null for names without any letters, they are not blocked and never reported as similar
+    static String blockingKey(String firstName, String lastName) {
+        String first = normalize(firstName);
+        String last = normalize(lastName);
+        if (first.isEmpty() || last.isEmpty()) {
+            return null;
+        }
+        return soundex(last) + first.charAt(0);
+    }
+
+    // American Soundex of a normalized, non-empty name
+    static String soundex(String name) {
+        char[] code = {name.charAt(0), '0', '0', '0'};
+        char previous = SOUNDEX_CODES.charAt(name.charAt(0) - 'a');
+        int length = 1;
+        for (int i = 1; i < name.length() && length < code.length; i++) {
+            char c = name.charAt(i);
+            char digit = SOUNDEX_CODES.charAt(c - 'a');
+            if (digit != '0' && digit != previous) {
+                code[length++] = digit;
+            }
+            // h and w do not separate letters with the same code, vowels do
+            if (c != 'h' && c != 'w') {
+                previous = digit;
+            }
+        }
+        return new String(code);
+    }
+
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int end = Math.min(b.length(), i + window + 1);
+            for (int j = Math.max(0, i - window); j < end; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double jaro = ((double) matches / a.length() + (double) matches / b.length()
+                + (matches - transpositions / 2.0) / matches) / 3;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.joenas.testingapp.deadline;
+
+import java.time.Duration;
+
+// The point in time by which the current request has to be answered, bound to the request thread by DeadlineFilter.
+// Work handed to other threads (exports, cache rebuilds) runs without a deadline, fan-out reads restore the
+// caller's deadline on their own thread, see AsyncEmployeeService.
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline start(Duration timeout) {
+        Deadline deadline = new Deadline(System.nanoTime() + timeout.toNanos());
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    // binds a deadline started on another thread to this one
+    public static void restore(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // null outside of a request with a deadline
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, Duration.ofNanos(expiresAtNanos - System.nanoTime()).toMillis());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.joenas.testingapp.deadline;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Per-request time budgets with app.deadline.enabled=true, so one slow query or a starved connection pool
+// answers 504/503 within the budget instead of holding request threads and connections.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.deadline", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig {
+
+    @Bean
+    public RepositoryDeadlines repositoryDeadlines(PlatformTransactionManager transactionManager,
+                                                   MeterRegistry meterRegistry) {
+        return new RepositoryDeadlines(transactionManager, meterRegistry);
+    }
+
+    // right after the latency filter, so the budget covers the other filters as well
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties) {
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(new DeadlineFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // ordered, so it runs before other DataSource wrappers and sits directly on the pool
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new DeadlineDataSourceWrapper();
+    }
+
+    static class DeadlineDataSourceWrapper implements BeanPostProcessor, Ordered {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            return bean instanceof HikariDataSource hikariDataSource ? new DeadlineDataSource(hikariDataSource) : bean;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.joenas.testingapp.deadline;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+// Waits for a pooled connection no longer than the current Deadline allows instead of the pool-wide
+// connection timeout, so requests queueing behind a starved pool give up when their budget is gone.
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    private final HikariDataSource hikariDataSource;
+
+    public DeadlineDataSource(HikariDataSource targetDataSource) {
+        super(targetDataSource);
+        this.hikariDataSource = targetDataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Deadline deadline = Deadline.current();
+        // the pool is created on the first plain getConnection
+        if (deadline == null || !(hikariDataSource.getHikariPoolMXBean() instanceof HikariPool pool)) {
+            return hikariDataSource.getConnection();
+        }
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new SQLTransientConnectionException("Request deadline exceeded before acquiring a connection");
+        }
+        return pool.getConnection(Math.min(remaining, hikariDataSource.getConnectionTimeout()));
+    }
+}
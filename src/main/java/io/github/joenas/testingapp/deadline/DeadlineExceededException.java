@@ -0,0 +1,15 @@
+package io.github.joenas.testingapp.deadline;
+
+import io.github.joenas.testingapp.exception.BusinessException;
+
+// the request ran out of its time budget, mapped to 504 by GlobalExceptionHandler
+public class DeadlineExceededException extends BusinessException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
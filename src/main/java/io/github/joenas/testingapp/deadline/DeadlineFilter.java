@@ -0,0 +1,45 @@
+package io.github.joenas.testingapp.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// starts the Deadline of every API request: the X-Request-Timeout header in milliseconds, or the default
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final DeadlineProperties properties;
+
+    public DeadlineFilter(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Deadline.start(timeout(request.getHeader(TIMEOUT_HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Deadline.clear();
+        }
+    }
+
+    private Duration timeout(String header) {
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Math.max(0, Long.parseLong(header.trim())));
+                return requested.compareTo(properties.maxTimeout()) < 0 ? requested : properties.maxTimeout();
+            } catch (NumberFormatException e) {
+                // an unreadable header gets the default, like a missing one
+            }
+        }
+        return properties.defaultTimeout();
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.joenas.testingapp.deadline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// bound from app.deadline.*, a request may ask for a shorter or longer budget in the X-Request-Timeout header
+// (milliseconds), capped at max-timeout
+@ConfigurationProperties(prefix = "app.deadline")
+public record DeadlineProperties(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("5s") Duration defaultTimeout,
+                                 @DefaultValue("30s") Duration maxTimeout) {
+}
@@ -0,0 +1,96 @@
+package io.github.joenas.testingapp.deadline;
+
+import io.github.joenas.testingapp.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Runs repository calls of EmployeeServiceImpl within the remaining request budget. The call gets a transaction
+// whose timeout Hibernate applies to every JDBC statement as query timeout (whole seconds, rounded up), and
+// DeadlineDataSource limits the wait for a connection. Timeouts are counted per repository method as
+// employee.repository.timeouts and surface as 504, or 503 when no connection was available.
+public class RepositoryDeadlines {
+
+    // raised by Hibernate's JdbcCoordinator once the transaction timeout has run out
+    private static final String HIBERNATE_TIMEOUT_MESSAGE = "transaction timeout expired";
+    // transaction timeouts are whole seconds
+    private static final long TIMEOUT_GRANULARITY_MILLIS = 1000;
+
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> timeoutCounters = new ConcurrentHashMap<>();
+
+    public RepositoryDeadlines(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T call(String repositoryMethod, Supplier<T> call) {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return call.get();
+        }
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + repositoryMethod);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout((int) Math.ceil(remaining / 1000.0));
+        try {
+            return transactionTemplate.execute(status -> call.get());
+        } catch (DataAccessException | TransactionException e) {
+            if (isTimeout(e, deadline) || deadline.isExpired()) {
+                timeoutCounter(repositoryMethod).increment();
+                throw new DeadlineExceededException("Request deadline exceeded in " + repositoryMethod, e);
+            }
+            if (isConnectionFailure(e)) {
+                timeoutCounter(repositoryMethod).increment();
+                throw new ServiceUnavailableException("No database connection available for " + repositoryMethod, e);
+            }
+            throw e;
+        }
+    }
+
+    // Hibernate counts the transaction timeout down in whole seconds and may give up with a TransactionException
+    // up to a second before the deadline. Other TransactionExceptions, e.g. failed commits, are real faults.
+    private static boolean isTimeout(Exception e, Deadline deadline) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException || cause instanceof TransactionTimedOutException
+                    || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (cause instanceof org.hibernate.TransactionException && (HIBERNATE_TIMEOUT_MESSAGE.equals(
+                    cause.getMessage()) || deadline.remainingMillis() < TIMEOUT_GRANULARITY_MILLIS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConnectionFailure(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Counter timeoutCounter(String repositoryMethod) {
+        return timeoutCounters.computeIfAbsent(repositoryMethod, method -> Counter.builder("employee.repository.timeouts")
+                .tag("method", method)
+                .description("Repository calls that ran out of the request deadline or waited too long for a connection")
+                .register(meterRegistry));
+    }
+}
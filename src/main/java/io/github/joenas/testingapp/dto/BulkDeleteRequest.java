@@ -0,0 +1,7 @@
+package io.github.joenas.testingapp.dto;
+
+import java.util.List;
+
+// body of POST /api/employees/bulk/delete, exactly one of ids or emailDomain selects the employees
+public record BulkDeleteRequest(List<Long> ids, String emailDomain) {
+}
@@ -0,0 +1,4 @@
+package io.github.joenas.testingapp.dto;
+
+public record BulkOperationResponse(int affected) {
+}
@@ -0,0 +1,5 @@
+package io.github.joenas.testingapp.dto;
+
+// body of POST /api/employees/bulk/email-domain, domains without the @
+public record EmailDomainChangeRequest(String fromDomain, String toDomain) {
+}
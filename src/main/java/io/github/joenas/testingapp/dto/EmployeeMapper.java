@@ -0,0 +1,42 @@
+package io.github.joenas.testingapp.dto;
+
+import io.github.joenas.testingapp.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// explicit mapping between the API records and the JPA entity
+public final class EmployeeMapper {
+
+    private EmployeeMapper() {
+    }
+
+    public static Employee toEntity(EmployeeRequest request) {
+        return Employee.builder()
+                .firstName(request.firstName())
+                .lastName(request.lastName())
+                .email(request.email())
+                .build();
+    }
+
+    // copies the updatable fields onto an existing employee
+    public static Employee applyTo(EmployeeRequest request, Employee employee) {
+        employee.setFirstName(request.firstName());
+        employee.setLastName(request.lastName());
+        employee.setEmail(request.email());
+        return employee;
+    }
+
+    public static EmployeeResponse toResponse(Employee employee) {
+        return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail());
+    }
+
+    public static List<EmployeeResponse> toResponses(List<Employee> employees) {
+        List<EmployeeResponse> responses = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            responses.add(toResponse(employee));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,5 @@
+package io.github.joenas.testingapp.dto;
+
+// body of POST /api/employees and PUT /api/employees/{id}, the id is never taken from the client
+public record EmployeeRequest(String firstName, String lastName, String email) {
+}
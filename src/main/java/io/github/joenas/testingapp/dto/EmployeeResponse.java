@@ -0,0 +1,5 @@
+package io.github.joenas.testingapp.dto;
+
+// serialized by EmployeeResponseJsonSerializer
+public record EmployeeResponse(long id, String firstName, String lastName, String email) {
+}
@@ -0,0 +1,39 @@
+package io.github.joenas.testingapp.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+// Hand-written serializer for the list path: no reflection or property introspection per element,
+// and the field names are encoded once instead of for every employee.
+@JsonComponent
+public class EmployeeResponseJsonSerializer extends StdSerializer<EmployeeResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+
+    public EmployeeResponseJsonSerializer() {
+        super(EmployeeResponse.class);
+    }
+
+    @Override
+    public void serialize(EmployeeResponse employee, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(employee);
+        generator.writeFieldName(ID);
+        generator.writeNumber(employee.id());
+        generator.writeFieldName(FIRST_NAME);
+        generator.writeString(employee.firstName());
+        generator.writeFieldName(LAST_NAME);
+        generator.writeString(employee.lastName());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(employee.email());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.joenas.testingapp.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.joenas.testingapp.model.Employee;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Writes employees one by one as an array in JSON, CBOR or Smile, so an export never holds the whole
+// list or its serialized form in memory.
+public class EmployeeStreamWriter {
+
+    // one keyset page of EmployeeService.forEachEmployee, the client still sees the export progress
+    static final int ROWS_PER_FLUSH = 1000;
+
+    // insertion order is the preference order when the client accepts several formats equally
+    private final Map<MediaType, ObjectMapper> objectMappers = new LinkedHashMap<>();
+
+    public EmployeeStreamWriter(ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper) {
+        objectMappers.put(MediaType.APPLICATION_JSON, jsonMapper);
+        objectMappers.put(MediaType.APPLICATION_CBOR, cborMapper);
+        objectMappers.put(JacksonConfig.APPLICATION_SMILE, smileMapper);
+    }
+
+    public List<MediaType> getSupportedMediaTypes() {
+        return List.copyOf(objectMappers.keySet());
+    }
+
+    public MediaType negotiate(List<MediaType> acceptedMediaTypes) throws HttpMediaTypeNotAcceptableException {
+        if (acceptedMediaTypes.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = new ArrayList<>(acceptedMediaTypes);
+        accepted.sort((a, b) -> Double.compare(b.getQualityValue(), a.getQualityValue()));
+        for (MediaType acceptedType : accepted) {
+            for (MediaType supportedType : objectMappers.keySet()) {
+                if (acceptedType.isCompatibleWith(supportedType)) {
+                    return supportedType;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(getSupportedMediaTypes());
+    }
+
+    // source is called with a consumer that writes every employee it receives, e.g. EmployeeService::forEachEmployee
+    public void write(MediaType mediaType, OutputStream out, Consumer<Consumer<Employee>> source) throws IOException {
+        ObjectMapper objectMapper = objectMappers.get(mediaType);
+        if (objectMapper == null) {
+            throw new IllegalArgumentException("Unsupported media type: " + mediaType);
+        }
+        // ObjectMapper.writeValue flushes the generator after every value by default
+        ObjectWriter objectWriter = objectMapper.writerFor(EmployeeResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            int[] rows = {0};
+            source.accept(employee -> {
+                try {
+                    objectWriter.writeValue(generator, EmployeeMapper.toResponse(employee));
+                    if (++rows[0] % ROWS_PER_FLUSH == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
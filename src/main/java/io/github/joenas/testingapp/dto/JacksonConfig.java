@@ -0,0 +1,47 @@
+package io.github.joenas.testingapp.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Spring Boot registers every Module bean with the auto-configured ObjectMapper
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    // replaces reflective getter/setter/constructor calls with generated lambdas, e.g. for EmployeeRequest
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Binary formats for service-to-service callers, selected by the Accept header. Built from Boot's
+    // (prototype scoped) builder so they carry the same modules and serializers as the JSON mapper.
+    // They replace Spring MVC's default CBOR/Smile converters at their position behind JSON, so JSON stays
+    // the default. The mappers are deliberately no ObjectMapper beans, that would switch off Boot's JSON mapper.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public EmployeeStreamWriter employeeStreamWriter(ObjectMapper objectMapper,
+                                                     MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+                                                     MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        return new EmployeeStreamWriter(objectMapper, cborHttpMessageConverter.getObjectMapper(),
+                smileHttpMessageConverter.getObjectMapper());
+    }
+}
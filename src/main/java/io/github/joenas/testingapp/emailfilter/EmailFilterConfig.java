@@ -0,0 +1,53 @@
+package io.github.joenas.testingapp.emailfilter;
+
+import io.github.joenas.testingapp.changelog.ChangeLogPoller;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Skips the duplicate email query of saveEmployee for emails that are certainly new, with
+// app.email-filter.enabled=true (prod profile). Exposed as employee.email.filter.* metrics.
+// Instances only see each other's new employees through the change log, without it a filter would answer "certainly
+// new" for emails created elsewhere, so the startup fails unless app.change-log is enabled as well.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.email-filter", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(EmailFilterProperties.class)
+public class EmailFilterConfig {
+
+    @Bean
+    public KnownEmailFilter knownEmailFilter(JdbcTemplate jdbcTemplate, EmployeeRepository employeeRepository,
+                                             EmailFilterProperties properties, MeterRegistry meterRegistry,
+                                             ObjectProvider<ChangeLogPoller> changeLogPoller) {
+        if (changeLogPoller.getIfAvailable() == null) {
+            throw new IllegalStateException("app.email-filter.enabled=true needs app.change-log.enabled=true"
+                    + " to see the employees created by other instances");
+        }
+        KnownEmailFilter filter = new KnownEmailFilter(jdbcTemplate, employeeRepository,
+                properties.expectedInsertions(), properties.falsePositiveRate());
+        Gauge.builder("employee.email.filter.size", filter, KnownEmailFilter::approximateSize)
+                .description("Approximate number of distinct emails in the known email filter")
+                .register(meterRegistry);
+        Gauge.builder("employee.email.filter.false.positive.rate", filter, KnownEmailFilter::expectedFalsePositiveRate)
+                .description("Expected false positive rate of the known email filter at its current fill")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.email.filter.checks", filter, KnownEmailFilter::getAbsent)
+                .tag("result", "absent")
+                .description("Duplicate email checks answered without querying the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.email.filter.checks", filter, KnownEmailFilter::getPresent)
+                .tag("result", "present")
+                .description("Duplicate email checks passed on to the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.email.filter.false.positives", filter, KnownEmailFilter::getFalsePositives)
+                .description("Checks passed on to the database that found no employee")
+                .register(meterRegistry);
+        return filter;
+    }
+}
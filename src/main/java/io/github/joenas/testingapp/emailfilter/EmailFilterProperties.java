@@ -0,0 +1,11 @@
+package io.github.joenas.testingapp.emailfilter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// bound from app.email-filter.*, check-interval itself is read by the @Scheduled saturation check
+@ConfigurationProperties(prefix = "app.email-filter")
+public record EmailFilterProperties(@DefaultValue("false") boolean enabled,
+                                    @DefaultValue("1000000") long expectedInsertions,
+                                    @DefaultValue("0.01") double falsePositiveRate) {
+}
@@ -0,0 +1,191 @@
+package io.github.joenas.testingapp.emailfilter;
+
+import io.github.joenas.testingapp.model.EmailHash;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeesInvalidatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Answers "is this email certainly new?" without a query, so most saveEmployee duplicate checks skip the database.
+// Holds a Bloom filter of the email hashes of all employees, built on a background thread at startup and
+// again whenever deleted and changed addresses have pushed its false positive rate to twice the configured one.
+// Until the first build is done every email might exist and the database is asked as before.
+public class KnownEmailFilter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownEmailFilter.class);
+    private static final int PAGE_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "known-email-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final Object lock = new Object();
+    private volatile EmailBloomFilter current;
+    // guarded by lock, receives the emails created while a rebuild scans the table
+    private EmailBloomFilter building;
+
+    private final LongAdder absent = new LongAdder();
+    private final LongAdder present = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public KnownEmailFilter(JdbcTemplate jdbcTemplate, EmployeeRepository employeeRepository,
+                            long expectedInsertions, double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.employeeRepository = employeeRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightExist(String email) {
+        EmailBloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+        if (filter.mightContain(EmailHash.of(email))) {
+            present.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    // the filter said the email might exist and the database said it does not
+    public void recordFalsePositive() {
+        if (current != null) {
+            falsePositives.increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.employee() != null) {
+            add(EmailHash.of(event.employee().getEmail()));
+        }
+    }
+
+    // created or changed by another instance, see ChangeLogPoller
+    @EventListener
+    public void onEmployeesInvalidated(EmployeesInvalidatedEvent event) {
+        if (event.all()) {
+            scheduleRebuild();
+            return;
+        }
+        employeeRepository.findAllById(event.ids()).stream()
+                .map(Employee::getEmail)
+                .forEach(email -> add(EmailHash.of(email)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.email-filter.check-interval:PT1M}")
+    public void rebuildIfSaturated() {
+        EmailBloomFilter filter = current;
+        if (filter != null && filter.expectedFalsePositiveRate() > 2 * falsePositiveRate) {
+            scheduleRebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public long approximateSize() {
+        EmailBloomFilter filter = current;
+        return filter == null ? 0 : filter.approximateElementCount();
+    }
+
+    public double expectedFalsePositiveRate() {
+        EmailBloomFilter filter = current;
+        return filter == null ? Double.NaN : filter.expectedFalsePositiveRate();
+    }
+
+    public long getAbsent() {
+        return absent.sum();
+    }
+
+    public long getPresent() {
+        return present.sum();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    void rebuild() {
+        rebuildScheduled.set(false);
+        try {
+            Long rows = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+            // room to grow before the next rebuild
+            EmailBloomFilter filter = new EmailBloomFilter(
+                    Math.max(expectedInsertions, 2 * (rows == null ? 0 : rows)), falsePositiveRate);
+            synchronized (lock) {
+                building = filter;
+            }
+            long lastId = 0;
+            List<long[]> page;
+            do {
+                page = jdbcTemplate.query("select id, email_hash from employees where id > ? order by id limit ?",
+                        (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, lastId, PAGE_SIZE);
+                for (long[] row : page) {
+                    filter.put(row[1]);
+                    lastId = row[0];
+                }
+            } while (page.size() == PAGE_SIZE);
+            synchronized (lock) {
+                current = filter;
+                building = null;
+            }
+            logger.info("Built the known email filter with {} employees", filter.approximateElementCount());
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                building = null;
+            }
+            logger.warn("Building the known email filter failed, duplicate checks keep querying the database", e);
+        }
+    }
+
+    private void add(long hash) {
+        synchronized (lock) {
+            if (current != null) {
+                current.put(hash);
+            }
+            if (building != null) {
+                building.put(hash);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+}
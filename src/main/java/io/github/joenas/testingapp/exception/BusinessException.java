@@ -0,0 +1,14 @@
+package io.github.joenas.testingapp.exception;
+
+// Base class for expected business errors which are mapped to a client error by GlobalExceptionHandler.
+// They are part of the normal control flow (e.g. duplicate imports), so no stack trace is captured.
+public abstract class BusinessException extends RuntimeException {
+
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected BusinessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.joenas.testingapp.exception;
+
+import io.github.joenas.testingapp.deadline.DeadlineExceededException;
+import io.github.joenas.testingapp.querybudget.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Maps the business exceptions onto RFC 7807 problem details and counts every handled exception per type
+// as employee.api.errors metrics.
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    static final URI NOT_FOUND_TYPE = URI.create("/problems/resource-not-found");
+    static final URI CONFLICT_TYPE = URI.create("/problems/resource-conflict");
+    static final URI INVALID_REQUEST_TYPE = URI.create("/problems/invalid-request");
+    static final URI UNAVAILABLE_TYPE = URI.create("/problems/service-unavailable");
+    static final URI DEADLINE_EXCEEDED_TYPE = URI.create("/problems/deadline-exceeded");
+    static final URI QUERY_BUDGET_TYPE = URI.create("/problems/query-budget-exceeded");
+
+    private final MeterRegistry meterRegistry;
+    // one counter per exception type, looked up once instead of on every error
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        counterFor(ResourceNotFoundException.class, HttpStatus.NOT_FOUND);
+        counterFor(ResourceConflictException.class, HttpStatus.CONFLICT);
+        counterFor(InvalidRequestException.class, HttpStatus.BAD_REQUEST);
+        counterFor(ServiceUnavailableException.class, HttpStatus.SERVICE_UNAVAILABLE);
+        counterFor(DeadlineExceededException.class, HttpStatus.GATEWAY_TIMEOUT);
+        counterFor(QueryBudgetExceededException.class, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ProblemDetail handleResourceNotFound(ResourceNotFoundException exception) {
+        return problem(exception, HttpStatus.NOT_FOUND, NOT_FOUND_TYPE);
+    }
+
+    @ExceptionHandler(ResourceConflictException.class)
+    public ProblemDetail handleResourceConflict(ResourceConflictException exception) {
+        return problem(exception, HttpStatus.CONFLICT, CONFLICT_TYPE);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ProblemDetail handleInvalidRequest(InvalidRequestException exception) {
+        return problem(exception, HttpStatus.BAD_REQUEST, INVALID_REQUEST_TYPE);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleServiceUnavailable(ServiceUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problem(exception, HttpStatus.SERVICE_UNAVAILABLE, UNAVAILABLE_TYPE));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ProblemDetail handleDeadlineExceeded(DeadlineExceededException exception) {
+        return problem(exception, HttpStatus.GATEWAY_TIMEOUT, DEADLINE_EXCEEDED_TYPE);
+    }
+
+    // only raised with app.query-budget.action=FAIL outside of prod, a bug rather than a business error
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ProblemDetail handleQueryBudgetExceeded(QueryBudgetExceededException exception) {
+        return problem(exception, HttpStatus.INTERNAL_SERVER_ERROR, QUERY_BUDGET_TYPE);
+    }
+
+    private ProblemDetail problem(RuntimeException exception, HttpStatus status, URI type) {
+        counterFor(exception.getClass(), status).increment();
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, exception.getMessage());
+        problemDetail.setType(type);
+        return problemDetail;
+    }
+
+    private Counter counterFor(Class<?> exceptionType, HttpStatus status) {
+        return errorCounters.computeIfAbsent(exceptionType, type -> Counter.builder("employee.api.errors")
+                .tag("exception", type.getSimpleName())
+                .tag("status", Integer.toString(status.value()))
+                .description("Errors returned by the employee API, per handled exception type")
+                .register(meterRegistry));
+    }
+}
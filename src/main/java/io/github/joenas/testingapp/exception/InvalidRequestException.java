@@ -0,0 +1,13 @@
+package io.github.joenas.testingapp.exception;
+
+// the request is syntactically fine but its content cannot be processed, e.g. an empty bulk filter
+public class InvalidRequestException extends BusinessException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.joenas.testingapp.exception;
+
+// the resource clashes with an existing one, e.g. an employee with the same email
+public class ResourceConflictException extends BusinessException {
+
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+
+    public ResourceConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,6 @@
 package io.github.joenas.testingapp.exception;
 
-public class ResourceNotFoundException extends RuntimeException{
+public class ResourceNotFoundException extends BusinessException {
 
     public ResourceNotFoundException(String message){
         super(message);
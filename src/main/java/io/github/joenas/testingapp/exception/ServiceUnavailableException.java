@@ -0,0 +1,13 @@
+package io.github.joenas.testingapp.exception;
+
+// the request is valid but cannot be taken on right now, e.g. all export job slots are in use
+public class ServiceUnavailableException extends BusinessException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
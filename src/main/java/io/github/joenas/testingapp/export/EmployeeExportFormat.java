@@ -0,0 +1,26 @@
+package io.github.joenas.testingapp.export;
+
+import org.springframework.http.MediaType;
+
+// file formats of an export job, both written gzip compressed
+public enum EmployeeExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    EmployeeExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileName(String jobId) {
+        return "employees-" + jobId + "." + extension + ".gz";
+    }
+}
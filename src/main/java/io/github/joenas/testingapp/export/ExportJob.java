@@ -0,0 +1,98 @@
+package io.github.joenas.testingapp.export;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// state of one export, updated by the worker thread and read by status requests
+public class ExportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final EmployeeExportFormat format;
+    private final Path file;
+    private final Instant createdAt;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile State state = State.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    ExportJob(String id, EmployeeExportFormat format, Path file, Instant createdAt) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public EmployeeExportFormat getFormat() {
+        return format;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    void rowWritten() {
+        rowsWritten.incrementAndGet();
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    // transitions are synchronized so a cancel cannot be overwritten by the worker finishing at the same time
+    synchronized boolean start() {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        state = State.RUNNING;
+        return true;
+    }
+
+    synchronized boolean finish(State finalState, String error, Instant finishedAt) {
+        if (state.isFinished()) {
+            return false;
+        }
+        this.state = finalState;
+        this.error = error;
+        this.finishedAt = finishedAt;
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.joenas.testingapp.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+// background export jobs behind /api/employees/exports, see EmployeeExportJobController
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ExportJobProperties.class)
+public class ExportJobConfig {
+
+    @Bean
+    public ExportJobService exportJobService(EmployeeService employeeService, ObjectMapper objectMapper,
+                                             ExportJobProperties properties) throws IOException {
+        Path directory = properties.directory() != null
+                ? properties.directory()
+                : Path.of(System.getProperty("java.io.tmpdir"), "employee-exports");
+        return new ExportJobService(employeeService, objectMapper, directory, properties.maxConcurrentJobs(),
+                properties.maxQueuedJobs(), properties.retention(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ExportJobPurger exportJobPurger(ExportJobService exportJobService) {
+        return new ExportJobPurger(exportJobService);
+    }
+
+    static class ExportJobPurger {
+
+        private final ExportJobService exportJobService;
+
+        ExportJobPurger(ExportJobService exportJobService) {
+            this.exportJobService = exportJobService;
+        }
+
+        @Scheduled(fixedDelayString = "${app.export-jobs.purge-interval:PT1M}")
+        void purge() {
+            exportJobService.purgeExpired();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.joenas.testingapp.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// bound from app.export-jobs.*, the directory defaults to employee-exports in java.io.tmpdir
+@ConfigurationProperties(prefix = "app.export-jobs")
+public record ExportJobProperties(Path directory,
+                                  @DefaultValue("2") int maxConcurrentJobs,
+                                  @DefaultValue("8") int maxQueuedJobs,
+                                  @DefaultValue("1h") Duration retention) {
+}
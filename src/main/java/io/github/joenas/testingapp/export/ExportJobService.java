@@ -0,0 +1,221 @@
+package io.github.joenas.testingapp.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.joenas.testingapp.dto.EmployeeMapper;
+import io.github.joenas.testingapp.dto.EmployeeResponse;
+import io.github.joenas.testingapp.exception.ServiceUnavailableException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+// Runs employee exports in the background into gzip compressed files, at most maxConcurrentJobs at a time
+// with maxQueuedJobs waiting. Finished jobs and their files are kept for the retention period.
+public class ExportJobService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration retention;
+    private final Clock clock;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobService(EmployeeService employeeService, ObjectMapper objectMapper, Path directory,
+                            int maxConcurrentJobs, int maxQueuedJobs, Duration retention, Clock clock)
+            throws IOException {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(directory);
+        this.retention = retention;
+        this.clock = clock;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueuedJobs)), runnable -> {
+            Thread thread = new Thread(runnable, "employee-export-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ExportJob start(EmployeeExportFormat format) {
+        String id = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(id, format, directory.resolve(format.getFileName(id)), clock.instant());
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new ServiceUnavailableException("Too many export jobs running, try again later", e);
+        }
+        return job;
+    }
+
+    public Optional<ExportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    // stops a queued or running job and removes the job together with its file
+    public boolean cancel(String id) {
+        ExportJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        job.finish(ExportJob.State.CANCELLED, null, clock.instant());
+        if (job.getFuture() != null) {
+            job.getFuture().cancel(true);
+        }
+        deleteQuietly(job.getFile());
+        return true;
+    }
+
+    // drops finished jobs older than the retention period and deletes their files
+    public void purgeExpired() {
+        var cutoff = clock.instant().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (!job.getState().isFinished() || job.getFinishedAt().isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    private void run(ExportJob job) {
+        if (!job.start()) {
+            return;
+        }
+        Path partFile = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partFile), BUFFER_SIZE)) {
+                switch (job.getFormat()) {
+                    case NDJSON -> writeNdjson(job, out);
+                    case CSV -> writeCsv(job, out);
+                }
+            }
+            Files.move(partFile, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            if (!job.finish(ExportJob.State.COMPLETED, null, clock.instant())) {
+                // cancelled while the file was being moved into place
+                deleteQuietly(job.getFile());
+            }
+        } catch (CancellationException e) {
+            job.finish(ExportJob.State.CANCELLED, null, clock.instant());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Export job {} failed", job.getId(), e);
+            job.finish(ExportJob.State.FAILED, e.getMessage(), clock.instant());
+        } finally {
+            deleteQuietly(partFile);
+        }
+    }
+
+    // one JSON object per line
+    private void writeNdjson(ExportJob job, OutputStream out) throws IOException {
+        // without it every row would be flushed through the gzip stream on its own
+        ObjectWriter objectWriter = objectMapper.writerFor(EmployeeResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // the newline is written explicitly, so it also terminates the last line
+            generator.setRootValueSeparator(null);
+            forEachEmployee(job, employee -> {
+                objectWriter.writeValue(generator, EmployeeMapper.toResponse(employee));
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    // RFC 4180 with a header line
+    private void writeCsv(ExportJob job, OutputStream out) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write("id,firstName,lastName,email\r\n");
+            forEachEmployee(job, employee -> {
+                writer.write(Long.toString(employee.getId()));
+                writer.write(',');
+                writeCsvField(writer, employee.getFirstName());
+                writer.write(',');
+                writeCsvField(writer, employee.getLastName());
+                writer.write(',');
+                writeCsvField(writer, employee.getEmail());
+                writer.write("\r\n");
+            });
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // pages through the employees with the service's keyset scan, checking for cancellation between rows
+    private void forEachEmployee(ExportJob job, EmployeeWriter employeeWriter) throws IOException {
+        Consumer<Employee> action = employee -> {
+            if (Thread.currentThread().isInterrupted() || job.getState() != ExportJob.State.RUNNING) {
+                throw new CancellationException();
+            }
+            try {
+                employeeWriter.write(employee);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            job.rowWritten();
+        };
+        try {
+            employeeService.forEachEmployee(action);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private interface EmployeeWriter {
+        void write(Employee employee) throws IOException;
+    }
+}
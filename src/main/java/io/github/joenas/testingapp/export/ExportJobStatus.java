@@ -0,0 +1,13 @@
+package io.github.joenas.testingapp.export;
+
+import java.time.Instant;
+
+// progress of an export job as reported by GET /api/employees/exports/{id}
+public record ExportJobStatus(String id, EmployeeExportFormat format, ExportJob.State state, long rowsWritten,
+                              Instant createdAt, Instant finishedAt, String error) {
+
+    public static ExportJobStatus of(ExportJob job) {
+        return new ExportJobStatus(job.getId(), job.getFormat(), job.getState(), job.getRowsWritten(),
+                job.getCreatedAt(), job.getFinishedAt(), job.getError());
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.joenas.testingapp.fanout;
+
+import io.github.joenas.testingapp.deadline.Deadline;
+import io.github.joenas.testingapp.deadline.DeadlineExceededException;
+import io.github.joenas.testingapp.exception.InvalidRequestException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+// Async facade over EmployeeService for composite reads: independent calls run in parallel on virtual threads
+// instead of one after another. At most maxParallelism calls run at once across all callers, matched to the
+// connection pool so a wide fan-out queues here rather than timing out in the pool. The first failure fails
+// the whole result and interrupts the calls still running or waiting. Calls carry the caller's Deadline, waiting
+// for a permit and the whole result fail with DeadlineExceededException once it has passed.
+public class AsyncEmployeeService implements AutoCloseable {
+
+    private final EmployeeService employeeService;
+    private final Semaphore permits;
+    private final int maxParallelism;
+    private final int maxKeys;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("employee-fan-out-", 0).factory());
+
+    public AsyncEmployeeService(EmployeeService employeeService, int maxParallelism, int maxKeys) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism must be positive: " + maxParallelism);
+        }
+        this.employeeService = employeeService;
+        this.permits = new Semaphore(maxParallelism);
+        this.maxParallelism = maxParallelism;
+        this.maxKeys = maxKeys;
+    }
+
+    public CompletableFuture<Optional<Employee>> getEmployeeById(long id) {
+        return fanOut(List.of(id), employeeService::getEmployeeById)
+                .thenApply(employees -> employees.get(id));
+    }
+
+    // the existing employees in the order of the (distinct) ids, unknown ids are left out
+    public CompletableFuture<List<Employee>> getEmployeesByIds(Collection<Long> ids) {
+        return fanOut(ids, employeeService::getEmployeeById)
+                .thenApply(employees -> employees.values().stream().flatMap(Optional::stream).toList());
+    }
+
+    // applies the call to every distinct key in parallel, the map keeps the order of the keys
+    public <K, V> CompletableFuture<Map<K, V>> fanOut(Collection<K> keys, Function<? super K, ? extends V> call) {
+        List<K> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        if (distinct.size() > maxKeys) {
+            throw new InvalidRequestException("At most " + maxKeys + " keys can be looked up at once");
+        }
+        CompletableFuture<Map<K, V>> result = new CompletableFuture<>();
+        if (distinct.isEmpty()) {
+            result.complete(Collections.emptyMap());
+            return result;
+        }
+        Deadline deadline = Deadline.current();
+        AtomicReferenceArray<V> values = new AtomicReferenceArray<>(distinct.size());
+        AtomicInteger pending = new AtomicInteger(distinct.size());
+        List<Future<?>> calls = new ArrayList<>(distinct.size());
+        for (int i = 0; i < distinct.size(); i++) {
+            int index = i;
+            calls.add(executor.submit(() -> {
+                try {
+                    if (!acquirePermit(deadline)) {
+                        result.completeExceptionally(
+                                new DeadlineExceededException("Request deadline exceeded waiting for a permit"));
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    result.completeExceptionally(new CancellationException("Fan-out call was cancelled"));
+                    return;
+                }
+                try {
+                    // a sibling failed while this call was waiting for a permit
+                    if (result.isDone()) {
+                        return;
+                    }
+                    Deadline.restore(deadline);
+                    values.set(index, call.apply(distinct.get(index)));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                    return;
+                } finally {
+                    Deadline.clear();
+                    permits.release();
+                }
+                if (pending.decrementAndGet() == 0) {
+                    Map<K, V> collected = new LinkedHashMap<>();
+                    for (int j = 0; j < distinct.size(); j++) {
+                        collected.put(distinct.get(j), values.get(j));
+                    }
+                    result.complete(collected);
+                }
+            }));
+        }
+        // a failed sibling or a cancelled result stops everything that is still running or waiting for a permit
+        result.whenComplete((collected, failure) -> {
+            if (failure != null) {
+                calls.forEach(future -> future.cancel(true));
+            }
+        });
+        // like orTimeout, but failing with the exception a serial call past the deadline would throw
+        if (deadline != null) {
+            CompletableFuture.delayedExecutor(deadline.remainingMillis(), TimeUnit.MILLISECONDS).execute(() ->
+                    result.completeExceptionally(new DeadlineExceededException("Request deadline exceeded")));
+        }
+        return result;
+    }
+
+    private boolean acquirePermit(Deadline deadline) throws InterruptedException {
+        if (deadline == null) {
+            permits.acquire();
+            return true;
+        }
+        return permits.tryAcquire(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.joenas.testingapp.fanout;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// parallel composite reads behind /api/employees/batch, see EmployeeBatchController
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(FanOutProperties.class)
+public class FanOutConfig {
+
+    // fallback when the pool size is unknown, Hikari's default maximum pool size
+    static final int DEFAULT_PARALLELISM = 10;
+
+    @Bean
+    public AsyncEmployeeService asyncEmployeeService(EmployeeService employeeService, FanOutProperties properties,
+                                                     ObjectProvider<DataSource> dataSource) {
+        int maxParallelism = properties.maxParallelism() > 0
+                ? properties.maxParallelism()
+                : poolSize(dataSource.getIfAvailable());
+        return new AsyncEmployeeService(employeeService, maxParallelism, properties.maxKeys());
+    }
+
+    // the DataSource may be wrapped by DeadlineDataSource or CountingDataSource, both unwrap to the pool
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // not a Hikari pool after all
+        }
+        return DEFAULT_PARALLELISM;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.joenas.testingapp.fanout;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// bound from app.fan-out.*, a max-parallelism of 0 uses the maximum size of the Hikari connection pool
+@ConfigurationProperties(prefix = "app.fan-out")
+public record FanOutProperties(@DefaultValue("0") int maxParallelism,
+                               @DefaultValue("500") int maxKeys) {
+}
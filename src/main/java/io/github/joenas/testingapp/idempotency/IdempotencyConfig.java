@@ -0,0 +1,59 @@
+package io.github.joenas.testingapp.idempotency;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+
+// Idempotency-Key support for POST /api/employees and PUT /api/employees/{id},
+// on by default with the in-memory store, app.idempotency.store=jdbc keeps the keys in the database.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties,
+                                             ObjectProvider<JdbcTemplate> jdbcTemplateProvider) {
+        if (properties.store() == IdempotencyProperties.StoreType.JDBC) {
+            return new JdbcIdempotencyStore(jdbcTemplateProvider.getObject(), properties.ttl(),
+                    properties.reservationTimeout(), Clock.systemUTC());
+        }
+        return new InMemoryIdempotencyStore(properties.ttl(), properties.reservationTimeout(), properties.maxEntries(),
+                Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                       IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, properties.inFlightWait(), Clock.systemUTC()));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        return registration;
+    }
+
+    @Bean
+    public IdempotencyStorePurger idempotencyStorePurger(IdempotencyStore idempotencyStore) {
+        return new IdempotencyStorePurger(idempotencyStore);
+    }
+
+    static class IdempotencyStorePurger {
+
+        private final IdempotencyStore store;
+
+        IdempotencyStorePurger(IdempotencyStore store) {
+            this.store = store;
+        }
+
+        @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1M}")
+        void purge() {
+            store.purgeExpired();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.joenas.testingapp.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Answers retried POST/PUT requests carrying an Idempotency-Key header from the IdempotencyStore.
+// The first request with a key reserves it in the store and runs the controller, concurrent requests with the
+// same key - on this or, with the JDBC store, any other instance - poll the store until its response is there
+// and replay it with its headers. Requests without the header are passed through untouched.
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+
+    private final IdempotencyStore store;
+    private final Duration inFlightWait;
+    private final Clock clock;
+
+    public IdempotencyFilter(IdempotencyStore store, Duration inFlightWait, Clock clock) {
+        this.store = store;
+        this.inFlightWait = inFlightWait;
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
+        String requestHash = hash(request, cachedRequest.getBody());
+        long deadline = System.nanoTime() + inFlightWait.toNanos();
+
+        while (true) {
+            Optional<StoredResponse> stored = store.find(key);
+            if (stored.isEmpty()) {
+                if (store.reserve(key, StoredResponse.pending(requestHash, clock.instant()))) {
+                    execute(key, requestHash, cachedRequest, response, filterChain);
+                    return;
+                }
+                // another request reserved the key in the meantime
+                continue;
+            }
+            if (!stored.get().requestHash().equals(requestHash)) {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        "Idempotency-Key was already used for a different request");
+                return;
+            }
+            if (!stored.get().isPending()) {
+                replay(stored.get(), response);
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                response.sendError(HttpStatus.CONFLICT.value(),
+                        "A request with the same Idempotency-Key is still in progress");
+                return;
+            }
+            // the first attempt is still running, or failed and released the key - then try again
+            pause(Math.min(remaining, POLL_INTERVAL_NANOS));
+        }
+    }
+
+    private void execute(String key, String requestHash, CachedBodyHttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // headers set further out, e.g. by other filters, are set again on a replay and not stored
+        Set<String> outerHeaders = new HashSet<>(response.getHeaderNames());
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean saved = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            // server errors are not remembered, the client is supposed to retry them
+            if (responseWrapper.getStatus() < 500) {
+                store.save(key, new StoredResponse(requestHash, responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseHeaders(responseWrapper, outerHeaders),
+                        responseWrapper.getContentAsByteArray(), clock.instant()));
+                saved = true;
+            }
+        } finally {
+            if (!saved) {
+                store.release(key);
+            }
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static HttpHeaders responseHeaders(HttpServletResponse response, Set<String> outerHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : response.getHeaderNames()) {
+            if (!outerHeaders.contains(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.addAll(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static void pause(long nanos) throws IOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the request with the same Idempotency-Key", e);
+        }
+    }
+
+    // the key may only be reused for exactly the same request
+    static String hash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.joenas.testingapp.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// bound from app.idempotency.*, the reservation timeout has to exceed the longest request:
+// a reservation that old is taken to be left behind by a crashed instance and is given to the next attempt
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("memory") StoreType store,
+                                    @DefaultValue("24h") Duration ttl,
+                                    @DefaultValue("10000") int maxEntries,
+                                    @DefaultValue("10s") Duration inFlightWait,
+                                    @DefaultValue("1m") Duration reservationTimeout) {
+
+    public enum StoreType {
+        MEMORY, JDBC
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.joenas.testingapp.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    // returns the stored response or reservation, expired entries are never returned
+    Optional<StoredResponse> find(String key);
+
+    // atomically reserves the key for a first attempt, false if it is stored or reserved already
+    boolean reserve(String key, StoredResponse pending);
+
+    // replaces the reservation with the response
+    void save(String key, StoredResponse response);
+
+    // drops the reservation of an attempt that left no response, so a retry can run it again
+    void release(String key);
+
+    // removes all expired entries, returns the number of removed entries
+    int purgeExpired();
+}
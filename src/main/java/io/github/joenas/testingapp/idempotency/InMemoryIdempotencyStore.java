@@ -0,0 +1,93 @@
+package io.github.joenas.testingapp.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Bounded store kept in insertion order: once maxEntries is reached the oldest key is dropped,
+// and entries older than the ttl (reservations older than the reservation timeout) are ignored on read
+// and removed by purgeExpired().
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Duration ttl;
+    private final Duration reservationTimeout;
+    private final Clock clock;
+    // guarded by this
+    private final LinkedHashMap<String, StoredResponse> entries;
+
+    public InMemoryIdempotencyStore(Duration ttl, Duration reservationTimeout, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.reservationTimeout = reservationTimeout;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> find(String key) {
+        StoredResponse response = entries.get(key);
+        if (response == null) {
+            return Optional.empty();
+        }
+        if (isExpired(response, clock.instant())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(response);
+    }
+
+    @Override
+    public synchronized boolean reserve(String key, StoredResponse pending) {
+        if (find(key).isPresent()) {
+            return false;
+        }
+        entries.put(key, pending);
+        return true;
+    }
+
+    @Override
+    public synchronized void save(String key, StoredResponse response) {
+        // re-insert so a replaced key moves to the young end of the eviction order
+        entries.remove(key);
+        entries.put(key, response);
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        StoredResponse response = entries.get(key);
+        if (response != null && response.isPending()) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized int purgeExpired() {
+        Instant now = clock.instant();
+        int removed = 0;
+        // reservations expire sooner than responses, so unlike those they are not in expiry order
+        Iterator<StoredResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(StoredResponse response, Instant now) {
+        return response.createdAt().plus(response.isPending() ? reservationTimeout : ttl).isBefore(now);
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.joenas.testingapp.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Database backed store, so retries are recognized across restarts and across several app instances.
+// The idempotency_keys table is created by the V3 migration. The reservation is a row with status 0 inserted
+// under the primary key, so of several instances receiving the same key only one runs the request.
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final RowMapper<StoredResponse> STORED_RESPONSE_ROW_MAPPER = (rs, rowNum) -> new StoredResponse(
+            rs.getString("request_hash"),
+            rs.getInt("status"),
+            rs.getString("content_type"),
+            parseHeaders(rs.getString("headers")),
+            rs.getBytes("body"),
+            rs.getTimestamp("created_at").toInstant());
+
+    // live entries: responses within the ttl, reservations within the reservation timeout
+    private static final String LIVE = "(status <> 0 and created_at >= ? or status = 0 and created_at >= ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration reservationTimeout;
+    private final Clock clock;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration reservationTimeout, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.reservationTimeout = reservationTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return jdbcTemplate.query(
+                        "select request_hash, status, content_type, headers, body, created_at from idempotency_keys"
+                                + " where idempotency_key = ? and " + LIVE,
+                        STORED_RESPONSE_ROW_MAPPER, key, responsesExpiredBefore(), reservationsExpiredBefore())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean reserve(String key, StoredResponse pending) {
+        try {
+            jdbcTemplate.update("insert into idempotency_keys (idempotency_key, request_hash, status, created_at)"
+                            + " values (?, ?, 0, ?)",
+                    key, pending.requestHash(), Timestamp.from(pending.createdAt()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            // an expired entry not purged yet, or the reservation of a crashed attempt: the update locks the row,
+            // of several instances taking it over only the first still finds it expired
+            return jdbcTemplate.update("update idempotency_keys set request_hash = ?, status = 0, content_type = null,"
+                            + " headers = null, body = null, created_at = ? where idempotency_key = ? and not " + LIVE,
+                    pending.requestHash(), Timestamp.from(pending.createdAt()), key, responsesExpiredBefore(),
+                    reservationsExpiredBefore()) == 1;
+        }
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        Object[] values = {response.requestHash(), response.status(), response.contentType(),
+                formatHeaders(response.headers()), response.body(), Timestamp.from(response.createdAt()), key};
+        int updated = jdbcTemplate.update("update idempotency_keys set request_hash = ?, status = ?, content_type = ?,"
+                + " headers = ?, body = ?, created_at = ? where idempotency_key = ?", values);
+        if (updated == 0) {
+            // the reservation was purged meanwhile
+            jdbcTemplate.update("insert into idempotency_keys"
+                    + " (request_hash, status, content_type, headers, body, created_at, idempotency_key)"
+                    + " values (?, ?, ?, ?, ?, ?, ?)", values);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and status = 0", key);
+    }
+
+    @Override
+    public int purgeExpired() {
+        return jdbcTemplate.update("delete from idempotency_keys where not " + LIVE,
+                responsesExpiredBefore(), reservationsExpiredBefore());
+    }
+
+    private Timestamp responsesExpiredBefore() {
+        return Timestamp.from(clock.instant().minus(ttl));
+    }
+
+    private Timestamp reservationsExpiredBefore() {
+        return Timestamp.from(clock.instant().minus(reservationTimeout));
+    }
+
+    // one "name: value" line per header value
+    static String formatHeaders(HttpHeaders headers) {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        return headers.entrySet().stream()
+                .flatMap(header -> header.getValue().stream().map(value -> header.getKey() + ": " + value))
+                .collect(Collectors.joining("\n"));
+    }
+
+    static HttpHeaders parseHeaders(String lines) {
+        HttpHeaders headers = new HttpHeaders();
+        if (lines != null) {
+            lines.lines().forEach(line -> {
+                int colon = line.indexOf(':');
+                headers.add(line.substring(0, colon), line.substring(colon + 1).strip());
+            });
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.joenas.testingapp.idempotency;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+// the response recorded for an Idempotency-Key together with the hash of the request that produced it,
+// or with status 0 the reservation of a first attempt that is still running
+public record StoredResponse(String requestHash, int status, String contentType, HttpHeaders headers, byte[] body,
+                             Instant createdAt) {
+
+    static final int PENDING = 0;
+
+    public static StoredResponse pending(String requestHash, Instant createdAt) {
+        return new StoredResponse(requestHash, PENDING, null, HttpHeaders.EMPTY, null, createdAt);
+    }
+
+    public boolean isPending() {
+        return status == PENDING;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.joenas.testingapp.latency;
+
+import io.github.joenas.testingapp.controller.EmployeeController;
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.service.impl.TimedEmployeeServiceImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Exact tail latencies per controller route and EmployeeService method with app.latency.enabled=true,
+// reported by the latency actuator endpoint for the last interval (app.latency.interval) and since startup.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.latency", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LatencyProperties.class)
+public class LatencyConfig {
+
+    @Bean
+    public LatencyRecorders latencyRecorders(LatencyProperties properties) {
+        return new LatencyRecorders(properties.highestTrackable().toNanos() / 1000, properties.significantDigits());
+    }
+
+    @Bean
+    public LatencyEndpoint latencyEndpoint(LatencyRecorders latencyRecorders) {
+        return new LatencyEndpoint(latencyRecorders);
+    }
+
+    // outermost filter, so the route latency includes the time spent in the others
+    @Bean
+    public FilterRegistrationBean<RouteLatencyFilter> routeLatencyFilter(LatencyRecorders latencyRecorders) {
+        FilterRegistrationBean<RouteLatencyFilter> registration = new FilterRegistrationBean<>(
+                new RouteLatencyFilter(latencyRecorders, EmployeeController.class.getPackageName()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // static and resolving its dependencies lazily, so creating the post processor does not initialize other beans early
+    @Bean
+    public static BeanPostProcessor timedEmployeeServicePostProcessor(ObjectProvider<LatencyRecorders> latencyRecorders) {
+        return new TimedServiceWrapper(latencyRecorders);
+    }
+
+    // wraps the EmployeeService that gets injected, last so that other decorators such as the snapshot are timed too
+    static class TimedServiceWrapper implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+        private final ObjectProvider<LatencyRecorders> latencyRecorders;
+        private ConfigurableListableBeanFactory beanFactory;
+
+        TimedServiceWrapper(ObjectProvider<LatencyRecorders> latencyRecorders) {
+            this.latencyRecorders = latencyRecorders;
+        }
+
+        @Override
+        public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+            this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof EmployeeService employeeService) || !isInjectedService(beanName)) {
+                return bean;
+            }
+            return new TimedEmployeeServiceImpl(employeeService, latencyRecorders.getObject());
+        }
+
+        private boolean isInjectedService(String beanName) {
+            String[] candidates = beanFactory.getBeanNamesForType(EmployeeService.class, false, false);
+            return candidates.length == 1
+                    || beanFactory.containsBeanDefinition(beanName) && beanFactory.getMergedBeanDefinition(beanName).isPrimary();
+        }
+    }
+}
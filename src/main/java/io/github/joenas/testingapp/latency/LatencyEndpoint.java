@@ -0,0 +1,34 @@
+package io.github.joenas.testingapp.latency;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.SortedMap;
+
+// GET /actuator/latency[/{operation}] reports the recorded percentiles, DELETE /actuator/latency resets them
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final LatencyRecorders latencyRecorders;
+
+    public LatencyEndpoint(LatencyRecorders latencyRecorders) {
+        this.latencyRecorders = latencyRecorders;
+    }
+
+    @ReadOperation
+    public SortedMap<String, LatencyReport> latencies() {
+        return latencyRecorders.report();
+    }
+
+    @ReadOperation
+    public LatencyReport latency(@Selector String operation) {
+        return latencyRecorders.report().get(operation);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        latencyRecorders.reset();
+    }
+}
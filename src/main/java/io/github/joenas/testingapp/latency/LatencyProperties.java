@@ -0,0 +1,14 @@
+package io.github.joenas.testingapp.latency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// bound from app.latency.*, interval itself is read by the @Scheduled interval swap.
+// Two significant digits keep every histogram at a few KB with 1% precision.
+@ConfigurationProperties(prefix = "app.latency")
+public record LatencyProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("60s") Duration highestTrackable,
+                                @DefaultValue("2") int significantDigits) {
+}
@@ -0,0 +1,41 @@
+package io.github.joenas.testingapp.latency;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// all OperationLatency instances by name; callers look theirs up once and keep it
+public class LatencyRecorders {
+
+    private final Map<String, OperationLatency> operations = new ConcurrentHashMap<>();
+    private final long highestTrackableMicros;
+    private final int significantDigits;
+
+    public LatencyRecorders(long highestTrackableMicros, int significantDigits) {
+        this.highestTrackableMicros = highestTrackableMicros;
+        this.significantDigits = significantDigits;
+    }
+
+    public OperationLatency operation(String name) {
+        return operations.computeIfAbsent(name,
+                key -> new OperationLatency(key, highestTrackableMicros, significantDigits));
+    }
+
+    @Scheduled(fixedDelayString = "${app.latency.interval:PT1M}")
+    public void swapIntervals() {
+        operations.values().forEach(OperationLatency::swapInterval);
+    }
+
+    public SortedMap<String, LatencyReport> report() {
+        SortedMap<String, LatencyReport> report = new TreeMap<>();
+        operations.forEach((name, operation) -> report.put(name, operation.report()));
+        return report;
+    }
+
+    public void reset() {
+        operations.values().forEach(OperationLatency::reset);
+    }
+}
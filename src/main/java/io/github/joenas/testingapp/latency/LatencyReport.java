@@ -0,0 +1,5 @@
+package io.github.joenas.testingapp.latency;
+
+// the last completed interval and everything recorded since startup or the last reset, up to the end of that interval
+public record LatencyReport(LatencySummary lastInterval, LatencySummary total) {
+}
@@ -0,0 +1,22 @@
+package io.github.joenas.testingapp.latency;
+
+import org.HdrHistogram.Histogram;
+
+// percentiles and maximum in milliseconds
+public record LatencySummary(long count, double p50, double p90, double p99, double p999, double max) {
+
+    static final LatencySummary EMPTY = new LatencySummary(0, 0, 0, 0, 0, 0);
+
+    static LatencySummary of(Histogram histogram) {
+        return new LatencySummary(histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50.0)),
+                millis(histogram.getValueAtPercentile(90.0)),
+                millis(histogram.getValueAtPercentile(99.0)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
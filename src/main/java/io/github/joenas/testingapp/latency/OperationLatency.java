@@ -0,0 +1,52 @@
+package io.github.joenas.testingapp.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Latency histogram of one operation. Callers record into an HdrHistogram Recorder, which is wait-free and
+// does not allocate; the scheduled interval swap moves the recorded values into lastInterval and total.
+public final class OperationLatency {
+
+    private final String name;
+    private final long highestTrackableMicros;
+    private final Recorder recorder;
+
+    // guarded by this
+    private Histogram lastInterval;
+    private final Histogram total;
+
+    OperationLatency(String name, long highestTrackableMicros, int significantDigits) {
+        this.name = name;
+        this.highestTrackableMicros = highestTrackableMicros;
+        this.recorder = new Recorder(1, highestTrackableMicros, significantDigits);
+        this.total = new Histogram(1, highestTrackableMicros, significantDigits);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // slower calls than the highest trackable value are counted at that value
+    public void record(long nanos) {
+        recorder.recordValue(Math.min(Math.max(nanos / 1000, 1), highestTrackableMicros));
+    }
+
+    synchronized void swapInterval() {
+        // the previous interval histogram is handed back for reuse
+        lastInterval = recorder.getIntervalHistogram(lastInterval);
+        total.add(lastInterval);
+    }
+
+    synchronized LatencyReport report() {
+        return new LatencyReport(lastInterval == null ? LatencySummary.EMPTY : LatencySummary.of(lastInterval),
+                LatencySummary.of(total));
+    }
+
+    synchronized void reset() {
+        recorder.reset();
+        if (lastInterval != null) {
+            lastInterval.reset();
+        }
+        total.reset();
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.joenas.testingapp.latency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Records the latency of every request handled by one of the application's controllers, including the
+// other filters and message conversion, as "<HTTP method> <route pattern>".
+// The operation is resolved once per handler method, later requests only do a map lookup.
+public class RouteLatencyFilter extends OncePerRequestFilter {
+
+    private static final OperationLatency UNTRACKED = new OperationLatency("untracked", 2, 1);
+
+    private final LatencyRecorders latencyRecorders;
+    private final String controllerPackage;
+    private final Map<Method, OperationLatency> routes = new ConcurrentHashMap<>();
+
+    public RouteLatencyFilter(LatencyRecorders latencyRecorders, String controllerPackage) {
+        this.latencyRecorders = latencyRecorders;
+        this.controllerPackage = controllerPackage;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                OperationLatency route = routes.get(handler.getMethod());
+                if (route == null) {
+                    route = resolve(request, handler);
+                }
+                if (route != UNTRACKED) {
+                    route.record(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    private OperationLatency resolve(HttpServletRequest request, HandlerMethod handler) {
+        OperationLatency route = UNTRACKED;
+        if (handler.getBeanType().getPackageName().startsWith(controllerPackage)
+                && request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+            route = latencyRecorders.operation(request.getMethod() + " " + pattern);
+        }
+        OperationLatency existing = routes.putIfAbsent(handler.getMethod(), route);
+        return existing != null ? existing : route;
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.joenas.testingapp.limiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// adaptive concurrency limits for /api/employees, exposed as employee.api.concurrency.* metrics
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return registerMetrics(createLimiter("read", properties.read()), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                              MeterRegistry meterRegistry) {
+        return registerMetrics(createLimiter("write", properties.write()), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter readConcurrencyLimiter,
+            AdaptiveConcurrencyLimiter writeConcurrencyLimiter,
+            ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(readConcurrencyLimiter, writeConcurrencyLimiter, properties.retryAfter()));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        // shed load before any other filter does work for the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter createLimiter(String name, ConcurrencyLimitProperties.Budget budget) {
+        return new AdaptiveConcurrencyLimiter(name, budget.initialLimit(), budget.minLimit(), budget.maxLimit());
+    }
+
+    private static AdaptiveConcurrencyLimiter registerMetrics(AdaptiveConcurrencyLimiter limiter,
+                                                              MeterRegistry meterRegistry) {
+        Gauge.builder("employee.api.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("budget", limiter.getName())
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("employee.api.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("budget", limiter.getName())
+                .description("Requests currently being processed")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.api.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .tag("budget", limiter.getName())
+                .description("Requests rejected with 503 because the limit was reached")
+                .register(meterRegistry);
+        return limiter;
+    }
+}
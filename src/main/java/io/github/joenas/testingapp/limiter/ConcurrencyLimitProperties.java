@@ -0,0 +1,19 @@
+package io.github.joenas.testingapp.limiter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// bound from app.concurrency-limit.*, reads (GET/HEAD) and writes have separate budgets
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public record ConcurrencyLimitProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue Budget read,
+                                         @DefaultValue Budget write,
+                                         @DefaultValue("1s") Duration retryAfter) {
+
+    public record Budget(@DefaultValue("20") int initialLimit,
+                         @DefaultValue("4") int minLimit,
+                         @DefaultValue("200") int maxLimit) {
+    }
+}
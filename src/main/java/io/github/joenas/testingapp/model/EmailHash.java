@@ -0,0 +1,40 @@
+package io.github.joenas.testingapp.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+// Emails are compared case-insensitively and without surrounding whitespace. The first 8 bytes of the SHA-256
+// of the normalized address are stored as employees.email_hash: a fixed-width, indexable key that is stable
+// across JVMs and releases, so it must never change without a migration recomputing the column.
+public final class EmailHash {
+
+    private EmailHash() {
+    }
+
+    public static String normalize(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    public static long of(String email) {
+        byte[] digest = sha256().digest(normalize(email).getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    public static boolean sameAddress(String email, String other) {
+        return normalize(email).equals(normalize(other));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+    }
+}
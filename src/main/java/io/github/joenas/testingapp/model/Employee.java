@@ -2,6 +2,8 @@ package io.github.joenas.testingapp.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
@@ -10,6 +12,9 @@ import lombok.*;
 @Builder
 @Entity
 @Table(name = "employees")
+// second-level cache region sized in ehcache.xml, READ_WRITE keeps it consistent with concurrent updates
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
 public class Employee {
     @Id
     @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
@@ -20,5 +25,17 @@ public class Employee {
     private String lastName;
     @Column(nullable = false)
     private String email;
+    // see EmailHash, kept in sync with email on every insert and update
+    @Column(name = "email_hash", nullable = false)
+    private long emailHash;
+    // incremented by every update, an update of an older version fails instead of overwriting a newer one
+    @Version
+    private long version;
+
+    @PrePersist
+    @PreUpdate
+    void computeEmailHash() {
+        emailHash = EmailHash.of(email);
+    }
 
 }
@@ -0,0 +1,7 @@
+package io.github.joenas.testingapp.pool;
+
+// One look at the connection pool: the connections in use and the threads waiting for one at that moment, and the
+// cumulative borrow count, time connections were held and time spent waiting for them since the pool started.
+public record PoolSample(long timeNanos, int maxPoolSize, int active, int pending, long borrows, long usageNanos,
+                         long acquireNanos) {
+}
@@ -0,0 +1,7 @@
+package io.github.joenas.testingapp.pool;
+
+// the recommendation of the poolsizing endpoint and the measurements it is based on
+public record PoolSizingAdvice(int maxPoolSize, int recommendedPoolSize, String reason, int samples,
+                               double borrowsPerSecond, double meanUsageMillis, double meanAcquireMillis,
+                               double meanBusyConnections, int peakDemand, double waitingShare) {
+}
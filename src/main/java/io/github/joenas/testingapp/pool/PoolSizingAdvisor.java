@@ -0,0 +1,89 @@
+package io.github.joenas.testingapp.pool;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+// Recommends a maximum pool size from two views of the same demand:
+// - by Little's law, borrows per second times the mean time a connection is held is the number of connections
+//   busy on average, which should stay below the target utilization of the pool;
+// - the sampled concurrency, connections in use plus threads waiting for one, whose 99th percentile the pool
+//   should cover without queueing.
+// Hikari records the hold time in whole milliseconds, so with sub-millisecond queries the sampled concurrency is
+// the better guide. More connections only help while the database has capacity left, a growing hold time at a
+// larger pool means it has not.
+public class PoolSizingAdvisor {
+
+    private final Supplier<PoolSample> sampler;
+    private final long windowNanos;
+    private final double targetUtilization;
+    private final int minPoolSize;
+    private final Deque<PoolSample> samples = new ArrayDeque<>();
+
+    public PoolSizingAdvisor(Supplier<PoolSample> sampler, Duration window, double targetUtilization,
+                             int minPoolSize) {
+        this.sampler = sampler;
+        this.windowNanos = window.toNanos();
+        this.targetUtilization = targetUtilization;
+        this.minPoolSize = minPoolSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.pool-sizing.sample-interval:PT1S}")
+    public void sample() {
+        add(sampler.get());
+    }
+
+    synchronized void add(PoolSample sample) {
+        samples.addLast(sample);
+        while (sample.timeNanos() - samples.getFirst().timeNanos() > windowNanos) {
+            samples.removeFirst();
+        }
+    }
+
+    public synchronized PoolSizingAdvice advice() {
+        if (samples.size() < 2) {
+            int maxPoolSize = samples.isEmpty() ? 0 : samples.getLast().maxPoolSize();
+            return new PoolSizingAdvice(maxPoolSize, maxPoolSize, "not enough samples yet", samples.size(),
+                    0, 0, 0, 0, 0, 0);
+        }
+        PoolSample first = samples.getFirst();
+        PoolSample last = samples.getLast();
+        long elapsedNanos = last.timeNanos() - first.timeNanos();
+        long borrows = last.borrows() - first.borrows();
+        long usageNanos = last.usageNanos() - first.usageNanos();
+        long acquireNanos = last.acquireNanos() - first.acquireNanos();
+
+        double borrowsPerSecond = borrows * 1e9 / elapsedNanos;
+        double meanUsageMillis = borrows == 0 ? 0 : usageNanos / 1e6 / borrows;
+        double meanAcquireMillis = borrows == 0 ? 0 : acquireNanos / 1e6 / borrows;
+        double meanBusyConnections = (double) usageNanos / elapsedNanos;
+
+        int[] demand = samples.stream().mapToInt(sample -> sample.active() + sample.pending()).sorted().toArray();
+        int peakDemand = demand[(int) Math.ceil(0.99 * demand.length) - 1];
+        long waiting = samples.stream().filter(sample -> sample.pending() > 0).count();
+        double waitingShare = (double) waiting / samples.size();
+
+        int recommended = Math.max(minPoolSize,
+                Math.max(peakDemand, (int) Math.ceil(meanBusyConnections / targetUtilization)));
+        return new PoolSizingAdvice(last.maxPoolSize(), recommended,
+                reason(last.maxPoolSize(), recommended, peakDemand, meanBusyConnections, waitingShare, demand),
+                samples.size(), borrowsPerSecond, meanUsageMillis, meanAcquireMillis, meanBusyConnections,
+                peakDemand, waitingShare);
+    }
+
+    private static String reason(int maxPoolSize, int recommended, int peakDemand, double meanBusyConnections,
+                                 double waitingShare, int[] demand) {
+        if (waitingShare > 0) {
+            return String.format("threads waited for a connection in %.1f%% of the samples, %d connections were"
+                    + " needed at once", waitingShare * 100, peakDemand);
+        }
+        if (recommended < maxPoolSize) {
+            return String.format("at most %d of %d connections were in use at once, %.2f on average",
+                    demand[demand.length - 1], maxPoolSize, meanBusyConnections);
+        }
+        return "the pool covers the observed demand";
+    }
+}
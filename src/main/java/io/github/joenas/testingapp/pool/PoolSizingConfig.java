@@ -0,0 +1,70 @@
+package io.github.joenas.testingapp.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Pool size recommendations with app.pool-sizing.enabled=true, reported by the poolsizing actuator endpoint.
+// Samples the Hikari pool and the hikaricp.connections.usage and .acquire timers Spring Boot registers for it.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.pool-sizing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PoolSizingProperties.class)
+public class PoolSizingConfig {
+
+    // the DataSource may be wrapped by DeadlineDataSource or CountingDataSource, both unwrap to the pool
+    @Bean
+    public PoolSizingAdvisor poolSizingAdvisor(DataSource dataSource, MeterRegistry meterRegistry,
+                                               PoolSizingProperties properties) throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            throw new IllegalStateException("app.pool-sizing needs a Hikari connection pool");
+        }
+        return new PoolSizingAdvisor(new HikariPoolSampler(dataSource.unwrap(HikariDataSource.class), meterRegistry),
+                properties.window(), properties.targetUtilization(), properties.minPoolSize());
+    }
+
+    @Bean
+    public PoolSizingEndpoint poolSizingEndpoint(PoolSizingAdvisor poolSizingAdvisor) {
+        return new PoolSizingEndpoint(poolSizingAdvisor);
+    }
+
+    static class HikariPoolSampler implements Supplier<PoolSample> {
+
+        private final HikariDataSource hikariDataSource;
+        private final MeterRegistry meterRegistry;
+
+        HikariPoolSampler(HikariDataSource hikariDataSource, MeterRegistry meterRegistry) {
+            this.hikariDataSource = hikariDataSource;
+            this.meterRegistry = meterRegistry;
+        }
+
+        // an idle sample until the pool has been started by the first getConnection
+        @Override
+        public PoolSample get() {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return new PoolSample(System.nanoTime(), hikariDataSource.getMaximumPoolSize(), 0, 0, 0, 0, 0);
+            }
+            Timer usage = timer("hikaricp.connections.usage");
+            Timer acquire = timer("hikaricp.connections.acquire");
+            return new PoolSample(System.nanoTime(), hikariDataSource.getMaximumPoolSize(),
+                    pool.getActiveConnections(), pool.getThreadsAwaitingConnection(),
+                    usage == null ? 0 : usage.count(),
+                    usage == null ? 0 : (long) usage.totalTime(TimeUnit.NANOSECONDS),
+                    acquire == null ? 0 : (long) acquire.totalTime(TimeUnit.NANOSECONDS));
+        }
+
+        private Timer timer(String name) {
+            return meterRegistry.find(name).tag("pool", hikariDataSource.getPoolName()).timer();
+        }
+    }
+}
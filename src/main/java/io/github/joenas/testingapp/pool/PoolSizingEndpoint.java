@@ -0,0 +1,20 @@
+package io.github.joenas.testingapp.pool;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+// GET /actuator/poolsizing recommends a maximum pool size from the samples of the last window
+@Endpoint(id = "poolsizing")
+public class PoolSizingEndpoint {
+
+    private final PoolSizingAdvisor poolSizingAdvisor;
+
+    public PoolSizingEndpoint(PoolSizingAdvisor poolSizingAdvisor) {
+        this.poolSizingAdvisor = poolSizingAdvisor;
+    }
+
+    @ReadOperation
+    public PoolSizingAdvice advice() {
+        return poolSizingAdvisor.advice();
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.joenas.testingapp.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Bound from app.pool-sizing.*, sample-interval itself is read by the @Scheduled sampling. The recommendation
+// covers the samples of the last window and keeps the average number of busy connections at or below
+// target-utilization of the pool.
+@ConfigurationProperties(prefix = "app.pool-sizing")
+public record PoolSizingProperties(@DefaultValue("false") boolean enabled,
+                                   @DefaultValue("5m") Duration window,
+                                   @DefaultValue("0.75") double targetUtilization,
+                                   @DefaultValue("2") int minPoolSize) {
+}
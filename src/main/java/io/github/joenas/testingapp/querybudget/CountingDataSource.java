@@ -0,0 +1,89 @@
+package io.github.joenas.testingapp.querybudget;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Reports every executed statement and every row read to the QueryCounter. Connections, statements and result
+// sets are wrapped in JDK proxies which delegate everything else, so this is meant for non-prod profiles only.
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                new CountingHandler(target)));
+    }
+
+    private static class CountingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        CountingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // identity semantics, Hibernate keeps statements and result sets in hash maps
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (target instanceof Connection) {
+                return switch (method.getName()) {
+                    case "createStatement" -> wrap(Statement.class, (Statement) result);
+                    case "prepareStatement" -> wrap(PreparedStatement.class, (PreparedStatement) result);
+                    case "prepareCall" -> wrap(CallableStatement.class, (CallableStatement) result);
+                    default -> result;
+                };
+            }
+            if (target instanceof Statement) {
+                if (method.getName().startsWith("execute")) {
+                    QueryCounter.statementExecuted();
+                }
+                if (result instanceof ResultSet resultSet
+                        && (method.getName().equals("executeQuery") || method.getName().equals("getResultSet"))) {
+                    return wrap(ResultSet.class, resultSet);
+                }
+                return result;
+            }
+            if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                QueryCounter.rowRead();
+            }
+            return result;
+        }
+    }
+}
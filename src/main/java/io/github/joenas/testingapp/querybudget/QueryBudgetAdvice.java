@@ -0,0 +1,66 @@
+package io.github.joenas.testingapp.querybudget;
+
+import io.github.joenas.testingapp.controller.EmployeeController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// The handler is done but nothing is committed yet: the counts go into X-Query-Count and X-Query-Rows,
+// and a request over budget is logged or, with app.query-budget.action=FAIL, turned into a 500.
+// Picked up by component scanning like GlobalExceptionHandler, hence its own condition.
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+@ConditionalOnProperty(prefix = "app.query-budget", name = "enabled", havingValue = "true")
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetAdvice.class);
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_ROWS_HEADER = "X-Query-Rows";
+
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetAdvice(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(servletRequest.getServletRequest().getAttribute(QueryBudgetInterceptor.COUNT_ATTRIBUTE)
+                instanceof QueryCount count)) {
+            return body;
+        }
+        // set on the servlet response, so they survive into the error response of a failed budget
+        if (properties.headers() && response instanceof ServletServerHttpResponse servletResponse) {
+            servletResponse.getServletResponse().setHeader(QUERY_COUNT_HEADER, Integer.toString(count.getStatements()));
+            servletResponse.getServletResponse().setHeader(QUERY_ROWS_HEADER, Long.toString(count.getRows()));
+        }
+        if (!count.checked && properties.isExceededBy(count)) {
+            count.checked = true;
+            String message = request.getMethod() + " " + servletRequest.getServletRequest().getRequestURI()
+                    + " exceeded the query budget: " + count.getStatements() + " statements, "
+                    + count.getRows() + " rows";
+            if (properties.action() == QueryBudgetProperties.Action.FAIL) {
+                throw new QueryBudgetExceededException(message);
+            }
+            logger.warn(message);
+        }
+        count.checked = true;
+        return body;
+    }
+}
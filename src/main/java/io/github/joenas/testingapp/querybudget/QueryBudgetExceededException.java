@@ -0,0 +1,10 @@
+package io.github.joenas.testingapp.querybudget;
+
+// A request ran more statements or read more rows than app.query-budget allows, e.g. an N+1 select.
+// A programming error rather than a business error, so the stack trace is kept.
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
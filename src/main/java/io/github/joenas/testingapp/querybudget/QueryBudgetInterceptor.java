@@ -0,0 +1,44 @@
+package io.github.joenas.testingapp.querybudget;
+
+import io.github.joenas.testingapp.controller.EmployeeController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Counts the statements of every EmployeeController request, the budget is checked by QueryBudgetAdvice
+// before the body is written and here again for requests that never wrote one.
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+    static final String COUNT_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".count";
+
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetInterceptor(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.getBeanType() == EmployeeController.class) {
+            request.setAttribute(COUNT_ATTRIBUTE, QueryCounter.start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(COUNT_ATTRIBUTE) instanceof QueryCount count)) {
+            return;
+        }
+        QueryCounter.stop(count);
+        if (!count.checked && properties.isExceededBy(count)) {
+            logger.warn("{} {} exceeded the query budget: {} statements, {} rows", request.getMethod(),
+                    request.getRequestURI(), count.getStatements(), count.getRows());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.joenas.testingapp.querybudget;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// bound from app.query-budget.*, limits per EmployeeController request
+@ConfigurationProperties(prefix = "app.query-budget")
+public record QueryBudgetProperties(@DefaultValue("false") boolean enabled,
+                                    @DefaultValue("10") int maxStatements,
+                                    @DefaultValue("1000") long maxRows,
+                                    @DefaultValue("LOG") Action action,
+                                    @DefaultValue("true") boolean headers) {
+
+    public enum Action {
+        LOG, FAIL
+    }
+
+    boolean isExceededBy(QueryCount count) {
+        return count.getStatements() > maxStatements || count.getRows() > maxRows;
+    }
+}
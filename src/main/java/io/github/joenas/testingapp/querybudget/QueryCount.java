@@ -0,0 +1,23 @@
+package io.github.joenas.testingapp.querybudget;
+
+// statements executed and rows read on one thread while this count is open, see QueryCounter
+public final class QueryCount {
+
+    final QueryCount parent;
+    int statements;
+    long rows;
+    // the budget check already ran for this count
+    boolean checked;
+
+    QueryCount(QueryCount parent) {
+        this.parent = parent;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+}
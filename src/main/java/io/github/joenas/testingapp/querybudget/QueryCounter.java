@@ -0,0 +1,39 @@
+package io.github.joenas.testingapp.querybudget;
+
+// Thread-bound counts of the statements sent through a CountingDataSource. Counts can be nested, e.g. a test
+// counting around a whole MockMvc request, and every open count on the thread sees every statement.
+// A batch is one statement, rows are the ones read from result sets.
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static QueryCount start() {
+        QueryCount count = new QueryCount(CURRENT.get());
+        CURRENT.set(count);
+        return count;
+    }
+
+    // closes the count and every count started after it on this thread
+    public static void stop(QueryCount count) {
+        if (count.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(count.parent);
+        }
+    }
+
+    static void statementExecuted() {
+        for (QueryCount count = CURRENT.get(); count != null; count = count.parent) {
+            count.statements++;
+        }
+    }
+
+    static void rowRead() {
+        for (QueryCount count = CURRENT.get(); count != null; count = count.parent) {
+            count.rows++;
+        }
+    }
+}
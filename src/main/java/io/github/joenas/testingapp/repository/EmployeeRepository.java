@@ -1,24 +1,76 @@
 package io.github.joenas.testingapp.repository;
 
+import io.github.joenas.testingapp.model.EmailHash;
 import io.github.joenas.testingapp.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 //JpaRepository is internally annotated with @Repository, so we don't need to annotate EmployeeRepository with @Repository.
 // All methods defined here are also annotated with @Transactional, so we don't need to annotate them with @Transactional.
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
 
-    Optional<Employee> findByEmail(String email);
+    // results of the queries marked cacheable are kept in the Hibernate query cache until the table changes
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Employee> findByEmailHash(long emailHash);
+
+    // case and surrounding whitespace are ignored; an index lookup on the fixed-width hash,
+    // the emails are compared afterwards in case two addresses share a hash
+    default Optional<Employee> findByEmail(String email) {
+        return findByEmailHash(EmailHash.of(email)).stream()
+                .filter(employee -> EmailHash.sameAddress(employee.getEmail(), email))
+                .findFirst();
+    }
+
+    // keyset pagination over the primary key, used to walk the whole table page by page
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    // Set-based bulk operations on the domain part of the email, see EmployeeServiceImpl (the domain rewrite
+    // itself is in EmployeeRepositoryCustom).
+    // The ids are selected in keyset pages first, so every modifying statement only touches one bounded chunk.
+    @Query("select e.id from Employee e where substring(e.email, locate('@', e.email) + 1) = :domain"
+            + " and e.id > :afterId order by e.id")
+    List<Long> findIdsByEmailDomain(@Param("domain") String domain, @Param("afterId") long afterId, Limit limit);
+
+    // employees whose email would clash with an existing one after replacing the domain, compared like
+    // EmailHash.normalize since uk_employees_email_hash decides what is a duplicate
+    @Query("select count(e) from Employee e, Employee other"
+            + " where substring(e.email, locate('@', e.email) + 1) = :fromDomain and other.id <> e.id"
+            + " and lower(trim(other.email))"
+            + " = lower(trim(concat(substring(e.email, 1, locate('@', e.email)), :toDomain)))")
+    long countEmailDomainCollisions(@Param("fromDomain") String fromDomain, @Param("toDomain") String toDomain);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("delete from Employee e where e.id in :ids and substring(e.email, locate('@', e.email) + 1) = :domain")
+    int deleteByIdsAndEmailDomain(@Param("ids") Collection<Long> ids, @Param("domain") String domain);
+
+    @Query("select e.id from Employee e where e.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
     // define custom query using JPQL with index parameters
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Employee findByJPQL(String firstName, String lastName);
 
     // define custom query using JPQL with named parameters
     @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
     // define custom query using SQL with index params
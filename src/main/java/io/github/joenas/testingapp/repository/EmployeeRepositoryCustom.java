@@ -0,0 +1,11 @@
+package io.github.joenas.testingapp.repository;
+
+import java.util.Collection;
+
+// repository methods that need more than one statement, implemented in EmployeeRepositoryCustomImpl
+public interface EmployeeRepositoryCustom {
+
+    // Replaces the email domain of the given employees that still have it and returns how many did. The email
+    // hash is rewritten in the same transaction, so findByEmail finds the new addresses as soon as they commit.
+    int replaceEmailDomain(Collection<Long> ids, String fromDomain, String toDomain);
+}
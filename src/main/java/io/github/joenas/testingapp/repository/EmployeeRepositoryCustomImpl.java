@@ -0,0 +1,50 @@
+package io.github.joenas.testingapp.repository;
+
+import io.github.joenas.testingapp.model.EmailHash;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EmployeeRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The domain is replaced by one set-based JPQL update, which also invalidates the cached employees and queries.
+    // The hash cannot be computed in SQL, it follows as one JDBC batch on the same connection and transaction.
+    @Override
+    @Transactional
+    public int replaceEmailDomain(Collection<Long> ids, String fromDomain, String toDomain) {
+        entityManager.flush();
+        int updated = entityManager.createQuery("update Employee e"
+                        + " set e.email = concat(substring(e.email, 1, locate('@', e.email)), :toDomain),"
+                        + " e.version = e.version + 1"
+                        + " where e.id in :ids and substring(e.email, locate('@', e.email) + 1) = :fromDomain")
+                .setParameter("ids", ids)
+                .setParameter("fromDomain", fromDomain)
+                .setParameter("toDomain", toDomain)
+                .executeUpdate();
+        entityManager.clear();
+        if (updated == 0) {
+            return 0;
+        }
+        List<Object[]> hashes = entityManager.createQuery(
+                        "select e.id, e.email from Employee e where e.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .map(row -> new Object[]{EmailHash.of((String) row[1]), row[0]})
+                .toList();
+        jdbcTemplate.batchUpdate("update employees set email_hash = ? where id = ?", hashes);
+        return updated;
+    }
+}
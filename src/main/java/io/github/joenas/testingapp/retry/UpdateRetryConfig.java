@@ -0,0 +1,27 @@
+package io.github.joenas.testingapp.retry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// retries of employee updates that lost an optimistic locking race, see EmployeeServiceImpl.updateEmployee.
+// Counted as employee.update.retries and, for those given up with 409, employee.update.conflicts.
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(UpdateRetryProperties.class)
+public class UpdateRetryConfig {
+
+    @Bean
+    public UpdateRetryPolicy updateRetryPolicy(UpdateRetryProperties properties, MeterRegistry meterRegistry) {
+        UpdateRetryPolicy policy = new UpdateRetryPolicy(properties.maxAttempts(), properties.initialBackoff(),
+                properties.maxBackoff());
+        FunctionCounter.builder("employee.update.retries", policy, UpdateRetryPolicy::getRetries)
+                .description("Employee updates tried again after a concurrent update of the same employee")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.update.conflicts", policy, UpdateRetryPolicy::getExhausted)
+                .description("Employee updates given up after losing every attempt to concurrent updates")
+                .register(meterRegistry);
+        return policy;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.joenas.testingapp.retry;
+
+import io.github.joenas.testingapp.deadline.Deadline;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decides whether an update that lost an optimistic locking race is tried again, and waits before it does.
+// The wait is random ("full jitter") so that writers colliding on the same row spread out instead of
+// colliding again in lockstep. Gives up early rather than sleeping past the request deadline.
+public class UpdateRetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public UpdateRetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    }
+
+    // called after the given number of attempts failed, returns false if there is to be no further attempt
+    public boolean backOff(int failedAttempts) {
+        if (failedAttempts >= maxAttempts) {
+            exhausted.increment();
+            return false;
+        }
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(failedAttempts - 1, 30));
+        long backoff = ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.remainingMillis() <= TimeUnit.NANOSECONDS.toMillis(backoff)) {
+            exhausted.increment();
+            return false;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exhausted.increment();
+            return false;
+        }
+        retries.increment();
+        return true;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+}
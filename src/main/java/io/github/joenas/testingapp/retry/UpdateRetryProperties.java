@@ -0,0 +1,14 @@
+package io.github.joenas.testingapp.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Bound from app.update-retry.*. max-attempts includes the first one, the backoff before every further attempt
+// is a random duration up to initial-backoff doubled per attempt and capped at max-backoff.
+@ConfigurationProperties(prefix = "app.update-retry")
+public record UpdateRetryProperties(@DefaultValue("5") int maxAttempts,
+                                    @DefaultValue("5ms") Duration initialBackoff,
+                                    @DefaultValue("100ms") Duration maxBackoff) {
+}
@@ -0,0 +1,24 @@
+package io.github.joenas.testingapp.service;
+
+import io.github.joenas.testingapp.model.Employee;
+
+// Published by the EmployeeService implementations after a mutation has been committed,
+// caches and derived views listen to it to stay consistent with the database.
+public record EmployeeChangedEvent(ChangeType type, long id, Employee employee) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(ChangeType.CREATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee) {
+        return new EmployeeChangedEvent(ChangeType.UPDATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChangedEvent deleted(long id) {
+        return new EmployeeChangedEvent(ChangeType.DELETED, id, null);
+    }
+}
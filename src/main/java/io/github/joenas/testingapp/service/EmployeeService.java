@@ -1,9 +1,16 @@
 package io.github.joenas.testingapp.service;
 
+import io.github.joenas.testingapp.exception.ResourceConflictException;
 import io.github.joenas.testingapp.model.Employee;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
@@ -11,4 +18,81 @@ public interface EmployeeService {
     Optional<Employee> getEmployeeById(long id);
     Employee updateEmployee(Employee employee);
     void deleteEmployee(long id);
+
+    // Applies the changes to the current version of the employee and saves it, empty if there is no such employee.
+    // The changes must only set fields, EmployeeServiceImpl applies them again if a concurrent update got there first.
+    default Optional<Employee> updateEmployee(long id, Consumer<Employee> changes) {
+        return getEmployeeById(id).map(employee -> {
+            changes.accept(employee);
+            return updateEmployee(employee);
+        });
+    }
+
+    // Bulk operations, each returns the number of affected employees. This fallback goes row by row through
+    // the single-employee methods, EmployeeServiceImpl overrides them with set-based statements.
+    default int replaceEmailDomain(String fromDomain, String toDomain) {
+        List<Employee> matching = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        forEachEmployee(employee -> {
+            emails.add(employee.getEmail());
+            if (fromDomain.equals(emailDomain(employee.getEmail()))) {
+                matching.add(employee);
+            }
+        });
+        for (Employee employee : matching) {
+            if (emails.contains(emailLocalPart(employee.getEmail()) + "@" + toDomain)) {
+                throw new ResourceConflictException("Replacing the email domain would duplicate: "
+                        + emailLocalPart(employee.getEmail()) + "@" + toDomain);
+            }
+        }
+        for (Employee employee : matching) {
+            employee.setEmail(emailLocalPart(employee.getEmail()) + "@" + toDomain);
+            updateEmployee(employee);
+        }
+        return matching.size();
+    }
+
+    default int deleteEmployees(Collection<Long> ids) {
+        int deleted = 0;
+        for (long id : new LinkedHashSet<>(ids)) {
+            if (getEmployeeById(id).isPresent()) {
+                deleteEmployee(id);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    default int deleteEmployeesByEmailDomain(String domain) {
+        List<Long> ids = new ArrayList<>();
+        forEachEmployee(employee -> {
+            if (domain.equals(emailDomain(employee.getEmail()))) {
+                ids.add(employee.getId());
+            }
+        });
+        ids.forEach(this::deleteEmployee);
+        return ids.size();
+    }
+
+    // passes all employees ordered by id to the action without materializing the full list where possible
+    default void forEachEmployee(Consumer<Employee> action) {
+        getAllEmployees().forEach(action);
+    }
+
+    // like forEachEmployee, restricted to employees with an id greater than lastId
+    default void forEachEmployeeAfter(long lastId, Consumer<Employee> action) {
+        forEachEmployee(employee -> {
+            if (employee.getId() > lastId) {
+                action.accept(employee);
+            }
+        });
+    }
+
+    private static String emailDomain(String email) {
+        return email.substring(email.indexOf('@') + 1);
+    }
+
+    private static String emailLocalPart(String email) {
+        return email.substring(0, Math.max(0, email.indexOf('@')));
+    }
 }
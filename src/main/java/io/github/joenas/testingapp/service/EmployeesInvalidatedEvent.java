@@ -0,0 +1,16 @@
+package io.github.joenas.testingapp.service;
+
+import java.util.Set;
+
+// Published when employees were changed outside this instance, e.g. by another node sharing the database.
+// Only the ids are known, caches have to drop or reload them; all=true means every cached employee is suspect.
+public record EmployeesInvalidatedEvent(Set<Long> ids, boolean all) {
+
+    public static EmployeesInvalidatedEvent of(Set<Long> ids) {
+        return new EmployeesInvalidatedEvent(Set.copyOf(ids), false);
+    }
+
+    public static EmployeesInvalidatedEvent everything() {
+        return new EmployeesInvalidatedEvent(Set.of(), true);
+    }
+}
@@ -1,55 +1,294 @@
 package io.github.joenas.testingapp.service.impl;
 
-import io.github.joenas.testingapp.exception.ResourceNotFoundException;
+import io.github.joenas.testingapp.changelog.ChangeLogWriter;
+import io.github.joenas.testingapp.deadline.RepositoryDeadlines;
+import io.github.joenas.testingapp.emailfilter.KnownEmailFilter;
+import io.github.joenas.testingapp.exception.ResourceConflictException;
 import io.github.joenas.testingapp.model.Employee;
 import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.retry.UpdateRetryPolicy;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent.ChangeType;
 import io.github.joenas.testingapp.service.EmployeeService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int EXPORT_PAGE_SIZE = 1000;
+    // rows per bulk statement, small enough to keep row locks and undo short
+    static final int BULK_CHUNK_SIZE = 500;
+    static final String EMAIL_HASH_UNIQUE_KEY = "uk_employees_email_hash";
+
     // given the EmployeeServiceImpl depends on EmployeeRepository one needs to Mock the Repository during testing
     // this happens using the Mockito library.
     EmployeeRepository employeeRepository;
 
+    // notifies caches about committed mutations, see EmployeeChangedEvent
+    ApplicationEventPublisher eventPublisher;
+
+    // optional, only present with app.email-filter.enabled=true
+    KnownEmailFilter knownEmailFilter;
+
+    // optional, only present with app.deadline.enabled=true
+    RepositoryDeadlines repositoryDeadlines;
+
+    // optional, without it an update that lost to a concurrent one is not tried again
+    UpdateRetryPolicy updateRetryPolicy;
+
+    // optional, only present with app.change-log.enabled=true
+    ChangeLogWriter changeLogWriter;
+
     // constructor based dependency injection
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Autowired(required = false)
+    public void setKnownEmailFilter(KnownEmailFilter knownEmailFilter) {
+        this.knownEmailFilter = knownEmailFilter;
+    }
+
+    @Autowired(required = false)
+    public void setRepositoryDeadlines(RepositoryDeadlines repositoryDeadlines) {
+        this.repositoryDeadlines = repositoryDeadlines;
+    }
+
+    @Autowired(required = false)
+    public void setUpdateRetryPolicy(UpdateRetryPolicy updateRetryPolicy) {
+        this.updateRetryPolicy = updateRetryPolicy;
+    }
+
+    @Autowired(required = false)
+    public void setChangeLogWriter(ChangeLogWriter changeLogWriter) {
+        this.changeLogWriter = changeLogWriter;
+    }
+
+    // every repository call runs within the remaining request deadline, see RepositoryDeadlines
+    private <T> T repository(String method, Supplier<T> call) {
+        return repositoryDeadlines == null ? call.get() : repositoryDeadlines.call(method, call);
+    }
+
+    // a mutation commits together with its change log rows, so other instances cannot miss it
+    private <T> T mutation(String method, ChangeType type, Supplier<T> call,
+                           Function<T, Collection<Long>> changedIds) {
+        return repository(method, changeLogWriter == null ? call
+                : () -> changeLogWriter.inTransaction(type, call, changedIds));
     }
 
     @Override
     public Employee saveEmployee(Employee employee) {
 
-        //Store only employees with unique emails
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(savedEmployee.isPresent()){
-            throw  new ResourceNotFoundException("Employee already exists with email: " + employee.getEmail());
+        //Store only employees with unique emails, certainly new ones need no query
+        if (knownEmailFilter == null || knownEmailFilter.mightExist(employee.getEmail())) {
+            Optional<Employee> savedEmployee =
+                    repository("findByEmail", () -> employeeRepository.findByEmail(employee.getEmail()));
+            if(savedEmployee.isPresent()){
+                throw new ResourceConflictException("Employee already exists with email: " + employee.getEmail());
+            }
+            if (knownEmailFilter != null) {
+                knownEmailFilter.recordFalsePositive();
+            }
+        }
+        Employee createdEmployee;
+        try {
+            createdEmployee = mutation("save", ChangeType.CREATED, () -> employeeRepository.save(employee),
+                    saved -> List.of(saved.getId()));
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateEmailOr(e, "Employee already exists with email: " + employee.getEmail());
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(createdEmployee));
+        return createdEmployee;
+    }
+
+    // Two requests with the same email can both pass the duplicate check, the unique email hash (V9) then rejects
+    // the second one. Other integrity violations are not the client's conflict and are passed on.
+    // JPA reports the constraint by name, a JdbcTemplate statement only in the driver's message.
+    private static RuntimeException duplicateEmailOr(DataIntegrityViolationException e, String conflictMessage) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String constraint = cause instanceof ConstraintViolationException violation ? violation.getConstraintName()
+                    : cause instanceof SQLException ? cause.getMessage() : null;
+            if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains(EMAIL_HASH_UNIQUE_KEY)) {
+                return new ResourceConflictException(conflictMessage, e);
+            }
         }
-        return employeeRepository.save(employee);
+        return e;
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        return repository("findAll", employeeRepository::findAll);
     }
 
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        return repository("findById", () -> employeeRepository.findById(id));
     }
 
+    // the employee carries the version it was read with, if it has been updated since nothing is overwritten
     @Override
     public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee updatedEmployee;
+        try {
+            updatedEmployee = mutation("save", ChangeType.UPDATED, () -> employeeRepository.save(employee),
+                    saved -> List.of(saved.getId()));
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResourceConflictException("Employee " + employee.getId()
+                    + " has been changed or deleted since it was read", e);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateEmailOr(e, "Employee already exists with email: " + employee.getEmail());
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(updatedEmployee));
+        return updatedEmployee;
+    }
+
+    // Optimistic read-modify-write: an attempt that lost to a concurrent update reads the new version and
+    // applies the changes again, until the retry policy gives up with 409. No row lock is held in between.
+    @Override
+    public Optional<Employee> updateEmployee(long id, Consumer<Employee> changes) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<Employee> current = repository("findById", () -> employeeRepository.findById(id));
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            Employee employee = current.get();
+            changes.accept(employee);
+            try {
+                Employee updatedEmployee = mutation("save", ChangeType.UPDATED,
+                        () -> employeeRepository.save(employee), saved -> List.of(saved.getId()));
+                eventPublisher.publishEvent(EmployeeChangedEvent.updated(updatedEmployee));
+                return Optional.of(updatedEmployee);
+            } catch (OptimisticLockingFailureException e) {
+                if (updateRetryPolicy == null || !updateRetryPolicy.backOff(attempt)) {
+                    throw new ResourceConflictException("Employee " + id + " kept being changed concurrently, "
+                            + "update given up after " + attempt + " attempt(s)", e);
+                }
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateEmailOr(e, "Employee already exists with email: " + employee.getEmail());
+            }
+        }
     }
 
     @Override
     public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+        mutation("deleteById", ChangeType.DELETED, () -> {
+            employeeRepository.deleteById(id);
+            return null;
+        }, deleted -> List.of(id));
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+    }
+
+    // Bulk operations: the matching ids are selected in keyset chunks and every chunk is one set-based
+    // statement in its own transaction. Caches are told about every affected row after each chunk.
+    @Override
+    public int replaceEmailDomain(String fromDomain, String toDomain) {
+        long collisions = repository("countEmailDomainCollisions",
+                () -> employeeRepository.countEmailDomainCollisions(fromDomain, toDomain));
+        if (collisions > 0) {
+            throw new ResourceConflictException("Replacing the email domain " + fromDomain + " with " + toDomain
+                    + " would duplicate " + collisions + " email(s)");
+        }
+        int updated = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            long afterId = lastId;
+            ids = repository("findIdsByEmailDomain",
+                    () -> employeeRepository.findIdsByEmailDomain(fromDomain, afterId, Limit.of(BULK_CHUNK_SIZE)));
+            if (!ids.isEmpty()) {
+                List<Long> chunk = ids;
+                try {
+                    updated += mutation("replaceEmailDomain", ChangeType.UPDATED,
+                            () -> employeeRepository.replaceEmailDomain(chunk, fromDomain, toDomain), count -> chunk);
+                } catch (DataIntegrityViolationException e) {
+                    // an employee created in the target domain after the collision check
+                    throw duplicateEmailOr(e, "Replacing the email domain " + fromDomain + " with " + toDomain
+                            + " would duplicate an email, " + updated + " email(s) were already replaced");
+                }
+                repository("findAllById", () -> employeeRepository.findAllById(chunk))
+                        .forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee)));
+                lastId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == BULK_CHUNK_SIZE);
+        return updated;
+    }
+
+    @Override
+    public int deleteEmployees(Collection<Long> ids) {
+        int deleted = 0;
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+            deleted += mutation("deleteByIds", ChangeType.DELETED, () -> employeeRepository.deleteByIds(chunk),
+                    count -> chunk);
+            chunk.forEach(id -> eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id)));
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteEmployeesByEmailDomain(String domain) {
+        int deleted = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            long afterId = lastId;
+            ids = repository("findIdsByEmailDomain",
+                    () -> employeeRepository.findIdsByEmailDomain(domain, afterId, Limit.of(BULK_CHUNK_SIZE)));
+            if (!ids.isEmpty()) {
+                List<Long> chunk = ids;
+                deleted += mutation("deleteByIdsAndEmailDomain", ChangeType.DELETED,
+                        () -> employeeRepository.deleteByIdsAndEmailDomain(chunk, domain), count -> chunk);
+                // rows whose email changed in the meantime were kept, only report the ones that are gone
+                Set<Long> remaining = new HashSet<>(
+                        repository("findExistingIds", () -> employeeRepository.findExistingIds(chunk)));
+                ids.stream()
+                        .filter(id -> !remaining.contains(id))
+                        .forEach(id -> eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id)));
+                lastId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == BULK_CHUNK_SIZE);
+        return deleted;
+    }
+
+    // keyset pagination: every page is a short index range scan in its own transaction,
+    // so a large export neither holds a connection nor grows a persistence context
+    @Override
+    public void forEachEmployee(Consumer<Employee> action) {
+        forEachEmployeeAfter(0, action);
+    }
+
+    @Override
+    public void forEachEmployeeAfter(long lastId, Consumer<Employee> action) {
+        List<Employee> page;
+        do {
+            long afterId = lastId;
+            page = repository("findByIdGreaterThanOrderByIdAsc",
+                    () -> employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(EXPORT_PAGE_SIZE)));
+            page.forEach(action);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
     }
 
 
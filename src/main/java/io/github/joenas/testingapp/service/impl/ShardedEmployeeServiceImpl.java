@@ -0,0 +1,178 @@
+package io.github.joenas.testingapp.service.impl;
+
+import io.github.joenas.testingapp.changelog.ChangeLogWriter;
+import io.github.joenas.testingapp.exception.ResourceConflictException;
+import io.github.joenas.testingapp.exception.ResourceNotFoundException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.sharding.EmployeeShard;
+import io.github.joenas.testingapp.sharding.ShardIdAllocator;
+import io.github.joenas.testingapp.sharding.ShardRouter;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// EmployeeService partitioning the employees over several databases by a hash of the id.
+// Point operations go to exactly one shard, list and email lookups are sent to all shards in parallel.
+// Registered by ShardingConfig when app.sharding.enabled=true.
+public class ShardedEmployeeServiceImpl implements EmployeeService {
+
+    private final List<EmployeeShard> shards;
+    private final ShardRouter shardRouter;
+    private final ShardIdAllocator idAllocator;
+    private final ExecutorService executor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // optional, the shards cannot share a transaction with the change log, so changes are logged afterwards
+    private ChangeLogWriter changeLogWriter;
+
+    public ShardedEmployeeServiceImpl(List<EmployeeShard> shards, ShardRouter shardRouter,
+                                      ShardIdAllocator idAllocator, ExecutorService executor,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.shards = List.copyOf(shards);
+        this.shardRouter = shardRouter;
+        this.idAllocator = idAllocator;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void setChangeLogWriter(ChangeLogWriter changeLogWriter) {
+        this.changeLogWriter = changeLogWriter;
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+
+        //Store only employees with unique emails, the email can live on any shard
+        Optional<Employee> savedEmployee = findByEmail(employee.getEmail());
+        if (savedEmployee.isPresent()) {
+            throw new ResourceConflictException("Employee already exists with email: " + employee.getEmail());
+        }
+        employee.setId(idAllocator.nextId());
+        shardFor(employee.getId()).insert(employee);
+        logChange(EmployeeChangedEvent.ChangeType.CREATED, employee.getId());
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(employee));
+        return employee;
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return mergeById(scatter(EmployeeShard::findAllOrderById));
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(long id) {
+        return shardFor(id).findById(id);
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        if (shardFor(employee.getId()).update(employee) == 0) {
+            throw new ResourceNotFoundException("Employee not found with id: " + employee.getId());
+        }
+        logChange(EmployeeChangedEvent.ChangeType.UPDATED, employee.getId());
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee));
+        return employee;
+    }
+
+    // empty if the employee is missing or was deleted between reading and writing it
+    @Override
+    public Optional<Employee> updateEmployee(long id, Consumer<Employee> changes) {
+        EmployeeShard shard = shardFor(id);
+        return shard.findById(id).flatMap(employee -> {
+            changes.accept(employee);
+            if (shard.update(employee) == 0) {
+                return Optional.empty();
+            }
+            logChange(EmployeeChangedEvent.ChangeType.UPDATED, id);
+            eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee));
+            return Optional.of(employee);
+        });
+    }
+
+    @Override
+    public void deleteEmployee(long id) {
+        if (shardFor(id).deleteById(id) == 0) {
+            throw new ResourceNotFoundException("Employee not found with id: " + id);
+        }
+        logChange(EmployeeChangedEvent.ChangeType.DELETED, id);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+    }
+
+    private void logChange(EmployeeChangedEvent.ChangeType type, long id) {
+        if (changeLogWriter != null) {
+            changeLogWriter.record(type, id);
+        }
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        return scatter(shard -> shard.findByEmail(email)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    private EmployeeShard shardFor(long id) {
+        return shards.get(shardRouter.shardFor(id));
+    }
+
+    // runs the query on every shard in parallel and returns the results in shard order
+    private <T> List<T> scatter(Function<EmployeeShard, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (EmployeeShard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    // k-way merge of the per shard lists, each of them is already ordered by id
+    static List<Employee> mergeById(List<List<Employee>> sortedLists) {
+        int size = sortedLists.stream().mapToInt(List::size).sum();
+        List<Employee> merged = new ArrayList<>(size);
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparingLong(Cursor::currentId));
+        for (List<Employee> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor(list));
+            }
+        }
+        while (!heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.list.get(cursor.position++));
+            if (cursor.position < cursor.list.size()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor {
+        private final List<Employee> list;
+        private int position;
+
+        private Cursor(List<Employee> list) {
+            this.list = list;
+        }
+
+        private long currentId() {
+            return list.get(position).getId();
+        }
+    }
+}
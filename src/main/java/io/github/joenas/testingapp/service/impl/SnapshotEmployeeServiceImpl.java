@@ -0,0 +1,81 @@
+package io.github.joenas.testingapp.service.impl;
+
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.snapshot.EmployeeSnapshotStore;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// EmployeeService answering getEmployeeById and getAllEmployees from an in-memory EmployeeSnapshotStore.
+// Mutations and the streaming export go to the wrapped service, whose change events keep the snapshot current.
+// Wrapped around the injected EmployeeService by EmployeeSnapshotConfig when app.snapshot.enabled=true.
+public class SnapshotEmployeeServiceImpl implements EmployeeService {
+
+    private final EmployeeService delegate;
+    private final EmployeeSnapshotStore snapshotStore;
+
+    public SnapshotEmployeeServiceImpl(EmployeeService delegate, EmployeeSnapshotStore snapshotStore) {
+        this.delegate = delegate;
+        this.snapshotStore = snapshotStore;
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        return delegate.saveEmployee(employee);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return snapshotStore.isLoaded() ? snapshotStore.getAll() : delegate.getAllEmployees();
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(long id) {
+        return snapshotStore.isLoaded() ? snapshotStore.get(id) : delegate.getEmployeeById(id);
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        return delegate.updateEmployee(employee);
+    }
+
+    // the snapshot does not know the version of an employee, the delegate reads the current one
+    @Override
+    public Optional<Employee> updateEmployee(long id, Consumer<Employee> changes) {
+        return delegate.updateEmployee(id, changes);
+    }
+
+    @Override
+    public void deleteEmployee(long id) {
+        delegate.deleteEmployee(id);
+    }
+
+    @Override
+    public int replaceEmailDomain(String fromDomain, String toDomain) {
+        return delegate.replaceEmailDomain(fromDomain, toDomain);
+    }
+
+    @Override
+    public int deleteEmployees(Collection<Long> ids) {
+        return delegate.deleteEmployees(ids);
+    }
+
+    @Override
+    public int deleteEmployeesByEmailDomain(String domain) {
+        return delegate.deleteEmployeesByEmailDomain(domain);
+    }
+
+    // keeps the database backed paging of the delegate, materializing the whole snapshot would defeat it
+    @Override
+    public void forEachEmployee(Consumer<Employee> action) {
+        delegate.forEachEmployee(action);
+    }
+
+    @Override
+    public void forEachEmployeeAfter(long lastId, Consumer<Employee> action) {
+        delegate.forEachEmployeeAfter(lastId, action);
+    }
+}
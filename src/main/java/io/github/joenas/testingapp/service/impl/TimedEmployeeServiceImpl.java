@@ -0,0 +1,152 @@
+package io.github.joenas.testingapp.service.impl;
+
+import io.github.joenas.testingapp.latency.LatencyRecorders;
+import io.github.joenas.testingapp.latency.OperationLatency;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// EmployeeService recording the latency of every call of the wrapped service as "EmployeeService.<method>".
+// A plain decorator rather than an AOP proxy, so timing a call allocates nothing.
+// Wrapped around the injected EmployeeService by LatencyConfig when app.latency.enabled=true.
+public class TimedEmployeeServiceImpl implements EmployeeService {
+
+    private final EmployeeService delegate;
+    private final OperationLatency saveEmployee;
+    private final OperationLatency getAllEmployees;
+    private final OperationLatency getEmployeeById;
+    private final OperationLatency updateEmployee;
+    private final OperationLatency deleteEmployee;
+    private final OperationLatency replaceEmailDomain;
+    private final OperationLatency deleteEmployees;
+    private final OperationLatency deleteEmployeesByEmailDomain;
+    private final OperationLatency forEachEmployee;
+
+    public TimedEmployeeServiceImpl(EmployeeService delegate, LatencyRecorders latencyRecorders) {
+        this.delegate = delegate;
+        this.saveEmployee = latencyRecorders.operation("EmployeeService.saveEmployee");
+        this.getAllEmployees = latencyRecorders.operation("EmployeeService.getAllEmployees");
+        this.getEmployeeById = latencyRecorders.operation("EmployeeService.getEmployeeById");
+        this.updateEmployee = latencyRecorders.operation("EmployeeService.updateEmployee");
+        this.deleteEmployee = latencyRecorders.operation("EmployeeService.deleteEmployee");
+        this.replaceEmailDomain = latencyRecorders.operation("EmployeeService.replaceEmailDomain");
+        this.deleteEmployees = latencyRecorders.operation("EmployeeService.deleteEmployees");
+        this.deleteEmployeesByEmailDomain = latencyRecorders.operation("EmployeeService.deleteEmployeesByEmailDomain");
+        this.forEachEmployee = latencyRecorders.operation("EmployeeService.forEachEmployee");
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveEmployee(employee);
+        } finally {
+            saveEmployee.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllEmployees();
+        } finally {
+            getAllEmployees.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getEmployeeById(id);
+        } finally {
+            getEmployeeById.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateEmployee(employee);
+        } finally {
+            updateEmployee.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Optional<Employee> updateEmployee(long id, Consumer<Employee> changes) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateEmployee(id, changes);
+        } finally {
+            updateEmployee.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void deleteEmployee(long id) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteEmployee(id);
+        } finally {
+            deleteEmployee.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int replaceEmailDomain(String fromDomain, String toDomain) {
+        long start = System.nanoTime();
+        try {
+            return delegate.replaceEmailDomain(fromDomain, toDomain);
+        } finally {
+            replaceEmailDomain.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int deleteEmployees(Collection<Long> ids) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteEmployees(ids);
+        } finally {
+            deleteEmployees.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int deleteEmployeesByEmailDomain(String domain) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteEmployeesByEmailDomain(domain);
+        } finally {
+            deleteEmployeesByEmailDomain.record(System.nanoTime() - start);
+        }
+    }
+
+    // the time of the whole walk, including the work the action does per employee
+    @Override
+    public void forEachEmployee(Consumer<Employee> action) {
+        long start = System.nanoTime();
+        try {
+            delegate.forEachEmployee(action);
+        } finally {
+            forEachEmployee.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void forEachEmployeeAfter(long lastId, Consumer<Employee> action) {
+        long start = System.nanoTime();
+        try {
+            delegate.forEachEmployeeAfter(lastId, action);
+        } finally {
+            forEachEmployee.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.joenas.testingapp.sharding;
+
+import io.github.joenas.testingapp.model.Employee;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Optional;
+
+// plain JDBC access to the employees table of a single shard
+public class EmployeeShard {
+
+    private static final RowMapper<Employee> EMPLOYEE_ROW_MAPPER = (rs, rowNum) -> Employee.builder()
+            .id(rs.getLong("id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .email(rs.getString("email"))
+            .build();
+
+    private final int index;
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeShard(int index, JdbcTemplate jdbcTemplate) {
+        this.index = index;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public void insert(Employee employee) {
+        jdbcTemplate.update("insert into employees (id, first_name, last_name, email) values (?, ?, ?, ?)",
+                employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+
+    public int update(Employee employee) {
+        return jdbcTemplate.update("update employees set first_name = ?, last_name = ?, email = ? where id = ?",
+                employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getId());
+    }
+
+    public int deleteById(long id) {
+        return jdbcTemplate.update("delete from employees where id = ?", id);
+    }
+
+    public Optional<Employee> findById(long id) {
+        return jdbcTemplate.query("select * from employees where id = ?", EMPLOYEE_ROW_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        return jdbcTemplate.query("select * from employees where email = ?", EMPLOYEE_ROW_MAPPER, email)
+                .stream()
+                .findFirst();
+    }
+
+    // ordered by id so the results of all shards can be merged without re-sorting
+    public List<Employee> findAllOrderById() {
+        return jdbcTemplate.query("select * from employees order by id", EMPLOYEE_ROW_MAPPER);
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.joenas.testingapp.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// the connection pools of all shards, closed with the application context, see ShardingConfig
+public class ShardDataSources implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardDataSources.class);
+
+    private final List<DataSource> dataSources;
+
+    public ShardDataSources(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public List<DataSource> getDataSources() {
+        return dataSources;
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Closing a shard connection pool failed", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.joenas.testingapp.sharding;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Hands out globally unique ids for the sharded employees table.
+// Ids are reserved in blocks from the id_allocator row on the first shard, so the database
+// is only touched once every blockSize ids. Several app instances can share the same row,
+// the "update ... set next_id = next_id + ?" locks the row and serializes the reservations.
+public class ShardIdAllocator {
+
+    private static final String SEQUENCE_NAME = "employees";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    // guarded by this
+    private long next;
+    private long limit;
+
+    public ShardIdAllocator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Id block size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blockSize = blockSize;
+    }
+
+    public synchronized long nextId() {
+        if (next >= limit) {
+            next = reserveBlock();
+            limit = next + blockSize;
+        }
+        return next++;
+    }
+
+    private long reserveBlock() {
+        Long start = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update(
+                    "update id_allocator set next_id = next_id + ? where name = ?", blockSize, SEQUENCE_NAME);
+            if (updated == 0) {
+                // first reservation ever, ids start at 1 like the IDENTITY column of the single table
+                try {
+                    jdbcTemplate.update("insert into id_allocator (name, next_id) values (?, ?)",
+                            SEQUENCE_NAME, 1L + blockSize);
+                    return 1L;
+                } catch (DuplicateKeyException e) {
+                    // another instance created the row in the meantime
+                    jdbcTemplate.update(
+                            "update id_allocator set next_id = next_id + ? where name = ?", blockSize, SEQUENCE_NAME);
+                }
+            }
+            return jdbcTemplate.queryForObject(
+                    "select next_id from id_allocator where name = ?", Long.class, SEQUENCE_NAME) - blockSize;
+        });
+        return start;
+    }
+}
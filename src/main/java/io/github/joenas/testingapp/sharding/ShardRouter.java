@@ -0,0 +1,29 @@
+package io.github.joenas.testingapp.sharding;
+
+// maps an employee id onto one of the configured shards
+public class ShardRouter {
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardFor(long id) {
+        return Math.floorMod(mix(id), shardCount);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // murmur3 finalizer, spreads the block-allocated (and therefore sequential) ids evenly across shards
+    static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
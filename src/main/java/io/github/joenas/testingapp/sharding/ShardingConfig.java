@@ -0,0 +1,96 @@
+package io.github.joenas.testingapp.sharding;
+
+import io.github.joenas.testingapp.changelog.ChangeLogWriter;
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.service.impl.ShardedEmployeeServiceImpl;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Optional sharding layer: with app.sharding.enabled=true the EmployeeService is backed by
+// app.sharding.shards[n].url/username/password instead of the single JPA managed table.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    static final String SHARD_MIGRATIONS = "classpath:db/shard";
+
+    // a bean of its own, so the pools are closed on shutdown even if creating a later bean fails
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        if (properties.shards() == null || properties.shards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled is set but no app.sharding.shards are configured");
+        }
+        List<DataSource> dataSources = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            dataSources.add(DataSourceBuilder.create()
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build());
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    @Bean
+    public List<EmployeeShard> employeeShards(ShardDataSources shardDataSources) {
+        List<EmployeeShard> shards = new ArrayList<>();
+        for (DataSource dataSource : shardDataSources.getDataSources()) {
+            initializeSchema(dataSource);
+            shards.add(new EmployeeShard(shards.size(), new JdbcTemplate(dataSource)));
+        }
+        return shards;
+    }
+
+    @Bean
+    public ShardIdAllocator shardIdAllocator(List<EmployeeShard> employeeShards, ShardingProperties properties) {
+        // the allocator row always lives on the first shard
+        JdbcTemplate jdbcTemplate = employeeShards.get(0).getJdbcTemplate();
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        return new ShardIdAllocator(jdbcTemplate, transactionTemplate, properties.idBlockSize());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService shardQueryExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    @Primary
+    public EmployeeService shardedEmployeeService(List<EmployeeShard> employeeShards,
+                                                  ShardIdAllocator shardIdAllocator,
+                                                  ExecutorService shardQueryExecutor,
+                                                  ApplicationEventPublisher eventPublisher,
+                                                  ObjectProvider<ChangeLogWriter> changeLogWriter) {
+        ShardedEmployeeServiceImpl service = new ShardedEmployeeServiceImpl(employeeShards,
+                new ShardRouter(employeeShards.size()), shardIdAllocator, shardQueryExecutor, eventPublisher);
+        changeLogWriter.ifAvailable(service::setChangeLogWriter);
+        return service;
+    }
+
+    // every shard is migrated separately, Spring Boot's Flyway integration only covers the primary datasource
+    public static void initializeSchema(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(SHARD_MIGRATIONS)
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.joenas.testingapp.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+// bound from app.sharding.* - only active when app.sharding.enabled=true
+@ConfigurationProperties(prefix = "app.sharding")
+public record ShardingProperties(boolean enabled,
+                                 List<Shard> shards,
+                                 @DefaultValue("1000") int idBlockSize) {
+
+    public record Shard(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.joenas.testingapp.snapshot;
+
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.service.impl.SnapshotEmployeeServiceImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+// Read-mostly deployments: with app.snapshot.enabled=true single employee and list reads are served from memory,
+// exposed as employee.snapshot.* metrics. The snapshot is loaded when the EmployeeService is created, which
+// costs one full scan at startup (or on first use with lazy initialization). With app.snapshot.file set it is
+// written to that file on a clean shutdown, next to a marker, and the next start maps the file and only reads
+// employees above its high-water mark from the database. Updates and deletes cannot be caught up that way, so
+// without the marker - after a crash - the snapshot is loaded cold. Changes made by other instances while this
+// one was stopped are missed as well, the file is meant for single instance deployments.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.snapshot", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(EmployeeSnapshotProperties.class)
+public class EmployeeSnapshotConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSnapshotConfig.class);
+
+    @Bean
+    public EmployeeSnapshotStore employeeSnapshotStore(EmployeeSnapshotProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(properties.initialCapacity());
+        Gauge.builder("employee.snapshot.size", store, EmployeeSnapshotStore::size)
+                .description("Employees held in the in-memory snapshot")
+                .register(meterRegistry);
+        Gauge.builder("employee.snapshot.heap", store, EmployeeSnapshotStore::estimatedHeapBytes)
+                .baseUnit("bytes")
+                .description("Estimated heap footprint of the in-memory snapshot")
+                .register(meterRegistry);
+        return store;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.snapshot", name = "file")
+    public EmployeeSnapshotPersister employeeSnapshotPersister(EmployeeSnapshotStore employeeSnapshotStore,
+                                                               EmployeeSnapshotProperties properties) {
+        return new EmployeeSnapshotPersister(employeeSnapshotStore, properties.file());
+    }
+
+    // static and resolving its dependencies lazily, so creating the post processor does not initialize other beans early
+    @Bean
+    public static BeanPostProcessor employeeSnapshotPostProcessor(ObjectProvider<EmployeeSnapshotStore> snapshotStore,
+                                                                  ObjectProvider<EmployeeSnapshotProperties> properties) {
+        return new SnapshotWrapper(snapshotStore, properties);
+    }
+
+    static class EmployeeSnapshotPersister implements DisposableBean {
+
+        private final EmployeeSnapshotStore store;
+        private final Path file;
+
+        EmployeeSnapshotPersister(EmployeeSnapshotStore store, Path file) {
+            this.store = store;
+            this.file = file;
+        }
+
+        // the marker is only written once the snapshot holds every change made through this instance
+        @Override
+        public void destroy() {
+            if (!store.isLoaded()) {
+                return;
+            }
+            try {
+                EmployeeSnapshotFile.write(file, store);
+                Files.write(EmployeeSnapshotFile.cleanShutdownMarker(file), new byte[0]);
+            } catch (IOException e) {
+                logger.warn("Writing the employee snapshot to {} failed", file, e);
+            }
+        }
+    }
+
+    // wraps the EmployeeService that gets injected: the primary one, or the only one
+    static class SnapshotWrapper implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+        private final ObjectProvider<EmployeeSnapshotStore> snapshotStore;
+        private final ObjectProvider<EmployeeSnapshotProperties> properties;
+        private ConfigurableListableBeanFactory beanFactory;
+
+        SnapshotWrapper(ObjectProvider<EmployeeSnapshotStore> snapshotStore,
+                        ObjectProvider<EmployeeSnapshotProperties> properties) {
+            this.snapshotStore = snapshotStore;
+            this.properties = properties;
+        }
+
+        @Override
+        public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+            this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+        }
+
+        // innermost of the EmployeeService decorators, see LatencyConfig
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof EmployeeService employeeService) || !isInjectedService(beanName)) {
+                return bean;
+            }
+            EmployeeSnapshotStore store = snapshotStore.getObject();
+            load(store, employeeService, properties.getObject().file());
+            store.setSource(employeeService);
+            return new SnapshotEmployeeServiceImpl(employeeService, store);
+        }
+
+        static void load(EmployeeSnapshotStore store, EmployeeService employeeService, Path file) {
+            // removed before anything changes, so a crash of this run makes the next start a cold one
+            OptionalLong highWaterMark = file != null && removeCleanShutdownMarker(file)
+                    ? EmployeeSnapshotFile.read(file, store) : OptionalLong.empty();
+            if (highWaterMark.isPresent()) {
+                int warmSize = store.size();
+                employeeService.forEachEmployeeAfter(highWaterMark.getAsLong(), store::put);
+                logger.info("Warm started the employee snapshot with {} employees from {}, caught up {} more",
+                        warmSize, file, store.size() - warmSize);
+            } else {
+                store.load(employeeService::forEachEmployee);
+                logger.info("Loaded the employee snapshot with {} employees from the database", store.size());
+            }
+        }
+
+        private static boolean removeCleanShutdownMarker(Path file) {
+            try {
+                return Files.deleteIfExists(EmployeeSnapshotFile.cleanShutdownMarker(file));
+            } catch (IOException e) {
+                logger.warn("Removing the clean shutdown marker of {} failed, loading cold", file, e);
+                return false;
+            }
+        }
+
+        private boolean isInjectedService(String beanName) {
+            String[] candidates = beanFactory.getBeanNamesForType(EmployeeService.class, false, false);
+            return candidates.length == 1
+                    || beanFactory.containsBeanDefinition(beanName) && beanFactory.getMergedBeanDefinition(beanName).isPrimary();
+        }
+    }
+}
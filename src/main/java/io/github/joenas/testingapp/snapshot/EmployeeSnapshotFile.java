@@ -0,0 +1,113 @@
+package io.github.joenas.testingapp.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+// Versioned binary file holding an EmployeeSnapshotStore, so a restart can warm up without a full database scan.
+// Layout: magic, format version, high-water mark id, payload length and CRC32C of the payload, then the payload
+// written by EmployeeSnapshotStore.writeTo. Files are replaced atomically and read back through a memory mapping.
+public final class EmployeeSnapshotFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSnapshotFile.class);
+
+    static final int MAGIC = 0x454D5053; // "EMPS"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+
+    private EmployeeSnapshotFile() {
+    }
+
+    // present only while the file holds everything written before a clean shutdown
+    public static Path cleanShutdownMarker(Path file) {
+        return file.resolveSibling(file.getFileName() + ".clean");
+    }
+
+    // written next to the target first and moved over it, readers never see a partially written file
+    public static void write(Path file, EmployeeSnapshotStore store) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_BYTES);
+                CRC32C checksum = new CRC32C();
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(Channels.newOutputStream(channel), checksum), 1 << 16));
+                long highWaterMark = store.writeTo(out);
+                out.flush();
+                long payloadLength = channel.position() - HEADER_BYTES;
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(highWaterMark)
+                        .putLong(payloadLength)
+                        .putLong(checksum.getValue())
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    // Loads the store from the file and returns its high-water mark. A missing, truncated, corrupt or
+    // incompatible file yields an empty result and the caller falls back to a cold load from the database.
+    public static OptionalLong read(Path file, EmployeeSnapshotStore store) {
+        if (!Files.isRegularFile(file)) {
+            return OptionalLong.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IllegalArgumentException("File is shorter than the snapshot header");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not an employee snapshot");
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot format version " + formatVersion);
+            }
+            long highWaterMark = buffer.getLong();
+            long payloadLength = buffer.getLong();
+            long expectedChecksum = buffer.getLong();
+            if (payloadLength != channel.size() - HEADER_BYTES) {
+                throw new IllegalArgumentException("Payload length does not match the file size");
+            }
+
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice());
+            if (checksum.getValue() != expectedChecksum) {
+                throw new IllegalArgumentException("Checksum mismatch");
+            }
+            store.readFrom(buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after the snapshot payload");
+            }
+            return OptionalLong.of(highWaterMark);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring employee snapshot {}: {}", file, e.toString());
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.joenas.testingapp.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+// bound from app.snapshot.*, the initial capacity avoids regrowing the columns while loading large tables,
+// file (optional) is where the snapshot is persisted for warm restarts
+@ConfigurationProperties(prefix = "app.snapshot")
+public record EmployeeSnapshotProperties(@DefaultValue("false") boolean enabled,
+                                         @DefaultValue("1024") int initialCapacity,
+                                         Path file) {
+}
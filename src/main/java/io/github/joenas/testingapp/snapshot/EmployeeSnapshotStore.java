@@ -0,0 +1,278 @@
+package io.github.joenas.testingapp.snapshot;
+
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.service.EmployeesInvalidatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// In-memory copy of all employees in a columnar layout, sorted by id:
+// ids in a long[], first and last names as int codes into a StringDictionary each, emails as UTF-8 bytes.
+// Employee entities are only materialized on read, so the resident cost per employee is a few array slots
+// plus one byte[] instead of an entity with three String objects.
+// Kept current by the EmployeeChangedEvents of the service it was loaded from.
+public class EmployeeSnapshotStore {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringDictionary firstNames = new StringDictionary();
+    private final StringDictionary lastNames = new StringDictionary();
+    private final int initialCapacity;
+
+    // guarded by lock
+    private long[] ids;
+    private int[] firstNameCodes;
+    private int[] lastNameCodes;
+    private byte[][] emails;
+    private int size;
+
+    private volatile boolean loaded;
+    // the undecorated service the snapshot was loaded from, used to reload invalidated employees
+    private volatile EmployeeService source;
+
+    public EmployeeSnapshotStore(int initialCapacity) {
+        this.initialCapacity = Math.max(16, initialCapacity);
+        allocate(this.initialCapacity);
+    }
+
+    // replaces the content with the employees passed to the callback, expected in id order
+    public void load(Consumer<Consumer<Employee>> source) {
+        lock.writeLock().lock();
+        try {
+            firstNames.clear();
+            lastNames.clear();
+            allocate(initialCapacity);
+            size = 0;
+            source.accept(this::putLocked);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // ahead of other listeners, e.g. the EmployeeListCache must rebuild from the updated snapshot
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.ChangeType.DELETED) {
+            remove(event.id());
+        } else {
+            put(event.employee());
+        }
+    }
+
+    // changes made by other instances, only the ids are known
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEmployeesInvalidated(EmployeesInvalidatedEvent event) {
+        EmployeeService employeeService = source;
+        if (employeeService == null || !loaded) {
+            return;
+        }
+        if (event.all()) {
+            load(employeeService::forEachEmployee);
+            return;
+        }
+        for (long id : event.ids()) {
+            employeeService.getEmployeeById(id).ifPresentOrElse(this::put, () -> remove(id));
+        }
+    }
+
+    void setSource(EmployeeService source) {
+        this.source = source;
+    }
+
+    public void put(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            putLocked(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                int tail = size - index - 1;
+                System.arraycopy(ids, index + 1, ids, index, tail);
+                System.arraycopy(firstNameCodes, index + 1, firstNameCodes, index, tail);
+                System.arraycopy(lastNameCodes, index + 1, lastNameCodes, index, tail);
+                System.arraycopy(emails, index + 1, emails, index, tail);
+                emails[--size] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Employee> get(long id) {
+        lock.readLock().lock();
+        try {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? Optional.of(materialize(index)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Employee> getAll() {
+        lock.readLock().lock();
+        try {
+            List<Employee> employees = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                employees.add(materialize(i));
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // columns including unused capacity, email arrays and both dictionaries
+    public long estimatedHeapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = HeapSize.longArray(ids.length)
+                    + HeapSize.intArray(firstNameCodes.length)
+                    + HeapSize.intArray(lastNameCodes.length)
+                    + HeapSize.referenceArray(emails.length)
+                    + firstNames.estimatedHeapBytes()
+                    + lastNames.estimatedHeapBytes();
+            for (int i = 0; i < size; i++) {
+                bytes += HeapSize.byteArray(emails[i].length);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Writes both dictionaries and all rows, see EmployeeSnapshotFile for the framing.
+    // Returns the highest id written, the high-water mark for catching up after a restart.
+    long writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            firstNames.writeTo(out);
+            lastNames.writeTo(out);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(ids[i]);
+                out.writeInt(firstNameCodes[i]);
+                out.writeInt(lastNameCodes[i]);
+                out.writeInt(emails[i].length);
+                out.write(emails[i]);
+            }
+            return size == 0 ? 0 : ids[size - 1];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // replaces the content with what writeTo produced, the buffer is typically a memory-mapped file
+    void readFrom(ByteBuffer in) {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            firstNames.readFrom(in);
+            lastNames.readFrom(in);
+            int count = in.getInt();
+            allocate(Math.max(initialCapacity, count));
+            size = 0;
+            for (int i = 0; i < count; i++) {
+                long id = in.getLong();
+                if (i > 0 && id <= ids[i - 1]) {
+                    throw new IllegalArgumentException("Snapshot rows are not ordered by id");
+                }
+                ids[i] = id;
+                firstNameCodes[i] = checkCode(in.getInt(), firstNames);
+                lastNameCodes[i] = checkCode(in.getInt(), lastNames);
+                emails[i] = new byte[in.getInt()];
+                in.get(emails[i]);
+                size++;
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int checkCode(int code, StringDictionary dictionary) {
+        if (code < 0 || code >= dictionary.size()) {
+            throw new IllegalArgumentException("Snapshot references unknown dictionary code " + code);
+        }
+        return code;
+    }
+
+    private void putLocked(Employee employee) {
+        int index = Arrays.binarySearch(ids, 0, size, employee.getId());
+        if (index < 0) {
+            // ids are generated in ascending order, so this is almost always an append
+            index = -index - 1;
+            if (size == ids.length) {
+                grow();
+            }
+            int tail = size - index;
+            System.arraycopy(ids, index, ids, index + 1, tail);
+            System.arraycopy(firstNameCodes, index, firstNameCodes, index + 1, tail);
+            System.arraycopy(lastNameCodes, index, lastNameCodes, index + 1, tail);
+            System.arraycopy(emails, index, emails, index + 1, tail);
+            size++;
+        }
+        ids[index] = employee.getId();
+        firstNameCodes[index] = firstNames.encode(employee.getFirstName());
+        lastNameCodes[index] = lastNames.encode(employee.getLastName());
+        emails[index] = employee.getEmail().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Employee materialize(int index) {
+        return Employee.builder()
+                .id(ids[index])
+                .firstName(firstNames.decode(firstNameCodes[index]))
+                .lastName(lastNames.decode(lastNameCodes[index]))
+                .email(new String(emails[index], StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        firstNameCodes = new int[capacity];
+        lastNameCodes = new int[capacity];
+        emails = new byte[capacity][];
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        firstNameCodes = Arrays.copyOf(firstNameCodes, capacity);
+        lastNameCodes = Arrays.copyOf(lastNameCodes, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+    }
+}
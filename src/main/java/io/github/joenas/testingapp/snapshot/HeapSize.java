@@ -0,0 +1,37 @@
+package io.github.joenas.testingapp.snapshot;
+
+import java.nio.charset.StandardCharsets;
+
+// Shallow heap size estimates for a 64-bit JVM with compressed oops and compact strings:
+// 12 byte object headers, 16 byte array headers, 4 byte references, 8 byte alignment.
+public final class HeapSize {
+
+    private HeapSize() {
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    public static long byteArray(int length) {
+        return align(16L + length);
+    }
+
+    public static long intArray(int length) {
+        return align(16L + 4L * length);
+    }
+
+    public static long longArray(int length) {
+        return align(16L + 8L * length);
+    }
+
+    public static long referenceArray(int length) {
+        return align(16L + 4L * length);
+    }
+
+    // String object (header, value, hash, coder, hashIsZero) plus its value array
+    public static long string(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return 24 + byteArray(latin1 ? value.length() : value.getBytes(StandardCharsets.UTF_16LE).length);
+    }
+}
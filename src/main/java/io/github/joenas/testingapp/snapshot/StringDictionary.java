@@ -0,0 +1,76 @@
+package io.github.joenas.testingapp.snapshot;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Dictionary encoding for low cardinality columns: each distinct value is stored once and referenced by an int code.
+// Codes are never released, a name that is no longer used stays in the dictionary until the next full load.
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[64];
+    private int size;
+
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    String decode(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        codes.clear();
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            byte[] bytes = values[i].getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    // replaces the content, codes keep the positions they were written with
+    void readFrom(ByteBuffer in) {
+        clear();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            if (encode(new String(bytes, StandardCharsets.UTF_8)) != i) {
+                throw new IllegalArgumentException("Duplicate dictionary entry in snapshot");
+            }
+        }
+    }
+
+    // values array, the strings themselves and roughly 48 bytes per HashMap entry (node, boxed code, table slot)
+    long estimatedHeapBytes() {
+        long bytes = HeapSize.referenceArray(values.length);
+        for (int i = 0; i < size; i++) {
+            bytes += HeapSize.string(values[i]) + 48;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.joenas.testingapp.startup;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Arrays;
+
+// With spring.main.lazy-initialization=true (prod profile) controllers, services and repositories are
+// created on first use. The beans below stay eager: the migrations and the Hibernate schema validation
+// must fail the startup instead of the first request, and @Scheduled methods of a bean that is never
+// requested would never run.
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter schemaLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                Flyway.class, FlywayMigrationInitializer.class, EntityManagerFactory.class);
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && Arrays.stream(beanType.getDeclaredMethods())
+                        .anyMatch(method -> method.isAnnotationPresent(Scheduled.class));
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.joenas.testingapp.startup;
+
+import io.github.joenas.testingapp.dataquality.DataQualityReport;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// Resources loaded by name at runtime which the AOT engine cannot discover for a GraalVM native image.
+// Spring Boot only registers the default db/migration location for Flyway, Java migrations are instantiated reflectively.
+// The data quality report is serialized outside of any controller or endpoint, so its binding is not inferred either.
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern("db/migration/common/*.sql")
+                .registerPattern("db/migration/h2/*.sql")
+                .registerPattern("db/migration/mysql/*.sql")
+                .registerPattern("db/shard/*.sql")
+                .registerPattern("ehcache.xml");
+        hints.reflection()
+                .registerTypeIfPresent(classLoader, "db.migration.common.V6__backfill_employee_email_hash",
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DataQualityReport.class);
+    }
+}
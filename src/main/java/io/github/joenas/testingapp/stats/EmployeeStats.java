@@ -0,0 +1,10 @@
+package io.github.joenas.testingapp.stats;
+
+import java.time.Instant;
+import java.util.Map;
+
+// GET /api/employees/stats. updatedAt is the last change applied to the counts, reconciledAt the last time they
+// matched the database; stale means that comparison is overdue or found a difference not yet rebuilt.
+public record EmployeeStats(long total, Map<String, Long> byEmailDomain, Map<String, Long> byLastNameInitial,
+                            Instant updatedAt, Instant reconciledAt, boolean stale) {
+}
@@ -0,0 +1,28 @@
+package io.github.joenas.testingapp.stats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+
+// employee counts behind /api/employees/stats, see EmployeeStatsStore. Differences found by the
+// reconciliation are counted as employee.stats.drifts.
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(EmployeeStatsProperties.class)
+public class EmployeeStatsConfig {
+
+    @Bean
+    public EmployeeStatsStore employeeStatsStore(JdbcTemplate jdbcTemplate, EmployeeStatsProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        EmployeeStatsStore store = new EmployeeStatsStore(jdbcTemplate, properties.reconcileInterval(),
+                properties.pageSize(), Clock.systemUTC());
+        FunctionCounter.builder("employee.stats.drifts", store, EmployeeStatsStore::getDrifts)
+                .description("Reconciliations that found the employee statistics different from the database")
+                .register(meterRegistry);
+        return store;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.joenas.testingapp.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Bound from app.stats.*. The counts are compared with GROUP BY queries every reconcile-interval and
+// reported as stale once no comparison succeeded for twice that long.
+@ConfigurationProperties(prefix = "app.stats")
+public record EmployeeStatsProperties(@DefaultValue("PT5M") Duration reconcileInterval,
+                                      @DefaultValue("10000") int pageSize) {
+}
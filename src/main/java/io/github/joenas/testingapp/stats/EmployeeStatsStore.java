@@ -0,0 +1,359 @@
+package io.github.joenas.testingapp.stats;
+
+import io.github.joenas.testingapp.exception.ServiceUnavailableException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeesInvalidatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Employee counts in total, per email domain and per last name initial without reading the table per request.
+// The domain and initial of every employee are kept by id so that an update or delete can take back what
+// the previous version counted. Built by a keyset scan on a background thread at startup, then kept current
+// by the EmployeeChangedEvents of this instance and the EmployeesInvalidatedEvents of the others.
+// Every reconcile-interval the counts are compared with GROUP BY queries and rebuilt if they differ.
+public class EmployeeStatsStore implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeStatsStore.class);
+    private static final int RECONCILE_ATTEMPTS = 3;
+    private static final int RELOAD_CHUNK_SIZE = 500;
+
+    // the same domain and initial as domainOf and initialOf
+    private static final String DOMAIN = "lower(substring(email, locate('@', email) + 1))";
+    private static final String INITIAL = "upper(substring(last_name, 1, 1))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration reconcileInterval;
+    private final int pageSize;
+    private final Clock clock;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final LongAdder drifts = new LongAdder();
+
+    private final Object lock = new Object();
+    // guarded by lock, null until the first build is done
+    private Counts counts;
+    // guarded by lock, the ids changed while a rebuild scans the table, reloaded once it is done
+    private Set<Long> changedWhileBuilding;
+    // guarded by lock, incremented by every change to counts
+    private long version;
+    private Instant updatedAt;
+    private Instant reconciledAt;
+    private boolean drifted;
+    // reset to null by every change, rebuilt by the next read
+    private volatile EmployeeStats snapshot;
+
+    public EmployeeStatsStore(JdbcTemplate jdbcTemplate, Duration reconcileInterval, int pageSize, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileInterval = reconcileInterval;
+        this.pageSize = pageSize;
+        this.clock = clock;
+    }
+
+    public EmployeeStats getStats() {
+        EmployeeStats stats = snapshot;
+        if (stats == null) {
+            synchronized (lock) {
+                if (counts == null) {
+                    throw new ServiceUnavailableException("Employee statistics are not built yet");
+                }
+                if (snapshot == null) {
+                    snapshot = counts.toStats(updatedAt, reconciledAt, drifted);
+                }
+                stats = snapshot;
+            }
+        }
+        if (!stats.stale() && stats.reconciledAt().plus(reconcileInterval.multipliedBy(2)).isBefore(clock.instant())) {
+            return new EmployeeStats(stats.total(), stats.byEmailDomain(), stats.byLastNameInitial(),
+                    stats.updatedAt(), stats.reconciledAt(), true);
+        }
+        return stats;
+    }
+
+    public boolean isReady() {
+        synchronized (lock) {
+            return counts != null;
+        }
+    }
+
+    public long getDrifts() {
+        return drifts.sum();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Employee employee = event.employee();
+        synchronized (lock) {
+            if (employee == null) {
+                apply(event.id(), null, null);
+            } else {
+                apply(event.id(), domainOf(employee.getEmail()), initialOf(employee.getLastName()));
+            }
+        }
+    }
+
+    // created, changed or deleted by another instance, see ChangeLogPoller
+    @EventListener
+    public void onEmployeesInvalidated(EmployeesInvalidatedEvent event) {
+        if (event.all()) {
+            scheduleRebuild();
+            return;
+        }
+        reload(event.ids());
+    }
+
+    // An employee saved between a query and the compare shows up as a difference, which only costs a rebuild.
+    // Changes applied while the queries run make the compare meaningless, it is retried a few times.
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${app.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            long before;
+            synchronized (lock) {
+                if (counts == null || drifted) {
+                    scheduleRebuild();
+                    return;
+                }
+                before = version;
+            }
+            Long total = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+            Map<String, Long> byEmailDomain = groupBy(DOMAIN);
+            Map<String, Long> byLastNameInitial = groupBy(INITIAL);
+            synchronized (lock) {
+                if (version != before || changedWhileBuilding != null) {
+                    continue;
+                }
+                if (counts.matches(total == null ? 0 : total, byEmailDomain, byLastNameInitial)) {
+                    reconciledAt = clock.instant();
+                    snapshot = null;
+                    return;
+                }
+                logger.warn("Employee statistics differ from the database, {} counted against {} employees, rebuilding",
+                        counts.total(), total);
+                drifts.increment();
+                drifted = true;
+                snapshot = null;
+            }
+            scheduleRebuild();
+            return;
+        }
+        logger.debug("Employee statistics not reconciled, the employees kept changing");
+    }
+
+    void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    void rebuild() {
+        rebuildScheduled.set(false);
+        try {
+            synchronized (lock) {
+                changedWhileBuilding = new HashSet<>();
+            }
+            Counts built = new Counts();
+            long lastId = 0;
+            List<Row> page;
+            do {
+                page = jdbcTemplate.query("select id, email, last_name from employees where id > ? order by id limit ?",
+                        (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2), rs.getString(3)), lastId, pageSize);
+                for (Row row : page) {
+                    built.set(row.id(), domainOf(row.email()), initialOf(row.lastName()));
+                    lastId = row.id();
+                }
+            } while (page.size() == pageSize);
+            Set<Long> changed;
+            synchronized (lock) {
+                counts = built;
+                changed = changedWhileBuilding;
+                changedWhileBuilding = null;
+                drifted = false;
+                version++;
+                updatedAt = clock.instant();
+                reconciledAt = updatedAt;
+                snapshot = null;
+            }
+            reload(changed);
+            logger.info("Built the employee statistics of {} employees", built.total());
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                changedWhileBuilding = null;
+            }
+            logger.warn("Building the employee statistics failed, retrying at the next reconcile", e);
+        }
+    }
+
+    // reads the current version of the given employees, those not found have been deleted
+    private void reload(Collection<Long> ids) {
+        List<Long> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, remaining.size()));
+            String placeholders = chunk.stream().map(id -> "?").collect(Collectors.joining(", "));
+            Map<Long, Row> rows = new HashMap<>();
+            jdbcTemplate.query("select id, email, last_name from employees where id in (" + placeholders + ")",
+                    rs -> {
+                        rows.put(rs.getLong(1), new Row(rs.getLong(1), rs.getString(2), rs.getString(3)));
+                    }, chunk.toArray());
+            synchronized (lock) {
+                for (Long id : chunk) {
+                    Row row = rows.get(id);
+                    if (row == null) {
+                        apply(id, null, null);
+                    } else {
+                        apply(id, domainOf(row.email()), initialOf(row.lastName()));
+                    }
+                }
+            }
+        }
+    }
+
+    // guarded by lock, a null domain removes the employee
+    private void apply(long id, String domain, String initial) {
+        if (changedWhileBuilding != null) {
+            changedWhileBuilding.add(id);
+        }
+        if (counts != null && counts.set(id, domain, initial)) {
+            version++;
+            updatedAt = clock.instant();
+            snapshot = null;
+        }
+    }
+
+    private Map<String, Long> groupBy(String expression) {
+        Map<String, Long> groups = new HashMap<>();
+        jdbcTemplate.query("select " + expression + ", count(*) from employees group by " + expression,
+                rs -> {
+                    groups.put(rs.getString(1), rs.getLong(2));
+                });
+        return groups;
+    }
+
+    // everything after the first @, the whole address if there is none, like the SQL of DOMAIN
+    static String domainOf(String email) {
+        return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    // the first code point, as substring counts characters rather than UTF-16 units
+    static String initialOf(String lastName) {
+        if (lastName.isEmpty()) {
+            return "";
+        }
+        return new String(Character.toChars(lastName.codePointAt(0))).toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private record Row(long id, String email, String lastName) {
+    }
+
+    // one per distinct domain or initial, shared by the keys of all employees that have it
+    private static final class Count {
+
+        private final String value;
+        private long count;
+
+        private Count(String value) {
+            this.value = value;
+        }
+    }
+
+    private record Key(Count domain, Count initial) {
+    }
+
+    private static final class Counts {
+
+        private final Map<Long, Key> keys = new HashMap<>();
+        private final Map<String, Count> domains = new HashMap<>();
+        private final Map<String, Count> initials = new HashMap<>();
+
+        // returns whether anything changed
+        boolean set(long id, String domain, String initial) {
+            Key previous = keys.get(id);
+            if (previous == null && domain == null) {
+                return false;
+            }
+            if (previous != null && domain != null
+                    && previous.domain().value.equals(domain) && previous.initial().value.equals(initial)) {
+                return false;
+            }
+            if (previous != null) {
+                decrement(domains, previous.domain());
+                decrement(initials, previous.initial());
+            }
+            if (domain == null) {
+                keys.remove(id);
+            } else {
+                keys.put(id, new Key(increment(domains, domain), increment(initials, initial)));
+            }
+            return true;
+        }
+
+        long total() {
+            return keys.size();
+        }
+
+        boolean matches(long total, Map<String, Long> byEmailDomain, Map<String, Long> byLastNameInitial) {
+            return total == total() && byEmailDomain.equals(toMap(domains)) && byLastNameInitial.equals(toMap(initials));
+        }
+
+        EmployeeStats toStats(Instant updatedAt, Instant reconciledAt, boolean stale) {
+            return new EmployeeStats(total(), Collections.unmodifiableMap(new TreeMap<>(toMap(domains))),
+                    Collections.unmodifiableMap(new TreeMap<>(toMap(initials))), updatedAt, reconciledAt, stale);
+        }
+
+        private static Count increment(Map<String, Count> counts, String value) {
+            Count count = counts.computeIfAbsent(value, Count::new);
+            count.count++;
+            return count;
+        }
+
+        private static void decrement(Map<String, Count> counts, Count count) {
+            if (--count.count == 0) {
+                counts.remove(count.value);
+            }
+        }
+
+        private static Map<String, Long> toMap(Map<String, Count> counts) {
+            Map<String, Long> map = new HashMap<>();
+            counts.forEach((value, count) -> map.put(value, count.count));
+            return map;
+        }
+    }
+}
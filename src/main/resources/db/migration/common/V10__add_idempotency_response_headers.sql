@@ -0,0 +1,2 @@
+-- response headers replayed with the stored response (e.g. Location), one "name: value" per line
+alter table idempotency_keys add column headers varchar(4096);
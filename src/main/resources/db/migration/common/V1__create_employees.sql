@@ -0,0 +1,8 @@
+-- matches the table Hibernate used to create with ddl-auto=update, existing databases are baselined at this version
+create table employees (
+    id bigint not null auto_increment,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    primary key (id)
+);
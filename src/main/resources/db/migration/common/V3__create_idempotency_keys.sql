@@ -0,0 +1,12 @@
+-- backs app.idempotency.store=jdbc
+create table idempotency_keys (
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64) not null,
+    status int not null,
+    content_type varchar(255),
+    body blob,
+    created_at timestamp not null,
+    primary key (idempotency_key)
+);
+
+create index ix_idempotency_keys_created_at on idempotency_keys (created_at);
@@ -0,0 +1,11 @@
+-- one row per employee mutation, polled by every instance to invalidate its local caches, see ChangeLogPoller
+create table employee_change_log (
+    seq bigint not null auto_increment,
+    employee_id bigint not null,
+    change_type varchar(16) not null,
+    origin varchar(64) not null,
+    changed_at timestamp not null,
+    primary key (seq)
+);
+
+create index ix_employee_change_log_changed_at on employee_change_log (changed_at);
@@ -0,0 +1,2 @@
+-- filled by V6__backfill_employee_email_hash, made not null and indexed by V7
+alter table employees add column email_hash bigint;
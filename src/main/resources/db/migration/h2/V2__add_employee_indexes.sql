@@ -0,0 +1,3 @@
+-- findByEmail runs on every create, the name lookups filter on first and last name
+create index ix_employees_email on employees (email);
+create index ix_employees_name on employees (first_name, last_name);
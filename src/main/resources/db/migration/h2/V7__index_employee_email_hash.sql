@@ -0,0 +1,3 @@
+-- findByEmail looks employees up by the hash of their normalized email, see EmailHash
+alter table employees alter column email_hash set not null;
+create index ix_employees_email_hash on employees (email_hash);
@@ -0,0 +1,2 @@
+-- optimistic locking of concurrent updates, see Employee.version
+alter table employees add column version bigint default 0 not null;
@@ -0,0 +1,4 @@
+-- one employee per normalized email, enforced by the database rather than only by the check in saveEmployee.
+-- Fails while duplicates exist, the data quality report lists them (exact and normalized email groups).
+create unique index uk_employees_email_hash on employees (email_hash);
+drop index ix_employees_email_hash;
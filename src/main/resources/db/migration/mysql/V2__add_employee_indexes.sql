@@ -0,0 +1,6 @@
+-- findByEmail runs on every create, the name lookups filter on first and last name.
+-- Built in place without blocking concurrent reads and writes, fails instead of silently locking the table.
+alter table employees
+    add index ix_employees_email (email),
+    add index ix_employees_name (first_name, last_name),
+    algorithm = inplace, lock = none;
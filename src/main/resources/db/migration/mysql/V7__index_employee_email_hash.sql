@@ -0,0 +1,6 @@
+-- findByEmail looks employees up by the hash of their normalized email, see EmailHash.
+-- Built in place without blocking concurrent reads and writes, fails instead of silently locking the table.
+alter table employees
+    modify email_hash bigint not null,
+    add index ix_employees_email_hash (email_hash),
+    algorithm = inplace, lock = none;
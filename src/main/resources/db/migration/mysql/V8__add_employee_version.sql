@@ -0,0 +1,5 @@
+-- optimistic locking of concurrent updates, see Employee.version.
+-- Only changes the table metadata, existing rows are not rewritten.
+alter table employees
+    add column version bigint not null default 0,
+    algorithm = instant;
@@ -0,0 +1,7 @@
+-- one employee per normalized email, enforced by the database rather than only by the check in saveEmployee.
+-- Fails while duplicates exist, the data quality report lists them (exact and normalized email groups).
+-- Built in place without blocking concurrent reads and writes, fails instead of silently locking the table.
+alter table employees
+    add unique index uk_employees_email_hash (email_hash),
+    drop index ix_employees_email_hash,
+    algorithm = inplace, lock = none;
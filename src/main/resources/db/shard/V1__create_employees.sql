@@ -0,0 +1,18 @@
+-- schema of every shard, ids are assigned by ShardIdAllocator so there is no auto_increment
+create table employees (
+    id bigint not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    primary key (id),
+    constraint uk_employees_email unique (email)
+);
+
+create index ix_employees_name on employees (first_name, last_name);
+
+-- only used on the first shard
+create table id_allocator (
+    name varchar(64) not null,
+    next_id bigint not null,
+    primary key (name)
+);
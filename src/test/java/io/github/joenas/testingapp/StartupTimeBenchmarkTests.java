@@ -0,0 +1,67 @@
+package io.github.joenas.testingapp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares the boot time of the application context with Hibernate diffing the schema (ddl-auto=update)
+// against Flyway owning the schema and Hibernate only validating it. Each mode boots repeatedly
+// against an already initialized database, like a restart in production.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+public class StartupTimeBenchmarkTests {
+
+    private static final int RUNS = 5;
+
+    @DisplayName("Startup time with ddl-auto=update compared to Flyway and ddl-auto=validate")
+    @Test
+    public void compareStartupTimeOfSchemaManagementModes() {
+        long[] update = measure("--spring.jpa.hibernate.ddl-auto=update", "--spring.flyway.enabled=false");
+        long[] validate = measure("--spring.jpa.hibernate.ddl-auto=validate", "--spring.flyway.enabled=true");
+
+        System.out.printf("ddl-auto=update            : median %d ms, runs %s%n", median(update), Arrays.toString(update));
+        System.out.printf("flyway + ddl-auto=validate : median %d ms, runs %s%n", median(validate), Arrays.toString(validate));
+        assertThat(update).hasSize(RUNS);
+        assertThat(validate).hasSize(RUNS);
+    }
+
+    private static long[] measure(String... properties) {
+        String url = "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        // first boot creates the schema and warms up the JIT
+        boot(url, properties).close();
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            ConfigurableApplicationContext context = boot(url, properties);
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+            context.close();
+        }
+        return millis;
+    }
+
+    // passed as command line arguments, they have to override application.properties
+    private static ConfigurableApplicationContext boot(String url, String... arguments) {
+        String[] args = Arrays.copyOf(arguments, arguments.length + 4);
+        args[arguments.length] = url;
+        args[arguments.length + 1] = "--spring.jpa.show-sql=false";
+        args[arguments.length + 2] = "--logging.level.org.hibernate.SQL=INFO";
+        args[arguments.length + 3] = "--spring.main.banner-mode=off";
+        return new SpringApplicationBuilder(TestingappApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
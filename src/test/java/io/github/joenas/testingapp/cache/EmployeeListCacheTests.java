@@ -0,0 +1,204 @@
+package io.github.joenas.testingapp.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.dto.EmployeeStreamWriter;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeListCacheTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final Employee employee = Employee.builder()
+            .id(1L)
+            .firstName("John")
+            .lastName("Doe")
+            .email("john@doe.com")
+            .build();
+
+    private EmployeeListCache cache;
+    private EmployeeListCacheFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        cache = new EmployeeListCache(employeeService, objectMapper);
+        filter = new EmployeeListCacheFilter(cache, new EmployeeStreamWriter(objectMapper, objectMapper, objectMapper));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cache.destroy();
+    }
+
+    @DisplayName("JUnit test for rebuilding the employee list cache")
+    @Test
+    public void givenEmployees_whenRebuild_thenJsonAndGzipAreCached() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        //when - action or the behaviour to test
+        cache.rebuild();
+        //then - verify the output
+        SerializedEmployeeList list = cache.get().orElseThrow();
+        assertThat(objectMapper.readTree(list.json()).get(0).get("email").asText()).isEqualTo("john@doe.com");
+        assertThat(gunzip(list.gzip())).isEqualTo(list.json());
+    }
+
+    @DisplayName("JUnit test for invalidating the employee list cache on a change event")
+    @Test
+    public void givenCachedList_whenEmployeeChanged_thenCacheIsRebuiltWithNewVersion() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        cache.rebuild();
+        long version = cache.get().orElseThrow().version();
+        //when - action or the behaviour to test
+        cache.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+        //then - verify the output
+        assertThat(cache.get().map(SerializedEmployeeList::version).orElse(Long.MAX_VALUE)).isGreaterThan(version);
+        assertThat(awaitCached().version()).isGreaterThan(version);
+    }
+
+    @DisplayName("JUnit test for discarding a rebuild overtaken by a change")
+    @Test
+    public void givenChangeDuringRebuild_whenRebuild_thenStaleListIsDiscarded() throws Exception {
+        //given - precondition or setup
+        AtomicInteger calls = new AtomicInteger();
+        given(employeeService.getAllEmployees()).willAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                cache.invalidate();
+                return List.of();
+            }
+            return List.of(employee);
+        });
+        //when - action or the behaviour to test
+        cache.rebuild();
+        //then - verify the output
+        assertThat(cache.get().map(SerializedEmployeeList::version).orElse(1L)).isPositive();
+        assertThat(objectMapper.readTree(awaitCached().json())).hasSize(1);
+    }
+
+    @DisplayName("JUnit test for serving the cached list gzip compressed")
+    @Test
+    public void givenCachedList_whenGetWithGzip_thenCompressedBytesAreWritten() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        cache.rebuild();
+        SerializedEmployeeList list = cache.get().orElseThrow();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        //when - action or the behaviour to test
+        filter.doFilter(request, response, chain);
+        //then - verify the output
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("ETag")).isEqualTo(list.etag());
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept, Accept-Encoding");
+        assertThat(response.getContentAsByteArray()).isEqualTo(list.gzip());
+    }
+
+    @DisplayName("JUnit test for serving the cached list uncompressed when gzip is refused")
+    @Test
+    public void givenGzipRefusedOrNotListed_whenGet_thenUncompressedBytesAreWritten() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        cache.rebuild();
+        SerializedEmployeeList list = cache.get().orElseThrow();
+        for (String acceptEncoding : List.of("gzip;q=0, deflate", "x-gzip", "*, GZIP; q=0.0")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+            request.addHeader("Accept-Encoding", acceptEncoding);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            //when - action or the behaviour to test
+            filter.doFilter(request, response, new MockFilterChain());
+            //then - verify the output
+            assertThat(response.getHeader("Content-Encoding")).as(acceptEncoding).isNull();
+            assertThat(response.getContentAsByteArray()).as(acceptEncoding).isEqualTo(list.json());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("Accept-Encoding", "deflate;q=0.5, *;q=0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+    }
+
+    @DisplayName("JUnit test for keeping the ETag of an unchanged list across versions")
+    @Test
+    public void givenUnchangedList_whenRebuiltAfterInvalidation_thenSameEtag() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        cache.rebuild();
+        SerializedEmployeeList before = cache.get().orElseThrow();
+        //when - action or the behaviour to test
+        cache.invalidate();
+        SerializedEmployeeList after = awaitCached();
+        //then - verify the output
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.etag()).isEqualTo(before.etag());
+    }
+
+    @DisplayName("JUnit test for answering a matching If-None-Match with 304")
+    @Test
+    public void givenCurrentEtag_whenGet_thenNotModified() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        cache.rebuild();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("If-None-Match", cache.get().orElseThrow().etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        //when - action or the behaviour to test
+        filter.doFilter(request, response, new MockFilterChain());
+        //then - verify the output
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @DisplayName("JUnit test for falling through to the controller when nothing is cached or CBOR is asked for")
+    @Test
+    public void givenNoCachedListOrCborAccept_whenGet_thenRequestIsPassedOn() throws Exception {
+        //given - precondition or setup
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        MockFilterChain chain = new MockFilterChain();
+        //when - action or the behaviour to test
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        //then - verify the output
+        assertThat(chain.getRequest()).isSameAs(request);
+
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        cache.rebuild();
+        MockHttpServletRequest cborRequest = new MockHttpServletRequest("GET", "/api/employees");
+        cborRequest.addHeader("Accept", "application/cbor");
+        MockFilterChain cborChain = new MockFilterChain();
+        filter.doFilter(cborRequest, new MockHttpServletResponse(), cborChain);
+        assertThat(cborChain.getRequest()).isSameAs(cborRequest);
+    }
+
+    private SerializedEmployeeList awaitCached() throws InterruptedException {
+        for (int i = 0; i < 500 && cache.get().isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        return cache.get().orElseThrow();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.joenas.testingapp.changelog;
+
+import io.github.joenas.testingapp.TestingappApplication;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two application contexts sharing one in-memory database stand in for two instances behind a load balancer.
+public class ChangeLogInvalidationTests {
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    public static void startInstances() {
+        first = startInstance();
+        second = startInstance();
+    }
+
+    @AfterAll
+    public static void stopInstances() {
+        second.close();
+        first.close();
+    }
+
+    private static ConfigurableApplicationContext startInstance() {
+        return new SpringApplicationBuilder(TestingappApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:changelog;DB_CLOSE_DELAY=-1",
+                        "--spring.jmx.enabled=false",
+                        "--app.change-log.enabled=true",
+                        "--app.change-log.poll-interval=PT0.05S",
+                        "--app.snapshot.enabled=true");
+    }
+
+    @DisplayName("JUnit test for an update on one instance invalidating the caches of another")
+    @Test
+    public void givenEmployeeCachedOnFirstInstance_whenUpdatedOnSecond_thenFirstInstanceSeesUpdate() {
+        //given - precondition or setup
+        Employee saved = first.getBean(EmployeeService.class).saveEmployee(employee("john@doe.com"));
+        long id = saved.getId();
+        assertThat(first.getBean(EmployeeRepository.class).findById(id)).isPresent();
+        assertThat(first.getBean(EntityManagerFactory.class).getCache().contains(Employee.class, id)).isTrue();
+
+        // the second instance's snapshot learns about the new employee through the change log as well
+        EmployeeService secondService = second.getBean(EmployeeService.class);
+        awaitTrue(() -> secondService.getEmployeeById(id).isPresent());
+
+        //when - action or the behaviour to test
+        Employee update = secondService.getEmployeeById(id).orElseThrow();
+        update.setEmail("john@example.com");
+        secondService.updateEmployee(update);
+
+        //then - verify the output
+        EmployeeService service = first.getBean(EmployeeService.class);
+        EmployeeRepository repository = first.getBean(EmployeeRepository.class);
+        awaitTrue(() -> service.getEmployeeById(id).map(Employee::getEmail).orElse("").equals("john@example.com"));
+        assertThat(repository.findById(id)).map(Employee::getEmail).contains("john@example.com");
+    }
+
+    @DisplayName("JUnit test for a delete on one instance invalidating the caches of another")
+    @Test
+    public void givenEmployeeCachedOnFirstInstance_whenDeletedOnSecond_thenFirstInstanceNoLongerFindsIt() {
+        //given - precondition or setup
+        long id = first.getBean(EmployeeService.class).saveEmployee(employee("jane@doe.com")).getId();
+        assertThat(first.getBean(EmployeeRepository.class).findByEmail("jane@doe.com")).isPresent();
+        EmployeeService secondService = second.getBean(EmployeeService.class);
+        awaitTrue(() -> secondService.getEmployeeById(id).isPresent());
+
+        //when - action or the behaviour to test
+        secondService.deleteEmployee(id);
+
+        //then - verify the output
+        EmployeeService service = first.getBean(EmployeeService.class);
+        EmployeeRepository repository = first.getBean(EmployeeRepository.class);
+        awaitTrue(() -> service.getEmployeeById(id).isEmpty());
+        assertThat(repository.findById(id)).isEmpty();
+        assertThat(repository.findByEmail("jane@doe.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for an instance skipping its own change log entries")
+    @Test
+    public void givenChangeOnFirstInstance_whenPolled_thenOnlySecondInstanceInvalidates() {
+        //given - precondition or setup
+        ChangeLogPoller firstPoller = first.getBean(ChangeLogPoller.class);
+        ChangeLogPoller secondPoller = second.getBean(ChangeLogPoller.class);
+        long id = first.getBean(EmployeeService.class).saveEmployee(employee("own@doe.com")).getId();
+        first.getBean(EmployeeRepository.class).findById(id);
+
+        //when - action or the behaviour to test
+        awaitTrue(() -> firstPoller.getHighWaterMark() == secondPoller.getHighWaterMark()
+                && firstPoller.getHighWaterMark() > 0);
+
+        //then - verify the output
+        assertThat(first.getBean(EntityManagerFactory.class).getCache().contains(Employee.class, id)).isTrue();
+    }
+
+    @DisplayName("JUnit test for a change log row rolled back with its mutation")
+    @Test
+    public void givenMutationRolledBack_whenSaveEmployee_thenNoChangeLogRow() {
+        //given - precondition or setup
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                first.getBean(PlatformTransactionManager.class));
+        Long rowsBefore = jdbcTemplate.queryForObject("select count(*) from employee_change_log", Long.class);
+
+        //when - action or the behaviour to test
+        transactionTemplate.executeWithoutResult(status -> {
+            first.getBean(EmployeeService.class).saveEmployee(employee("rolled@back.com"));
+            status.setRollbackOnly();
+        });
+
+        //then - verify the output
+        assertThat(jdbcTemplate.queryForObject("select count(*) from employee_change_log", Long.class))
+                .isEqualTo(rowsBefore);
+        assertThat(first.getBean(EmployeeRepository.class).findByEmail("rolled@back.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for an instance dropping its caches after another one lost changes")
+    @Test
+    public void givenChangesLostOnSecondInstance_whenPolled_thenFirstInstanceSeesThem() {
+        //given - precondition or setup
+        EmployeeService service = first.getBean(EmployeeService.class);
+        long id = service.saveEmployee(employee("lost@doe.com")).getId();
+        assertThat(service.getEmployeeById(id)).isPresent();
+        JdbcTemplate jdbcTemplate = second.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("update employees set last_name = 'Lost' where id = ?", id);
+
+        //when - action or the behaviour to test
+        jdbcTemplate.update("insert into employee_change_log (employee_id, change_type, origin, changed_at)"
+                + " values (0, 'ALL', 'another', current_timestamp)");
+
+        //then - verify the output
+        awaitTrue(() -> service.getEmployeeById(id).map(Employee::getLastName).orElse("").equals("Lost"));
+        assertThat(first.getBean(EmployeeRepository.class).findById(id)).map(Employee::getLastName).contains("Lost");
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
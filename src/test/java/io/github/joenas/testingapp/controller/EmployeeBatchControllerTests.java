@@ -0,0 +1,70 @@
+package io.github.joenas.testingapp.controller;
+
+import io.github.joenas.testingapp.exception.ServiceUnavailableException;
+import io.github.joenas.testingapp.fanout.FanOutConfig;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeBatchController.class)
+@Import(FanOutConfig.class)
+public class EmployeeBatchControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @DisplayName("JUnit test for looking up several employees in one request")
+    @Test
+    public void givenIds_whenGetEmployeesByIds_thenReturnFoundEmployees() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getEmployeeById(anyLong())).willReturn(Optional.empty());
+        given(employeeService.getEmployeeById(7L)).willReturn(Optional.of(Employee.builder()
+                .id(7L)
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@doe.com")
+                .build()));
+
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees/batch").param("ids", "5,7"))
+
+        //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].email").value("john@doe.com"));
+    }
+
+    @DisplayName("JUnit test for a failing lookup within a batch")
+    @Test
+    public void givenFailingLookup_whenGetEmployeesByIds_thenServiceUnavailable() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getEmployeeById(anyLong())).willReturn(Optional.empty());
+        given(employeeService.getEmployeeById(2L)).willThrow(new ServiceUnavailableException("Database is down"));
+
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees/batch").param("ids", "1,2,3"))
+
+        //then - verify the output
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.type").value("/problems/service-unavailable"));
+    }
+}
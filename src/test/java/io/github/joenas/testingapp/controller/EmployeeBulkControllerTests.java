@@ -0,0 +1,79 @@
+package io.github.joenas.testingapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.dto.BulkDeleteRequest;
+import io.github.joenas.testingapp.dto.EmailDomainChangeRequest;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeBulkController.class)
+public class EmployeeBulkControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DisplayName("JUnit test for replacing an email domain in bulk")
+    @Test
+    public void givenDomains_whenReplaceEmailDomain_thenReturnAffectedCount() throws Exception {
+        //given - precondition or setup
+        given(employeeService.replaceEmailDomain("doe.com", "doe.org")).willReturn(42);
+        //when - action or the behaviour to test
+        mockMvc.perform(post("/api/employees/bulk/email-domain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmailDomainChangeRequest("doe.com", "doe.org"))))
+                //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(42));
+    }
+
+    @DisplayName("JUnit test for deleting employees by id in bulk")
+    @Test
+    public void givenIds_whenBulkDelete_thenReturnAffectedCount() throws Exception {
+        //given - precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(2);
+        //when - action or the behaviour to test
+        mockMvc.perform(post("/api/employees/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkDeleteRequest(List.of(1L, 2L, 3L), null))))
+                //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    @DisplayName("JUnit test for rejecting a bulk delete with both ids and a domain")
+    @Test
+    public void givenIdsAndDomain_whenBulkDelete_thenReturn400() throws Exception {
+        //given - precondition or setup
+        BulkDeleteRequest request = new BulkDeleteRequest(List.of(1L), "test.example");
+        //when - action or the behaviour to test
+        mockMvc.perform(post("/api/employees/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                //then - verify the output
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("/problems/invalid-request"));
+        verify(employeeService, never()).deleteEmployees(any());
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.joenas.testingapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.exception.ResourceConflictException;
 import io.github.joenas.testingapp.model.Employee;
 import io.github.joenas.testingapp.service.EmployeeService;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
@@ -56,6 +58,47 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email").value(employee.getEmail()));
     }
 
+    @DisplayName("JUnit test for /create endpoint ignoring a client supplied id")
+    @Test
+    public void givenEmployeeWithId_whenCreateEmployee_thenIdIsNotBound() throws Exception {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+        //when - action or the behaviour to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":42,\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@doe.com\"}"));
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(0))
+                .andExpect(jsonPath("$.email").value("jane@doe.com"));
+        verify(employeeService).saveEmployee(argThat(employee -> employee.getId() == 0));
+    }
+
+    @DisplayName("JUnit test for /create endpoint with an existing email")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409ProblemDetail() throws Exception {
+        //given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane@doe.com")
+                .build();
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(new ResourceConflictException("Employee already exists with email: " + employee.getEmail()));
+        //when - action or the behaviour to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.detail").value("Employee already exists with email: " + employee.getEmail()));
+    }
+
     @DisplayName("JUnit test for GET /employees endpoint")
     @Test
     public void givenEmployeeList_whenGetAllEmployees_thenReturnEmployeeList() throws Exception {
@@ -134,9 +177,11 @@ public class EmployeeControllerTests {
                 .email("jane@doe.com")
                 .build();
 
-        given(employeeService.getEmployeeById(id)).willReturn(Optional.of(employee));
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        given(employeeService.updateEmployee(eq(id), any()))
+                .willAnswer((invocation) -> {
+                    invocation.<Consumer<Employee>>getArgument(1).accept(employee);
+                    return Optional.of(employee);
+                });
         //when - action or the behaviour to test
         ResultActions response = mockMvc.perform(put("/api/employees/{id}",id)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -167,7 +212,7 @@ public class EmployeeControllerTests {
                 .email("jane@doe.com")
                 .build();
 
-        given(employeeService.getEmployeeById(id)).willReturn(Optional.empty());
+        given(employeeService.updateEmployee(eq(id), any())).willReturn(Optional.empty());
         //when - action or the behaviour to test
         ResultActions response = mockMvc.perform(put("/api/employees/{id}",id)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -177,6 +222,28 @@ public class EmployeeControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @DisplayName("JUnit test for updateEmployee - concurrent update scenario")
+    @Test
+    public void givenConcurrentUpdates_whenUpdateEmployee_thenReturn409() throws Exception {
+        //given - precondition or setup
+        long id = 1L;
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane@doe.com")
+                .build();
+
+        given(employeeService.updateEmployee(eq(id), any()))
+                .willThrow(new ResourceConflictException("Employee 1 kept being changed concurrently"));
+        //when - action or the behaviour to test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}",id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isConflict());
+    }
+
     @DisplayName("JUnit test for deleteEmployee")
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
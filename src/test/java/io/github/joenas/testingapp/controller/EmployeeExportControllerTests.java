@@ -0,0 +1,130 @@
+package io.github.joenas.testingapp.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.joenas.testingapp.dto.EmployeeResponse;
+import io.github.joenas.testingapp.dto.JacksonConfig;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({EmployeeController.class, EmployeeExportController.class})
+@Import(JacksonConfig.class)
+public class EmployeeExportControllerTests {
+
+    private static final TypeReference<List<EmployeeResponse>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    private final List<Employee> employees = List.of(
+            Employee.builder().id(1L).firstName("Jane").lastName("Doe").email("jane@doe.com").build(),
+            Employee.builder().id(2L).firstName("John").lastName("Doe").email("john@doe.com").build());
+
+    @BeforeEach
+    public void setup() {
+        given(employeeService.getAllEmployees()).willReturn(employees);
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            employees.forEach(action);
+            return null;
+        }).given(employeeService).forEachEmployee(any());
+    }
+
+    @DisplayName("JUnit test for GET /employees negotiating CBOR")
+    @Test
+    public void givenCborAccept_whenGetAllEmployees_thenReturnCborList() throws Exception {
+        //when - action or the behaviour to test
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR))
+                //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        List<EmployeeResponse> decoded = new ObjectMapper(new CBORFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), EMPLOYEE_LIST);
+        assertThat(decoded).extracting(EmployeeResponse::email).containsExactly("jane@doe.com", "john@doe.com");
+    }
+
+    @DisplayName("JUnit test for GET /employees keeping JSON as the default")
+    @Test
+    public void givenAnyAccept_whenGetAllEmployees_thenReturnJsonList() throws Exception {
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees").accept(MediaType.ALL))
+                //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.size()").value(2));
+    }
+
+    @DisplayName("JUnit test for the streaming export in JSON")
+    @Test
+    public void givenNoAccept_whenExportEmployees_thenStreamJsonArray() throws Exception {
+        //given - precondition or setup
+        MvcResult asyncResult = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //when - action or the behaviour to test
+        mockMvc.perform(asyncDispatch(asyncResult))
+                //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[1].email").value("john@doe.com"));
+    }
+
+    @DisplayName("JUnit test for the streaming export in Smile")
+    @Test
+    public void givenSmileAccept_whenExportEmployees_thenStreamSmileArray() throws Exception {
+        //given - precondition or setup
+        MvcResult asyncResult = mockMvc.perform(get("/api/employees/export").accept(JacksonConfig.APPLICATION_SMILE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //when - action or the behaviour to test
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(JacksonConfig.APPLICATION_SMILE))
+                .andReturn();
+        List<EmployeeResponse> decoded = new ObjectMapper(new SmileFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), EMPLOYEE_LIST);
+        assertThat(decoded).extracting(EmployeeResponse::id).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("JUnit test for the streaming export with an unsupported Accept header")
+    @Test
+    public void givenXmlAccept_whenExportEmployees_thenReturn406() throws Exception {
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees/export").accept(MediaType.APPLICATION_XML))
+                //then - verify the output
+                .andExpect(status().isNotAcceptable());
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.joenas.testingapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.export.ExportJobConfig;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeExportJobController.class)
+@Import(ExportJobConfig.class)
+public class EmployeeExportJobControllerTests {
+
+    @TempDir
+    private static Path exportDirectory;
+
+    @DynamicPropertySource
+    static void exportJobProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.export-jobs.directory", exportDirectory::toString);
+        registry.add("app.export-jobs.max-concurrent-jobs", () -> "1");
+        registry.add("app.export-jobs.max-queued-jobs", () -> "1");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    // lets a test hold the running export until it is released
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blocking;
+
+    private final List<Employee> employees = List.of(
+            Employee.builder().id(1L).firstName("Jane").lastName("Doe").email("jane@doe.com").build(),
+            Employee.builder().id(2L).firstName("John, Jr.").lastName("Doe").email("john@doe.com").build());
+
+    @BeforeEach
+    public void setup() {
+        willAnswer(invocation -> {
+            if (blocking) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            Consumer<Employee> action = invocation.getArgument(0);
+            employees.forEach(action);
+            return null;
+        }).given(employeeService).forEachEmployee(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @DisplayName("JUnit test for running an NDJSON export job and downloading the file")
+    @Test
+    public void givenEmployees_whenExportJobCompletes_thenGzipNdjsonIsDownloaded() throws Exception {
+        //given - precondition or setup
+        String location = startExport("NDJSON");
+        //when - action or the behaviour to test
+        awaitCompleted(location);
+        MvcResult download = mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn();
+        //then - verify the output
+        String[] lines = gunzip(download.getResponse().getContentAsByteArray()).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[1]).get("email").asText()).isEqualTo("john@doe.com");
+    }
+
+    @DisplayName("JUnit test for quoting fields in a CSV export")
+    @Test
+    public void givenCommaInName_whenCsvExportCompletes_thenFieldIsQuoted() throws Exception {
+        //given - precondition or setup
+        String location = startExport("CSV");
+        //when - action or the behaviour to test
+        awaitCompleted(location);
+        byte[] body = mockMvc.perform(get(location)).andReturn().getResponse().getContentAsByteArray();
+        //then - verify the output
+        assertThat(gunzip(body)).isEqualTo("id,firstName,lastName,email\r\n"
+                + "1,Jane,Doe,jane@doe.com\r\n"
+                + "2,\"John, Jr.\",Doe,john@doe.com\r\n");
+    }
+
+    @DisplayName("JUnit test for handing the finished file to Tomcat's sendfile")
+    @Test
+    public void givenSendfileSupport_whenDownload_thenFileIsLeftToTheConnector() throws Exception {
+        //given - precondition or setup
+        String location = startExport("NDJSON");
+        awaitCompleted(location);
+        //when - action or the behaviour to test
+        MvcResult download = mockMvc.perform(get(location)
+                        .requestAttr(EmployeeExportJobController.SENDFILE_SUPPORT_ATTRIBUTE, Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(request().attribute(EmployeeExportJobController.SENDFILE_START_ATTRIBUTE, 0L))
+                .andReturn();
+        //then - verify the output
+        String fileName = (String) download.getRequest().getAttribute(EmployeeExportJobController.SENDFILE_FILENAME_ATTRIBUTE);
+        assertThat(fileName).startsWith(exportDirectory.toAbsolutePath().toString()).endsWith(".ndjson.gz");
+        assertThat(download.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(download.getResponse().getContentLengthLong())
+                .isEqualTo(download.getRequest().getAttribute(EmployeeExportJobController.SENDFILE_END_ATTRIBUTE));
+    }
+
+    @DisplayName("JUnit test for rejecting export jobs beyond the concurrency and queue limits")
+    @Test
+    public void givenBusyExporter_whenStartingMoreJobs_thenServiceUnavailable() throws Exception {
+        //given - precondition or setup
+        blocking = true;
+        String running = startExport("NDJSON");
+        awaitRunning(running);
+        String queued = startExport("NDJSON");
+        //when - action or the behaviour to test
+        mockMvc.perform(post("/api/employees/exports"))
+                //then - verify the output
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(get(running)).andExpect(status().isAccepted());
+        mockMvc.perform(delete(queued)).andExpect(status().isNoContent());
+        mockMvc.perform(delete(running)).andExpect(status().isNoContent());
+    }
+
+    @DisplayName("JUnit test for cancelling a running export job")
+    @Test
+    public void givenRunningJob_whenCancelled_thenJobIsGone() throws Exception {
+        //given - precondition or setup
+        blocking = true;
+        String location = startExport("CSV");
+        //when - action or the behaviour to test
+        mockMvc.perform(delete(location)).andExpect(status().isNoContent());
+        //then - verify the output
+        mockMvc.perform(get(location))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value(startsWith("Export job not found")));
+    }
+
+    private String startExport(String format) throws Exception {
+        return mockMvc.perform(post("/api/employees/exports").param("format", format))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").exists())
+                .andReturn().getResponse().getHeader("Location");
+    }
+
+    private void awaitRunning(String location) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            MvcResult result = mockMvc.perform(get(location)).andReturn();
+            if ("RUNNING".equals(objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("state").asText())) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Export job did not start");
+    }
+
+    private void awaitCompleted(String location) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            MvcResult result = mockMvc.perform(get(location)).andReturn();
+            if (result.getResponse().getStatus() == 200) {
+                String contentType = result.getResponse().getContentType();
+                if (contentType != null && contentType.startsWith("application/json")) {
+                    JsonNode status = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+                    throw new AssertionError("Export job ended as " + status);
+                }
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Export job did not complete");
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
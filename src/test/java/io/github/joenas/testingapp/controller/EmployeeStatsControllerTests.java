@@ -0,0 +1,63 @@
+package io.github.joenas.testingapp.controller;
+
+import io.github.joenas.testingapp.exception.ServiceUnavailableException;
+import io.github.joenas.testingapp.stats.EmployeeStats;
+import io.github.joenas.testingapp.stats.EmployeeStatsStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeStatsController.class)
+public class EmployeeStatsControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeStatsStore employeeStatsStore;
+
+    @DisplayName("JUnit test for reading the employee statistics")
+    @Test
+    public void givenBuiltStats_whenGetStats_thenReturnCounts() throws Exception {
+        //given - precondition or setup
+        Instant now = Instant.now();
+        given(employeeStatsStore.getStats()).willReturn(new EmployeeStats(3, Map.of("doe.com", 2L, "roe.com", 1L),
+                Map.of("D", 2L, "R", 1L), now, now, false));
+
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees/stats"))
+
+        //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byEmailDomain['doe.com']").value(2))
+                .andExpect(jsonPath("$.byLastNameInitial.R").value(1))
+                .andExpect(jsonPath("$.stale").value(false));
+    }
+
+    @DisplayName("JUnit test for reading the employee statistics before they are built")
+    @Test
+    public void givenStatsNotBuilt_whenGetStats_thenServiceUnavailable() throws Exception {
+        //given - precondition or setup
+        given(employeeStatsStore.getStats()).willThrow(new ServiceUnavailableException("Employee statistics are not built yet"));
+
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees/stats"))
+
+        //then - verify the output
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+}
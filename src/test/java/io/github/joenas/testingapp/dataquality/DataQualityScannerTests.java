@@ -0,0 +1,178 @@
+package io.github.joenas.testingapp.dataquality;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.model.EmailHash;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// The scanner runs against an in-memory H2 database migrated like the application's, up to V8: the unique email
+// hash of V9 rejects the duplicates the scan looks for, which only databases from before it can contain.
+public class DataQualityScannerTests {
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataQualityScanner scanner;
+
+    @BeforeEach
+    public void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        Flyway.configure()
+                .dataSource(database)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .target("8")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (scanner != null) {
+            scanner.destroy();
+        }
+        database.shutdown();
+    }
+
+    private void insert(long id, String firstName, String lastName, String email) {
+        jdbcTemplate.update("insert into employees (id, first_name, last_name, email, email_hash) values (?, ?, ?, ?, ?)",
+                id, firstName, lastName, email, EmailHash.of(email));
+    }
+
+    private DataQualityScanner scanner(int rangeSize, int pageSize, Duration pauseBetweenPages) throws Exception {
+        DataQualityProperties properties = new DataQualityProperties(true, "-", 2, 1, rangeSize, pageSize,
+                pauseBetweenPages, 0.9, directory);
+        scanner = new DataQualityScanner(jdbcTemplate, objectMapper, directory, properties, Clock.systemUTC());
+        return scanner;
+    }
+
+    private static DataQualityScan awaitFinished(DataQualityScan scan) throws InterruptedException {
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!scan.getState().isFinished() && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        return scan;
+    }
+
+    @DisplayName("JUnit test for finding exact, normalized email and similar name duplicates")
+    @Test
+    public void givenNearDuplicates_whenScan_thenReportGroupsThem() throws Exception {
+        //given - precondition or setup
+        insert(1, "John", "Doe", "john@doe.com");
+        insert(2, "John", "Doe", "john@doe.com");
+        insert(3, "Jane", "Doe", "jane@doe.com");
+        insert(4, "Mary", "Roe", "Mary.Roe@corp.com");
+        insert(5, "Maria", "Lopez", " mary.roe@corp.com");
+        insert(8, "Jon", "Smith", "jon@smith.com");
+        insert(21, "John", "Smyth", "john.smyth@other.com");
+        insert(22, "Martha", "Jones", "martha@jones.com");
+        insert(40, "Marhta", "Jones", "mjones@example.com");
+        // ranges of 5 ids read in pages of 2 rows, several of them empty
+        DataQualityScanner scanner = scanner(5, 2, Duration.ZERO);
+
+        //when - action or the behaviour to test
+        DataQualityScan scan = awaitFinished(scanner.start());
+
+        //then - verify the output
+        assertThat(scan.getState()).isEqualTo(DataQualityScan.State.COMPLETED);
+        assertThat(scan.getRanges()).isEqualTo(8);
+        assertThat(scan.getRangesCompleted()).isEqualTo(8);
+        assertThat(scan.getRowsScanned()).isEqualTo(9);
+        DataQualityReport report = scan.getReport();
+        assertThat(report.groups())
+                .extracting(DuplicateGroup::reason, group -> group.employees().stream().map(EmployeeRow::id).toList())
+                .containsExactly(
+                        tuple(DuplicateGroup.Reason.EXACT_EMAIL, List.of(1L, 2L)),
+                        tuple(DuplicateGroup.Reason.NORMALIZED_EMAIL, List.of(4L, 5L)),
+                        tuple(DuplicateGroup.Reason.SIMILAR_NAME, List.of(1L, 2L)),
+                        tuple(DuplicateGroup.Reason.SIMILAR_NAME, List.of(8L, 21L)),
+                        tuple(DuplicateGroup.Reason.SIMILAR_NAME, List.of(22L, 40L)));
+        assertThat(report.exactEmailGroups()).isEqualTo(1);
+        assertThat(report.normalizedEmailGroups()).isEqualTo(1);
+        assertThat(report.similarNameGroups()).isEqualTo(3);
+        DataQualityReport written = objectMapper.readValue(scan.getReportFile().toFile(), DataQualityReport.class);
+        assertThat(written).isEqualTo(report);
+    }
+
+    @DisplayName("JUnit test for scanning an empty table")
+    @Test
+    public void givenNoEmployees_whenScan_thenEmptyReport() throws Exception {
+        //given - precondition or setup
+        DataQualityScanner scanner = scanner(100, 10, Duration.ZERO);
+
+        //when - action or the behaviour to test
+        DataQualityScan scan = awaitFinished(scanner.start());
+
+        //then - verify the output
+        assertThat(scan.getState()).isEqualTo(DataQualityScan.State.COMPLETED);
+        assertThat(scan.getReport().groups()).isEmpty();
+        assertThat(scan.getReportFile()).exists();
+    }
+
+    @DisplayName("JUnit test for cancelling a running scan")
+    @Test
+    public void givenRunningScan_whenCancel_thenScanStopsWithoutReport() throws Exception {
+        //given - precondition or setup
+        for (long id = 1; id <= 20; id++) {
+            insert(id, "First" + id, "Last" + id, "employee" + id + "@example.com");
+        }
+        DataQualityScanner scanner = scanner(10, 1, Duration.ofMillis(100));
+        DataQualityScan scan = scanner.start();
+
+        //when - action or the behaviour to test
+        boolean cancelled = scanner.cancel();
+
+        //then - verify the output
+        assertThat(cancelled).isTrue();
+        awaitFinished(scan);
+        Thread.sleep(300);
+        assertThat(scan.getState()).isEqualTo(DataQualityScan.State.CANCELLED);
+        assertThat(scan.getRowsScanned()).isLessThan(20);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+        // a new scan can start once the previous one is cancelled
+        assertThat(scanner.start()).isNotSameAs(scan);
+    }
+
+    @DisplayName("JUnit test for the Soundex codes of the name blocking key")
+    @Test
+    public void givenNames_whenSoundex_thenAmericanSoundexCodes() {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+
+        //then - verify the output
+        assertThat(NameMatching.soundex("robert")).isEqualTo("r163");
+        assertThat(NameMatching.soundex("rupert")).isEqualTo("r163");
+        assertThat(NameMatching.soundex("ashcraft")).isEqualTo("a261");
+        assertThat(NameMatching.soundex("tymczak")).isEqualTo("t522");
+        assertThat(NameMatching.soundex("pfister")).isEqualTo("p236");
+        assertThat(NameMatching.blockingKey("Zoë", "O'Brien")).isEqualTo(NameMatching.blockingKey("Zoe", "OBrien"));
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.joenas.testingapp.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.TransactionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=10000"})
+public class DeadlineTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    private String employeeJson() throws Exception {
+        return objectMapper.writeValueAsString(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@doe.com")
+                .build());
+    }
+
+    private double timeouts(String repositoryMethod) {
+        Counter counter = meterRegistry.find("employee.repository.timeouts").tag("method", repositoryMethod).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @DisplayName("JUnit test for a request whose deadline is already spent")
+    @Test
+    public void givenZeroRequestTimeout_whenCreateEmployee_thenGatewayTimeout() throws Exception {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        mockMvc.perform(post("/api/employees")
+                        .header(DeadlineFilter.TIMEOUT_HEADER, "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(employeeJson()))
+
+        //then - verify the output
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.type").value("/problems/deadline-exceeded"));
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    @DisplayName("JUnit test for a request within its deadline")
+    @Test
+    public void givenRequestTimeout_whenCreateEmployee_thenCreated() throws Exception {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        mockMvc.perform(post("/api/employees")
+                        .header(DeadlineFilter.TIMEOUT_HEADER, "5000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(employeeJson()))
+
+        //then - verify the output
+                .andExpect(status().isCreated());
+        assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for a request that cannot get a connection within its deadline")
+    @Test
+    public void givenPoolExhausted_whenCreateEmployee_thenFailsWithinDeadline() throws Exception {
+        //given - precondition or setup
+        double timeoutsBefore = timeouts("findByEmail");
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+
+            //when - action or the behaviour to test
+            long start = System.nanoTime();
+            mockMvc.perform(post("/api/employees")
+                            .header(DeadlineFilter.TIMEOUT_HEADER, "300")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(employeeJson()))
+
+            //then - verify the output
+                    .andExpect(status().is5xxServerError());
+            // far below the 10s the pool itself would wait
+            assertThat(System.nanoTime() - start).isLessThan(3_000_000_000L);
+        }
+        assertThat(timeouts("findByEmail")).isEqualTo(timeoutsBefore + 1);
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    @DisplayName("JUnit test for Hibernate giving up on the transaction timeout before the deadline")
+    @Test
+    public void givenHibernateTransactionTimeout_whenCall_thenDeadlineExceeded() {
+        //given - precondition or setup
+        RepositoryDeadlines repositoryDeadlines = new RepositoryDeadlines(mock(PlatformTransactionManager.class),
+                meterRegistry);
+        double timeoutsBefore = timeouts("findById");
+        Deadline.start(Duration.ofSeconds(5));
+        try {
+
+            //when - action or the behaviour to test
+            assertThatThrownBy(() -> repositoryDeadlines.call("findById", () -> {
+                throw new JpaSystemException(new TransactionException("transaction timeout expired"));
+            }))
+
+            //then - verify the output
+                    .isInstanceOf(DeadlineExceededException.class);
+            assertThat(timeouts("findById")).isEqualTo(timeoutsBefore + 1);
+        } finally {
+            Deadline.clear();
+        }
+    }
+
+    @DisplayName("JUnit test for a Hibernate transaction failure well inside the deadline")
+    @Test
+    public void givenHibernateTransactionFailure_whenCall_thenRethrown() {
+        //given - precondition or setup
+        RepositoryDeadlines repositoryDeadlines = new RepositoryDeadlines(mock(PlatformTransactionManager.class),
+                meterRegistry);
+        double timeoutsBefore = timeouts("findById");
+        Deadline.start(Duration.ofSeconds(5));
+        try {
+
+            //when - action or the behaviour to test
+            assertThatThrownBy(() -> repositoryDeadlines.call("findById", () -> {
+                throw new JpaSystemException(new TransactionException("Transaction already active"));
+            }))
+
+            //then - verify the output
+                    .isInstanceOf(JpaSystemException.class);
+            assertThat(timeouts("findById")).isEqualTo(timeoutsBefore);
+        } finally {
+            Deadline.clear();
+        }
+    }
+}
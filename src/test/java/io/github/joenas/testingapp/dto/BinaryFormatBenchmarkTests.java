@@ -0,0 +1,68 @@
+package io.github.joenas.testingapp.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Payload size and encode/decode throughput of a 10k employee list in JSON, CBOR and Smile.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+public class BinaryFormatBenchmarkTests {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int ITERATIONS = 300;
+    private static final TypeReference<List<EmployeeResponse>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @DisplayName("Benchmark JSON, CBOR and Smile for a 10k employee list")
+    @Test
+    public void compareFormats() throws Exception {
+        List<EmployeeResponse> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            employees.add(new EmployeeResponse(i, "First" + i, "Last" + i, "employee" + i + "@example.com"));
+        }
+        for (JsonFactory factory : List.of(new JsonFactory(), new CBORFactory(), new SmileFactory())) {
+            ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                    .factory(factory)
+                    .modules(new BlackbirdModule(),
+                            new SimpleModule().addSerializer(EmployeeResponse.class, new EmployeeResponseJsonSerializer()))
+                    .build();
+            byte[] payload = mapper.writeValueAsBytes(employees);
+            assertThat(mapper.readValue(payload, EMPLOYEE_LIST)).isEqualTo(employees);
+
+            double encodePerSecond = throughput(() -> mapper.writeValueAsBytes(employees));
+            double decodePerSecond = throughput(() -> mapper.readValue(payload, EMPLOYEE_LIST));
+            System.out.printf("%-6s: %,10d bytes, encode %7.1f lists/s, decode %7.1f lists/s%n",
+                    factory.getFormatName(), payload.length, encodePerSecond, decodePerSecond);
+        }
+    }
+
+    private static double throughput(ThrowingRunnable operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return ITERATIONS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
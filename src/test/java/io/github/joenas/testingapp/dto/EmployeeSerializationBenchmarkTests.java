@@ -0,0 +1,85 @@
+package io.github.joenas.testingapp.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.github.joenas.testingapp.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Serializes a 10k element employee list the way GET /api/employees did before (the entity through
+// a default ObjectMapper) and does now (mapped records, hand-written serializer, Blackbird).
+// Reports throughput and bytes allocated per list. Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+public class EmployeeSerializationBenchmarkTests {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 500;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @DisplayName("Benchmark serializing a 10k employee list, entity vs. DTO")
+    @Test
+    public void compareEntityAndDtoListSerialization() throws Exception {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            employees.add(Employee.builder().id(i).firstName("First" + i).lastName("Last" + i)
+                    .email("employee" + i + "@example.com").build());
+        }
+        ObjectMapper entityMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper dtoMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new BlackbirdModule(),
+                        new SimpleModule().addSerializer(EmployeeResponse.class, new EmployeeResponseJsonSerializer()))
+                .build();
+
+        Result entity = run(() -> entityMapper.writeValue(OutputStream.nullOutputStream(), employees));
+        Result dto = run(() -> dtoMapper.writeValue(OutputStream.nullOutputStream(),
+                EmployeeMapper.toResponses(employees)));
+        List<EmployeeResponse> responses = EmployeeMapper.toResponses(employees);
+        Result dtoSerializationOnly = run(() -> dtoMapper.writeValue(OutputStream.nullOutputStream(), responses));
+
+        print("entity", entity);
+        print("dto incl. mapping", dto);
+        print("dto serialization", dtoSerializationOnly);
+        assertThat(dtoMapper.writeValueAsString(EmployeeMapper.toResponses(employees)))
+                .isEqualTo(entityMapper.writeValueAsString(employees));
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("%-18s: %8.1f lists/s, %,12d bytes allocated per list%n",
+                name, result.perSecond(), result.bytesPerOp());
+    }
+
+    private static Result run(ThrowingRunnable operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(ITERATIONS / (elapsed / 1e9), allocated / ITERATIONS);
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private record Result(double perSecond, long bytesPerOp) {
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.joenas.testingapp.emailfilter;
+
+import io.github.joenas.testingapp.model.EmailHash;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The filter reads committed rows with its own queries, so the employees are saved outside a test transaction.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class KnownEmailFilterTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private KnownEmailFilter knownEmailFilter;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> Employee.builder()
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john" + i + "@doe.com")
+                        .build())
+                .toList());
+        knownEmailFilter = new KnownEmailFilter(jdbcTemplate, employeeRepository, 1000, 0.01);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        knownEmailFilter.destroy();
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for the filter asking the database until it is built")
+    @Test
+    public void givenFilterNotBuilt_whenMightExist_thenTrue() {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        boolean mightExist = knownEmailFilter.mightExist("new@doe.com");
+
+        //then - verify the output
+        assertThat(mightExist).isTrue();
+        assertThat(knownEmailFilter.isReady()).isFalse();
+    }
+
+    @DisplayName("JUnit test for the rebuilt filter knowing every stored email in any case")
+    @Test
+    public void givenStoredEmployees_whenRebuild_thenEveryEmailMightExist() {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        knownEmailFilter.rebuild();
+
+        //then - verify the output
+        assertThat(knownEmailFilter.isReady()).isTrue();
+        assertThat(IntStream.range(0, 100)).allMatch(i -> knownEmailFilter.mightExist(" JOHN" + i + "@doe.com"));
+        assertThat(knownEmailFilter.approximateSize()).isBetween(90L, 110L);
+    }
+
+    @DisplayName("JUnit test for the filter answering most new emails without the database")
+    @Test
+    public void givenRebuiltFilter_whenMightExistForNewEmails_thenMostAreAbsent() {
+        //given - precondition or setup
+        knownEmailFilter.rebuild();
+
+        //when - action or the behaviour to test
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> knownEmailFilter.mightExist("jane" + i + "@doe.com"))
+                .count();
+
+        //then - verify the output
+        assertThat(falsePositives).isLessThan(200);
+        assertThat(knownEmailFilter.getAbsent()).isEqualTo(10_000 - falsePositives);
+        assertThat(knownEmailFilter.expectedFalsePositiveRate()).isLessThan(0.01);
+    }
+
+    @DisplayName("JUnit test for an employee created after the build being known to the filter")
+    @Test
+    public void givenRebuiltFilter_whenEmployeeCreated_thenEmailMightExist() {
+        //given - precondition or setup
+        knownEmailFilter.rebuild();
+        Employee created = Employee.builder().id(1000).firstName("Jane").lastName("Doe").email("jane@doe.com").build();
+
+        //when - action or the behaviour to test
+        knownEmailFilter.onEmployeeChanged(EmployeeChangedEvent.created(created));
+
+        //then - verify the output
+        assertThat(knownEmailFilter.mightExist("jane@doe.com")).isTrue();
+    }
+
+    @DisplayName("JUnit test for the Bloom filter never reporting a put hash as absent")
+    @Test
+    public void givenPutHashes_whenMightContain_thenNoFalseNegatives() {
+        //given - precondition or setup
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        List<Long> hashes = LongStream.range(0, 10_000).mapToObj(i -> EmailHash.of(i + "@doe.com")).toList();
+
+        //when - action or the behaviour to test
+        hashes.forEach(filter::put);
+
+        //then - verify the output
+        assertThat(hashes).allMatch(filter::mightContain);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+    }
+}
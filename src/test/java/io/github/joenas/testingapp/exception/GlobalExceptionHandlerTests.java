@@ -0,0 +1,62 @@
+package io.github.joenas.testingapp.exception;
+
+import io.github.joenas.testingapp.querybudget.QueryBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ProblemDetail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GlobalExceptionHandlerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistryProvider());
+
+    private ObjectProvider<MeterRegistry> meterRegistryProvider() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+
+    private double errors(String exception, String status) {
+        return meterRegistry.get("employee.api.errors")
+                .tag("exception", exception)
+                .tag("status", status)
+                .counter().count();
+    }
+
+    @DisplayName("JUnit test for counting a query budget violation as an API error")
+    @Test
+    public void givenQueryBudgetExceeded_whenHandled_thenReturns500AndErrorIsCounted() {
+        //given - precondition or setup
+        QueryBudgetExceededException exception = new QueryBudgetExceededException("7 queries");
+
+        //when - action or the behaviour to test
+        ProblemDetail problemDetail = handler.handleQueryBudgetExceeded(exception);
+
+        //then - verify the output
+        assertThat(problemDetail.getStatus()).isEqualTo(500);
+        assertThat(problemDetail.getType()).isEqualTo(GlobalExceptionHandler.QUERY_BUDGET_TYPE);
+        assertThat(errors("QueryBudgetExceededException", "500")).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for the error counters registered before the first error")
+    @Test
+    public void givenNoErrorsYet_whenHandlerCreated_thenEveryHandledTypeHasACounter() {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        handler.handleResourceNotFound(new ResourceNotFoundException("Employee not found with id: 1"));
+
+        //then - verify the output
+        assertThat(errors("ResourceNotFoundException", "404")).isEqualTo(1);
+        assertThat(errors("ResourceConflictException", "409")).isZero();
+        assertThat(errors("DeadlineExceededException", "504")).isZero();
+        assertThat(errors("QueryBudgetExceededException", "500")).isZero();
+    }
+}
@@ -0,0 +1,224 @@
+package io.github.joenas.testingapp.fanout;
+
+import io.github.joenas.testingapp.deadline.Deadline;
+import io.github.joenas.testingapp.deadline.DeadlineExceededException;
+import io.github.joenas.testingapp.exception.InvalidRequestException;
+import io.github.joenas.testingapp.exception.ServiceUnavailableException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AsyncEmployeeServiceTests {
+
+    private static final int MAX_PARALLELISM = 4;
+
+    private EmployeeService employeeService;
+    private AsyncEmployeeService asyncEmployeeService;
+
+    @BeforeEach
+    public void setup() {
+        employeeService = mock(EmployeeService.class);
+        asyncEmployeeService = new AsyncEmployeeService(employeeService, MAX_PARALLELISM, 100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        asyncEmployeeService.close();
+        Deadline.clear();
+    }
+
+    private static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("employee" + id + "@example.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for looking up several employees by id in parallel")
+    @Test
+    public void givenIds_whenGetEmployeesByIds_thenExistingEmployeesInIdOrder() {
+        //given - precondition or setup
+        given(employeeService.getEmployeeById(anyLong()))
+                .willAnswer(invocation -> Optional.of(employee(invocation.getArgument(0))));
+        given(employeeService.getEmployeeById(2L)).willReturn(Optional.empty());
+
+        //when - action or the behaviour to test
+        List<Employee> employees = asyncEmployeeService.getEmployeesByIds(List.of(3L, 1L, 2L, 3L)).join();
+
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(3L, 1L);
+        verify(employeeService, times(1)).getEmployeeById(3L);
+    }
+
+    @DisplayName("JUnit test for the number of lookups running at the same time")
+    @Test
+    public void givenManyIds_whenGetEmployeesByIds_thenAtMostMaxParallelismRunAtOnce() {
+        //given - precondition or setup
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        given(employeeService.getEmployeeById(anyLong())).willAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return Optional.of(employee(invocation.getArgument(0)));
+        });
+
+        //when - action or the behaviour to test
+        List<Employee> employees = asyncEmployeeService
+                .getEmployeesByIds(LongStream.rangeClosed(1, 50).boxed().toList()).join();
+
+        //then - verify the output
+        assertThat(employees).hasSize(50);
+        assertThat(maxRunning.get()).isGreaterThan(1).isLessThanOrEqualTo(MAX_PARALLELISM);
+        assertThat(asyncEmployeeService.getAvailablePermits()).isEqualTo(MAX_PARALLELISM);
+    }
+
+    @DisplayName("JUnit test for cancelling the other lookups when one of them fails")
+    @Test
+    public void givenFailingLookup_whenGetEmployeesByIds_thenSiblingsAreInterrupted() throws Exception {
+        //given - precondition or setup
+        // the first calls to get a permit block, the last one fails once they are all running
+        CountDownLatch blockedStarted = new CountDownLatch(MAX_PARALLELISM - 1);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger interrupted = new AtomicInteger();
+        given(employeeService.getEmployeeById(anyLong())).willAnswer(invocation -> {
+            if (calls.incrementAndGet() == MAX_PARALLELISM) {
+                blockedStarted.await();
+                throw new ServiceUnavailableException("Database is down");
+            }
+            blockedStarted.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return Optional.empty();
+        });
+
+        //when - action or the behaviour to test
+        CompletableFuture<List<Employee>> employees =
+                asyncEmployeeService.getEmployeesByIds(LongStream.rangeClosed(1, 20).boxed().toList());
+
+        //then - verify the output
+        CompletionException failure = assertThrows(CompletionException.class, employees::join);
+        assertThat(failure.getCause()).isInstanceOf(ServiceUnavailableException.class);
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (asyncEmployeeService.getAvailablePermits() < MAX_PARALLELISM && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertThat(interrupted.get()).isEqualTo(MAX_PARALLELISM - 1);
+        assertThat(asyncEmployeeService.getAvailablePermits()).isEqualTo(MAX_PARALLELISM);
+        // the ids still waiting for a permit never reached the service
+        verify(employeeService, times(MAX_PARALLELISM)).getEmployeeById(anyLong());
+    }
+
+    @DisplayName("JUnit test for the request deadline on the fan-out threads")
+    @Test
+    public void givenDeadline_whenFanOut_thenCallsSeeTheCallersDeadline() {
+        //given - precondition or setup
+        Deadline deadline = Deadline.start(Duration.ofSeconds(5));
+
+        //when - action or the behaviour to test
+        Map<Long, Deadline> deadlines = asyncEmployeeService.fanOut(List.of(1L, 2L), id -> Deadline.current()).join();
+
+        //then - verify the output
+        assertThat(deadlines.values()).containsOnly(deadline);
+    }
+
+    @DisplayName("JUnit test for a fan-out waiting for permits past the deadline")
+    @Test
+    public void givenPermitsHeldPastDeadline_whenFanOut_thenDeadlineExceeded() throws Exception {
+        //given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Map<Long, Boolean>> holding = asyncEmployeeService.fanOut(
+                LongStream.rangeClosed(1, MAX_PARALLELISM).boxed().toList(), id -> {
+                    try {
+                        return release.await(1, TimeUnit.MINUTES);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (asyncEmployeeService.getAvailablePermits() > 0 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        Deadline.start(Duration.ofMillis(50));
+
+        //when - action or the behaviour to test
+        CompletableFuture<List<Employee>> employees = asyncEmployeeService.getEmployeesByIds(List.of(9L));
+
+        //then - verify the output
+        CompletionException failure = assertThrows(CompletionException.class, employees::join);
+        assertThat(failure.getCause()).isInstanceOf(DeadlineExceededException.class);
+        verify(employeeService, times(0)).getEmployeeById(anyLong());
+        release.countDown();
+        assertThat(holding.join()).hasSize(MAX_PARALLELISM);
+    }
+
+    @DisplayName("JUnit test for a fan-out whose calls outlast the deadline")
+    @Test
+    public void givenSlowLookup_whenGetEmployeesByIds_thenDeadlineExceededAndLookupInterrupted() {
+        //given - precondition or setup
+        AtomicInteger interrupted = new AtomicInteger();
+        given(employeeService.getEmployeeById(anyLong())).willAnswer(invocation -> {
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return Optional.empty();
+        });
+        Deadline.start(Duration.ofMillis(50));
+
+        //when - action or the behaviour to test
+        CompletableFuture<List<Employee>> employees = asyncEmployeeService.getEmployeesByIds(List.of(1L));
+
+        //then - verify the output
+        CompletionException failure = assertThrows(CompletionException.class, employees::join);
+        assertThat(failure.getCause()).isInstanceOf(DeadlineExceededException.class);
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (interrupted.get() == 0 && System.nanoTime() < waitUntil) {
+            Thread.onSpinWait();
+        }
+        assertThat(interrupted.get()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for a lookup of more ids than allowed")
+    @Test
+    public void givenTooManyIds_whenGetEmployeesByIds_thenThrowsInvalidRequestException() {
+        //given - precondition or setup
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        //when - action or the behaviour to test
+        assertThrows(InvalidRequestException.class, () -> asyncEmployeeService.getEmployeesByIds(ids));
+
+        //then - verify the output
+        verify(employeeService, times(0)).getEmployeeById(anyLong());
+    }
+}
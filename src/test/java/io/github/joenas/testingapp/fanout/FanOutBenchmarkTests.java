@@ -0,0 +1,85 @@
+package io.github.joenas.testingapp.fanout;
+
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+// Latency of a 50 id lookup against a simulated database (a pool of 10 connections, a constant round trip),
+// serially through EmployeeService and fanned out through AsyncEmployeeService.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+public class FanOutBenchmarkTests {
+
+    private static final int POOL_SIZE = 10;
+    private static final long ROUND_TRIP_NANOS = 1_000_000;
+    private static final int IDS = 50;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 100;
+
+    @DisplayName("Benchmark a 50-way fan-out against the serial lookup")
+    @Test
+    public void compareSerialAndFanOut() {
+        Semaphore connections = new Semaphore(POOL_SIZE);
+        EmployeeService employeeService = mock(EmployeeService.class);
+        given(employeeService.getEmployeeById(anyLong())).willAnswer(invocation -> {
+            connections.acquire();
+            try {
+                LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                return Optional.of(Employee.builder().id(invocation.getArgument(0)).build());
+            } finally {
+                connections.release();
+            }
+        });
+        List<Long> ids = LongStream.rangeClosed(1, IDS).boxed().toList();
+
+        try (AsyncEmployeeService asyncEmployeeService = new AsyncEmployeeService(employeeService, POOL_SIZE, IDS)) {
+            long[] serial = measure(() -> {
+                List<Employee> employees = new ArrayList<>(IDS);
+                for (long id : ids) {
+                    employeeService.getEmployeeById(id).ifPresent(employees::add);
+                }
+                assertThat(employees).hasSize(IDS);
+            });
+            long[] fanOut = measure(() -> assertThat(asyncEmployeeService.getEmployeesByIds(ids).join()).hasSize(IDS));
+            System.out.printf("serial : p50 %6.2f ms, p99 %6.2f ms%n", percentile(serial, 50), percentile(serial, 99));
+            System.out.printf("fan-out: p50 %6.2f ms, p99 %6.2f ms%n", percentile(fanOut, 50), percentile(fanOut, 99));
+
+            // 50 round trips one after another against 5 rounds of 10 in parallel
+            assertThat(percentile(fanOut, 50)).isLessThan(percentile(serial, 50) / 3);
+        }
+    }
+
+    private static long[] measure(Runnable lookup) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            lookup.run();
+        }
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            lookup.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static double percentile(long[] sortedLatencies, int percentile) {
+        int index = Math.min(sortedLatencies.length - 1, sortedLatencies.length * percentile / 100);
+        return sortedLatencies[index] / 1e6;
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.joenas.testingapp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.controller.EmployeeController;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeController.class)
+@Import(IdempotencyConfig.class)
+public class IdempotencyFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @DisplayName("JUnit test for a retried POST answered from the idempotency store")
+    @Test
+    public void givenSameIdempotencyKey_whenCreateEmployeeTwice_thenServiceIsCalledOnce() throws Exception {
+        //given - precondition or setup
+        Employee employee = employee("jane@doe.com");
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> assignId(invocation.getArgument(0)));
+        //when - action or the behaviour to test
+        createEmployee("key-1", employee).andExpect(status().isCreated());
+        ResultActions retry = createEmployee("key-1", employee);
+        //then - verify the output
+        retry.andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/employees/1"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.email").value(employee.getEmail()));
+        verify(employeeService, times(1)).saveEmployee(any(Employee.class));
+    }
+
+    @DisplayName("JUnit test for an Idempotency-Key reused with a different body")
+    @Test
+    public void givenSameIdempotencyKeyAndDifferentBody_whenCreateEmployee_thenReturn422() throws Exception {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> assignId(invocation.getArgument(0)));
+        createEmployee("key-2", employee("jane@doe.com")).andExpect(status().isCreated());
+        //when - action or the behaviour to test
+        ResultActions response = createEmployee("key-2", employee("john@doe.com"));
+        //then - verify the output
+        response.andExpect(status().isUnprocessableEntity());
+        verify(employeeService, times(1)).saveEmployee(any(Employee.class));
+    }
+
+    @DisplayName("JUnit test for concurrent retries waiting on the first attempt")
+    @Test
+    public void givenConcurrentRetries_whenCreateEmployee_thenServiceIsCalledOnce() throws Exception {
+        //given - precondition or setup
+        Employee employee = employee("jane@doe.com");
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> {
+            Thread.sleep(200);
+            return assignId((Employee) invocation.getArgument(0));
+        });
+        Callable<MvcResult> retry = () -> createEmployee("key-3", employee).andReturn();
+        //when - action or the behaviour to test
+        List<Future<MvcResult>> results;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            results = executor.invokeAll(List.of(retry, retry, retry, retry));
+        }
+        //then - verify the output
+        for (Future<MvcResult> result : results) {
+            assertThat(result.get().getResponse().getStatus()).isEqualTo(201);
+            assertThat(result.get().getResponse().getContentAsString()).contains("\"id\":1");
+        }
+        verify(employeeService, times(1)).saveEmployee(any(Employee.class));
+    }
+
+    @DisplayName("JUnit test for a retry waiting on a key reserved by another instance")
+    @Test
+    public void givenKeyReservedElsewhere_whenCreateEmployee_thenReplaysResponseOnceStored() throws Exception {
+        //given - precondition or setup
+        Employee employee = employee("jane@doe.com");
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> assignId(invocation.getArgument(0)));
+        MvcResult first = createEmployee("key-4", employee).andReturn();
+        StoredResponse response = idempotencyStore.find("key-4").orElseThrow();
+        idempotencyStore.save("key-5", StoredResponse.pending(response.requestHash(), Instant.now()));
+        //when - action or the behaviour to test
+        CompletableFuture<MvcResult> retry = CompletableFuture.supplyAsync(() -> {
+            try {
+                return createEmployee("key-5", employee).andReturn();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(retry).isNotDone();
+        idempotencyStore.save("key-5", response);
+        //then - verify the output
+        MockHttpServletResponse replayed = retry.get(5, TimeUnit.SECONDS).getResponse();
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replayed.getHeader(HttpHeaders.LOCATION))
+                .isEqualTo(first.getResponse().getHeader(HttpHeaders.LOCATION));
+        verify(employeeService, times(1)).saveEmployee(any(Employee.class));
+    }
+
+    @DisplayName("JUnit test for reserving keys in the database")
+    @Test
+    public void givenJdbcStore_whenReserveTwice_thenOnlyFirstReservationAndAbandonedOneIsTakenOver() {
+        //given - precondition or setup
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate, Duration.ofHours(24), Duration.ofMinutes(1),
+                Clock.fixed(now, ZoneOffset.UTC));
+        JdbcIdempotencyStore later = new JdbcIdempotencyStore(jdbcTemplate, Duration.ofHours(24), Duration.ofMinutes(1),
+                Clock.fixed(now.plus(Duration.ofMinutes(2)), ZoneOffset.UTC));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create("http://localhost/api/employees/7"));
+        //when - action or the behaviour to test
+        boolean first = store.reserve("a", StoredResponse.pending("hash", now));
+        boolean second = store.reserve("a", StoredResponse.pending("hash", now));
+        boolean takenOver = later.reserve("a", StoredResponse.pending("hash", now.plus(Duration.ofMinutes(2))));
+        later.save("a", new StoredResponse("hash", 201, MediaType.APPLICATION_JSON_VALUE, headers, new byte[]{1},
+                now.plus(Duration.ofMinutes(2))));
+        //then - verify the output
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(takenOver).isTrue();
+        StoredResponse stored = later.find("a").orElseThrow();
+        assertThat(stored.isPending()).isFalse();
+        assertThat(stored.headers().getLocation()).isEqualTo(headers.getLocation());
+        assertThat(later.reserve("a", StoredResponse.pending("hash", now))).isFalse();
+    }
+
+    @DisplayName("JUnit test for the in-memory store evicting by size and ttl")
+    @Test
+    public void givenFullStore_whenSave_thenOldestAndExpiredEntriesAreEvicted() {
+        //given - precondition or setup
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(10), Duration.ofMinutes(1), 2,
+                Clock.fixed(now, ZoneOffset.UTC));
+        //when - action or the behaviour to test
+        store.save("a", stored(now.minus(Duration.ofMinutes(20))));
+        store.save("b", stored(now));
+        store.save("c", stored(now));
+        //then - verify the output
+        assertThat(store.find("a")).isEmpty();
+        assertThat(store.find("b")).isPresent();
+        assertThat(store.size()).isEqualTo(2);
+
+        store.save("d", stored(now.minus(Duration.ofMinutes(20))));
+        assertThat(store.find("d")).isEmpty();
+        assertThat(store.find("c")).isPresent();
+    }
+
+    private ResultActions createEmployee(String idempotencyKey, Employee employee) throws Exception {
+        return mockMvc.perform(post("/api/employees")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+    }
+
+    private Employee assignId(Employee employee) {
+        employee.setId(ids.incrementAndGet());
+        return employee;
+    }
+
+    private static StoredResponse stored(Instant createdAt) {
+        return new StoredResponse("hash", 201, MediaType.APPLICATION_JSON_VALUE, HttpHeaders.EMPTY, new byte[0],
+                createdAt);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email(email)
+                .build();
+    }
+}
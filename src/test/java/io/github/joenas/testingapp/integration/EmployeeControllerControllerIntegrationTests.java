@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static io.github.joenas.testingapp.querybudget.QueryCountAssertions.queryCountAtMost;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -69,8 +70,10 @@ public class EmployeeControllerControllerIntegrationTests extends AbstractContai
                 .content(objectMapper.writeValueAsString(employee)));
 
         // then - verify the result or output using assert statements
+        // the duplicate email lookup and the insert
         response.andDo(print()).
                 andExpect(status().isCreated())
+                .andExpect(queryCountAtMost(2))
                 .andExpect(jsonPath("$.firstName",
                         is(employee.getFirstName())))
                 .andExpect(jsonPath("$.lastName",
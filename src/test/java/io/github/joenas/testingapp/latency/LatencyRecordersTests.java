@@ -0,0 +1,122 @@
+package io.github.joenas.testingapp.latency;
+
+import io.github.joenas.testingapp.controller.EmployeeController;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeController.class)
+// the real service, mocks are registered as finished singletons and never reach the wrapping post processor
+@Import({LatencyConfig.class, EmployeeServiceImpl.class})
+@TestPropertySource(properties = "app.latency.enabled=true")
+public class LatencyRecordersTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LatencyRecorders latencyRecorders;
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @DisplayName("JUnit test for the percentiles of the last interval and since startup")
+    @Test
+    public void givenRecordedLatencies_whenIntervalsSwapped_thenPercentilesReported() {
+        //given - precondition or setup
+        LatencyRecorders recorders = new LatencyRecorders(TimeUnit.SECONDS.toMicros(60), 2);
+        OperationLatency operation = recorders.operation("test");
+        for (int millis = 1; millis <= 1000; millis++) {
+            operation.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        recorders.swapIntervals();
+        operation.record(TimeUnit.SECONDS.toNanos(5));
+
+        //when - action or the behaviour to test
+        recorders.swapIntervals();
+        LatencyReport report = recorders.report().get("test");
+
+        //then - verify the output
+        assertThat(report.lastInterval().count()).isEqualTo(1);
+        assertThat(report.lastInterval().max()).isCloseTo(5000, within(50.0));
+        assertThat(report.total().count()).isEqualTo(1001);
+        assertThat(report.total().p50()).isCloseTo(500, within(5.0));
+        assertThat(report.total().p99()).isCloseTo(990, within(10.0));
+        assertThat(report.total().p999()).isCloseTo(1000, within(10.0));
+        assertThat(report.total().max()).isCloseTo(5000, within(50.0));
+    }
+
+    @DisplayName("JUnit test for resetting the recorded latencies")
+    @Test
+    public void givenRecordedLatencies_whenReset_thenNothingReported() {
+        //given - precondition or setup
+        LatencyRecorders recorders = new LatencyRecorders(TimeUnit.SECONDS.toMicros(60), 2);
+        recorders.operation("test").record(TimeUnit.MILLISECONDS.toNanos(10));
+        recorders.swapIntervals();
+        recorders.operation("test").record(TimeUnit.MILLISECONDS.toNanos(10));
+
+        //when - action or the behaviour to test
+        recorders.reset();
+        recorders.swapIntervals();
+
+        //then - verify the output
+        assertThat(recorders.report().get("test").lastInterval().count()).isZero();
+        assertThat(recorders.report().get("test").total().count()).isZero();
+    }
+
+    @DisplayName("JUnit test for recording without allocating")
+    @Test
+    public void givenWarmedUpOperation_whenRecording_thenNothingIsAllocated() {
+        //given - precondition or setup
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        OperationLatency operation = new LatencyRecorders(TimeUnit.SECONDS.toMicros(60), 2).operation("test");
+        for (int i = 0; i < 100_000; i++) {
+            operation.record(i * 1000L);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+
+        //when - action or the behaviour to test
+        for (int i = 0; i < 1_000_000; i++) {
+            operation.record(i * 1000L);
+        }
+
+        //then - verify the output
+        // one allocation per call would be megabytes, the slack covers JIT and counter noise
+        assertThat(threads.getCurrentThreadAllocatedBytes() - before).isLessThan(64 * 1024);
+    }
+
+    @DisplayName("JUnit test for recording controller routes and EmployeeService methods")
+    @Test
+    public void givenRequest_whenHandled_thenRouteAndServiceMethodAreRecorded() throws Exception {
+        //given - precondition or setup
+        latencyRecorders.reset();
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(
+                Employee.builder().id(1L).firstName("John").lastName("Doe").email("john@doe.com").build()));
+
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees/{id}", 1L)).andExpect(status().isOk());
+        latencyRecorders.swapIntervals();
+
+        //then - verify the output
+        assertThat(latencyRecorders.report().get("GET /api/employees/{id}").lastInterval().count()).isEqualTo(1);
+        assertThat(latencyRecorders.report().get("EmployeeService.getEmployeeById").lastInterval().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.joenas.testingapp.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+    @DisplayName("JUnit test for tryAcquire rejecting requests above the limit")
+    @Test
+    public void givenLimitReached_whenTryAcquire_thenRejectRequest() {
+        //given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 2, 1, 10);
+        Optional<AdaptiveConcurrencyLimiter.Permit> first = limiter.tryAcquire();
+        Optional<AdaptiveConcurrencyLimiter.Permit> second = limiter.tryAcquire();
+        //when - action or the behaviour to test
+        Optional<AdaptiveConcurrencyLimiter.Permit> third = limiter.tryAcquire();
+        //then - verify the output
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(third).isEmpty();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+
+        first.get().onIgnore();
+        assertThat(limiter.tryAcquire()).isPresent();
+    }
+
+    @DisplayName("JUnit test for the limit growing while latency stays at the baseline")
+    @Test
+    public void givenSteadyLatencyAtFullUtilization_whenOnSample_thenLimitGrows() {
+        //given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 10, 1, 100);
+        //when - action or the behaviour to test
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(5 * MILLIS, limiter.getLimit());
+        }
+        //then - verify the output
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+
+    @DisplayName("JUnit test for the limit shrinking once latency rises above the baseline")
+    @Test
+    public void givenRisingLatency_whenOnSample_thenLimitShrinks() {
+        //given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("write", 50, 2, 100);
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(5 * MILLIS, 1);
+        }
+        int limitBefore = limiter.getLimit();
+        //when - action or the behaviour to test
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(50 * MILLIS, limiter.getLimit());
+        }
+        //then - verify the output
+        assertThat(limitBefore).isEqualTo(50);
+        assertThat(limiter.getLimit()).isLessThan(limitBefore / 2);
+    }
+
+    @DisplayName("JUnit test for an application limited load leaving the limit unchanged")
+    @Test
+    public void givenLowUtilization_whenOnSample_thenLimitIsUnchanged() {
+        //given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 40, 1, 100);
+        //when - action or the behaviour to test
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample((i % 2 == 0 ? 5 : 500) * MILLIS, 3);
+        }
+        //then - verify the output
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+
+    @DisplayName("JUnit test for limiting the export jobs but not the streaming export")
+    @Test
+    public void givenLimitReached_whenExportRequests_thenOnlyExportJobsAreShed() throws Exception {
+        //given - precondition or setup
+        AdaptiveConcurrencyLimiter readLimiter = new AdaptiveConcurrencyLimiter("read", 1, 1, 10);
+        AdaptiveConcurrencyLimiter writeLimiter = new AdaptiveConcurrencyLimiter("write", 1, 1, 10);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter, Duration.ofSeconds(1));
+        assertThat(readLimiter.tryAcquire()).isPresent();
+        MockHttpServletResponse stream = new MockHttpServletResponse();
+        MockHttpServletResponse job = new MockHttpServletResponse();
+        //when - action or the behaviour to test
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/export"), stream, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/exports/1"), job, new MockFilterChain());
+        //then - verify the output
+        assertThat(stream.getStatus()).isEqualTo(200);
+        assertThat(job.getStatus()).isEqualTo(503);
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.joenas.testingapp.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Drives a simulated backend (a fixed number of "connections" with a constant service time) with
+// far more concurrent clients than it can serve, once without and once with the adaptive limiter.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+public class ConcurrencyLimitLoadTests {
+
+    private static final int BACKEND_CAPACITY = 8;
+    private static final long SERVICE_TIME_MILLIS = 2;
+    private static final long DURATION_MILLIS = 3_000;
+
+    @DisplayName("Load test showing stable p99 latency beyond saturation with the adaptive limiter")
+    @Test
+    public void givenOverload_whenLimiterIsActive_thenP99LatencyStaysStable() throws Exception {
+        //given - precondition or setup
+        int[] clientCounts = {BACKEND_CAPACITY * 4, BACKEND_CAPACITY * 16, BACKEND_CAPACITY * 32};
+        List<Result> unlimited = new ArrayList<>();
+        List<Result> limited = new ArrayList<>();
+        //when - action or the behaviour to test
+        for (int clients : clientCounts) {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 20, 4, 200);
+            unlimited.add(run(clients, null));
+            limited.add(run(clients, limiter));
+            System.out.printf("%4d clients  without limiter: %s%n", clients, unlimited.get(unlimited.size() - 1));
+            System.out.printf("%4d clients  with limiter:    %s, final limit %d%n",
+                    clients, limited.get(limited.size() - 1), limiter.getLimit());
+        }
+        //then - verify the output
+        Result lightOverload = limited.get(0);
+        Result heavyOverload = limited.get(limited.size() - 1);
+        // without the limiter p99 grows with the number of clients, with it p99 stays flat
+        assertThat(unlimited.get(unlimited.size() - 1).p99Millis()).isGreaterThan(unlimited.get(0).p99Millis() * 4);
+        assertThat(heavyOverload.p99Millis()).isLessThan(lightOverload.p99Millis() * 2 + SERVICE_TIME_MILLIS);
+        assertThat(heavyOverload.p99Millis()).isLessThan(unlimited.get(unlimited.size() - 1).p99Millis() / 2);
+        assertThat(heavyOverload.rejected()).isGreaterThan(0);
+        // shedding load must not cost throughput, the backend stays saturated
+        assertThat(heavyOverload.completed()).isGreaterThan(unlimited.get(unlimited.size() - 1).completed() / 2);
+    }
+
+    private Result run(int clientCount, AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        Semaphore connections = new Semaphore(BACKEND_CAPACITY, true);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong rejected = new AtomicLong();
+        long end = System.currentTimeMillis() + DURATION_MILLIS;
+        ExecutorService clients = Executors.newFixedThreadPool(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            clients.execute(() -> {
+                while (System.currentTimeMillis() < end) {
+                    long start = System.nanoTime();
+                    Optional<AdaptiveConcurrencyLimiter.Permit> permit =
+                            limiter == null ? Optional.empty() : limiter.tryAcquire();
+                    if (limiter != null && permit.isEmpty()) {
+                        rejected.incrementAndGet();
+                        // a client backing off as told by Retry-After, shortened for the test
+                        sleep(5);
+                        continue;
+                    }
+                    try {
+                        connections.acquire();
+                        try {
+                            sleep(SERVICE_TIME_MILLIS);
+                        } finally {
+                            connections.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    permit.ifPresent(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+                    latencies.add(System.nanoTime() - start);
+                }
+            });
+        }
+        clients.shutdown();
+        assertThat(clients.awaitTermination(DURATION_MILLIS * 2, TimeUnit.MILLISECONDS)).isTrue();
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+        return new Result(sorted.size(), rejected.get(), TimeUnit.NANOSECONDS.toMillis(p99));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(long completed, long rejected, long p99Millis) {
+    }
+}
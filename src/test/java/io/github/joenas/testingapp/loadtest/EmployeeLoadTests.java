@@ -0,0 +1,126 @@
+package io.github.joenas.testingapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.service.EmployeesInvalidatedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load test of /api/employees against the application with its embedded database. Bulk loads synthetic
+// employees, warms up, then drives the workload mix open loop and writes a LoadTestReport to target/loadtest.
+// Everything is set by system properties, the defaults fit a laptop:
+//   loadtest.seed=42 loadtest.employees=20000 loadtest.rate=100 (requests/s) loadtest.warmup=PT5S
+//   loadtest.duration=PT15S loadtest.mix=get=60,batch=10,stats=5,create=10,update=10,delete=5
+//   loadtest.arrivals=poisson|uniform loadtest.max-in-flight=1000 loadtest.report-dir=target/loadtest
+//   loadtest.baseline=target/loadtest/<runId>.json prints the change against an earlier run.
+// Run the same seed and settings twice to compare builds, e.g.
+// ./mvnw test -Pbenchmark -Dtest=EmployeeLoadTests -Dloadtest.rate=300 -Dloadtest.baseline=target/loadtest/<runId>.json
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "spring.jpa.properties.hibernate.generate_statistics=false"})
+public class EmployeeLoadTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from employees");
+    }
+
+    @DisplayName("Load test of the employee API with a seeded workload mix")
+    @Test
+    public void runWorkloadMix() throws Exception {
+        LoadTestReport.Settings settings = new LoadTestReport.Settings(
+                Long.getLong("loadtest.seed", 42),
+                Integer.getInteger("loadtest.employees", 20_000),
+                Double.parseDouble(System.getProperty("loadtest.rate", "100")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT5S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT15S")),
+                WorkloadMix.parse(System.getProperty("loadtest.mix", WorkloadMix.DEFAULT)).toString(),
+                !"uniform".equals(System.getProperty("loadtest.arrivals", "poisson")),
+                Integer.getInteger("loadtest.max-in-flight", 1000));
+        WorkloadMix mix = WorkloadMix.parse(settings.mix());
+
+        long loadStart = System.nanoTime();
+        new SyntheticEmployees(settings.seed(), "bulk").insert(jdbcTemplate, settings.employees());
+        System.out.printf("loaded %d employees in %d ms%n", settings.employees(),
+                Duration.ofNanos(System.nanoTime() - loadStart).toMillis());
+        // inserted behind the back of the caches, as if by another instance
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        eventPublisher.publishEvent(EmployeesInvalidatedEvent.everything());
+        List<Long> ids = jdbcTemplate.queryForList("select id from employees order by id", Long.class);
+
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(httpExecutor)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(httpClient,
+                    URI.create("http://localhost:" + port), objectMapper, mix, settings.seed(), ids,
+                    settings.maxInFlight());
+            generator.run(settings.rate(), settings.warmup(), settings.poissonArrivals());
+
+            Instant startedAt = Instant.now();
+            OpenLoopLoadGenerator.Result result =
+                    generator.run(settings.rate(), settings.duration(), settings.poissonArrivals());
+            String runId = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(startedAt)
+                    + "-seed" + settings.seed();
+            LoadTestReport report = LoadTestReport.of(runId, startedAt, settings, mix, result);
+            Path file = report.write(objectMapper,
+                    Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")));
+            System.out.print(report.summary());
+            System.out.println("report written to " + file);
+            String baseline = System.getProperty("loadtest.baseline");
+            if (baseline != null && Files.exists(Path.of(baseline))) {
+                System.out.print(report.compareTo(LoadTestReport.read(objectMapper, Path.of(baseline))));
+            }
+
+            // An open loop sends on schedule however slow the server is, Poisson arrivals vary around the rate.
+            // Latencies, errors and shed requests depend on the machine, they are reported rather than asserted.
+            double expected = settings.rate() * settings.duration().toNanos() / 1e9;
+            assertThat(report.sent()).isGreaterThan((long) (expected * 0.8));
+            assertThat(report.dropped()).isZero();
+            assertThat(report.total().statuses().values().stream().mapToLong(Long::longValue).sum())
+                    .isEqualTo(report.total().count());
+            assertThat(LoadTestReport.read(objectMapper, file)).isEqualTo(report);
+        }
+    }
+}
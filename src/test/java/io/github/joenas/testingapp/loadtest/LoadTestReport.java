@@ -0,0 +1,130 @@
+package io.github.joenas.testingapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// The result of one load test run as written to target/loadtest/<runId>.json. Holds everything needed to tell
+// whether two runs are comparable (settings, processors, JVM) next to the throughput and latency percentiles.
+// Latencies are measured from the time a request was scheduled to be sent, not from when it was sent.
+public record LoadTestReport(String runId, Instant startedAt, Settings settings, int availableProcessors,
+                             String javaVersion, long sent, long dropped, double maxScheduleLagMillis,
+                             Map<String, OperationStats> operations, OperationStats total) {
+
+    public record Settings(long seed, int employees, double rate, Duration warmup, Duration duration, String mix,
+                           boolean poissonArrivals, int maxInFlight) {
+    }
+
+    // Errors are 5xx responses and requests that got no response at all. A 503 is the server shedding load on
+    // purpose (ConcurrencyLimitFilter) and is counted as shed instead, it shows the rate is above capacity.
+    public record OperationStats(long count, double throughput, long errors, long shed, Map<Integer, Long> statuses,
+                                 double meanMillis, double p50Millis, double p90Millis, double p99Millis,
+                                 double p999Millis, double maxMillis) {
+
+        static OperationStats of(Histogram latencies, Map<Integer, Long> statuses, long failures, Duration duration) {
+            long shed = statuses.getOrDefault(503, 0L);
+            long serverErrors = statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() >= 500)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            return new OperationStats(latencies.getTotalCount() + failures,
+                    latencies.getTotalCount() / (duration.toNanos() / 1e9), serverErrors - shed + failures, shed,
+                    new TreeMap<>(statuses), latencies.getMean() / 1e6, millis(latencies, 50), millis(latencies, 90),
+                    millis(latencies, 99), millis(latencies, 99.9), latencies.getMaxValue() / 1e6);
+        }
+
+        private static double millis(Histogram latencies, double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+
+    public static LoadTestReport of(String runId, Instant startedAt, Settings settings, WorkloadMix mix,
+                                    OpenLoopLoadGenerator.Result result) {
+        OpenLoopLoadGenerator.Recording recording = result.recording();
+        Map<String, OperationStats> operations = new LinkedHashMap<>();
+        Histogram allLatencies = new Histogram(3);
+        Map<Integer, Long> allStatuses = new TreeMap<>();
+        long allFailures = 0;
+        long dropped = 0;
+        for (WorkloadMix.Operation operation : mix.weights().keySet()) {
+            if (mix.weights().get(operation) == 0) {
+                continue;
+            }
+            Histogram latencies = recording.latencies(operation);
+            Map<Integer, Long> statuses = recording.statuses(operation);
+            long failures = recording.failures(operation);
+            operations.put(operation.name().toLowerCase(Locale.ROOT),
+                    OperationStats.of(latencies, statuses, failures, settings.duration()));
+            allLatencies.add(latencies);
+            statuses.forEach((status, count) -> allStatuses.merge(status, count, Long::sum));
+            allFailures += failures;
+            dropped += recording.drops(operation);
+        }
+        OperationStats total = OperationStats.of(allLatencies, allStatuses, allFailures, settings.duration());
+        return new LoadTestReport(runId, startedAt, settings, Runtime.getRuntime().availableProcessors(),
+                System.getProperty("java.version"), total.count() + dropped, dropped,
+                result.maxScheduleLagNanos() / 1e6, operations, total);
+    }
+
+    public Path write(ObjectMapper objectMapper, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(runId + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public static LoadTestReport read(ObjectMapper objectMapper, Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), LoadTestReport.class);
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "%-8s %8s %8s %7s %7s %9s %9s %9s %9s %9s%n",
+                "op", "count", "req/s", "errors", "shed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        operations.forEach((operation, stats) -> summary.append(line(operation, stats)));
+        summary.append(line("total", total));
+        summary.append(String.format("sent %d, dropped %d, max schedule lag %.2f ms%n",
+                sent, dropped, maxScheduleLagMillis));
+        return summary.toString();
+    }
+
+    // relative change of every operation against an earlier run, positive latency changes are regressions
+    public String compareTo(LoadTestReport baseline) {
+        StringBuilder comparison = new StringBuilder(String.format("compared with %s (%s)%n",
+                baseline.runId(), baseline.settings().equals(settings) ? "same settings" : "DIFFERENT settings"));
+        comparison.append(String.format("%-8s %10s %10s %10s%n", "op", "req/s", "p50", "p99"));
+        operations.forEach((operation, stats) -> {
+            OperationStats before = baseline.operations().get(operation);
+            if (before != null) {
+                comparison.append(comparisonLine(operation, stats, before));
+            }
+        });
+        comparison.append(comparisonLine("total", total, baseline.total()));
+        return comparison.toString();
+    }
+
+    private static String line(String operation, OperationStats stats) {
+        return String.format("%-8s %8d %8.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation, stats.count(),
+                stats.throughput(), stats.errors(), stats.shed(), stats.p50Millis(), stats.p90Millis(),
+                stats.p99Millis(), stats.p999Millis(), stats.maxMillis());
+    }
+
+    private static String comparisonLine(String operation, OperationStats stats, OperationStats before) {
+        return String.format("%-8s %+9.1f%% %+9.1f%% %+9.1f%%%n", operation,
+                change(stats.throughput(), before.throughput()), change(stats.p50Millis(), before.p50Millis()),
+                change(stats.p99Millis(), before.p99Millis()));
+    }
+
+    private static double change(double value, double before) {
+        return before == 0 ? 0 : (value - before) * 100 / before;
+    }
+}
@@ -0,0 +1,241 @@
+package io.github.joenas.testingapp.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joenas.testingapp.loadtest.WorkloadMix.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+// Sends requests to /api/employees at a fixed rate, whether or not earlier ones have been answered ("open loop").
+// A closed loop of N clients waiting for their responses sends less while the server is slow and so hides exactly
+// the latency it should measure (coordinated omission). Here every request has an intended start time on the
+// schedule, its latency is counted from that time, and a server that falls behind shows up as growing latencies.
+// The operation sequence, its ids and bodies come from the seed; each request runs on its own virtual thread.
+public class OpenLoopLoadGenerator {
+
+    private static final int BATCH_SIZE = 10;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final WorkloadMix mix;
+    private final SyntheticEmployees employees;
+    private final IdPool ids;
+    private final Random random;
+    private final int maxInFlight;
+
+    public OpenLoopLoadGenerator(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper, WorkloadMix mix,
+                                 long seed, Collection<Long> ids, int maxInFlight) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.mix = mix;
+        this.employees = new SyntheticEmployees(seed, "run");
+        this.ids = new IdPool(ids);
+        this.random = new Random(seed);
+        this.maxInFlight = maxInFlight;
+    }
+
+    // Blocks for the duration plus the time the last requests take. Poisson arrivals space the requests with
+    // exponentially distributed gaps like independent users do, otherwise they are evenly spaced.
+    public Result run(double rate, Duration duration, boolean poissonArrivals) throws InterruptedException {
+        Recording recording = new Recording();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double meanIntervalNanos = 1e9 / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long maxLag = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            double intended = start;
+            while (intended < end) {
+                long intendedStart = (long) intended;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                maxLag = Math.max(maxLag, System.nanoTime() - intendedStart);
+                Operation operation = mix.pick(random);
+                HttpRequest request = request(operation);
+                intended += poissonArrivals
+                        ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                        : meanIntervalNanos;
+                if (request == null) {
+                    continue;
+                }
+                if (!inFlight.tryAcquire()) {
+                    recording.drop(operation);
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        send(operation, request, intendedStart, recording);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Result(recording, maxLag);
+    }
+
+    private void send(Operation operation, HttpRequest request, long intendedStart, Recording recording) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            recording.record(operation, response.statusCode(), System.nanoTime() - intendedStart);
+            if (operation == Operation.CREATE && response.statusCode() == 201) {
+                ids.add(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+        } catch (IOException e) {
+            recording.fail(operation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recording.fail(operation);
+        }
+    }
+
+    // null when there is no employee left to address
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case GET -> ids.pick(random).map(id -> get("/api/employees/" + id)).orElse(null);
+            case BATCH -> {
+                List<String> batch = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    ids.pick(random).ifPresent(id -> batch.add(Long.toString(id)));
+                }
+                yield batch.isEmpty() ? null : get("/api/employees/batch?ids=" + String.join(",", batch));
+            }
+            case STATS -> get("/api/employees/stats");
+            case LIST -> get("/api/employees");
+            case CREATE -> builder("/api/employees")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(employees.next())))
+                    .build();
+            case UPDATE -> ids.pick(random).map(id -> builder("/api/employees/" + id)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(json(employees.next())))
+                    .build()).orElse(null);
+            // taken out of the pool right away, so later operations no longer pick the deleted employee
+            case DELETE -> ids.remove(random).map(id -> builder("/api/employees/" + id).DELETE().build()).orElse(null);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Result(Recording recording, long maxScheduleLagNanos) {
+    }
+
+    // latencies and status codes per operation, recorded concurrently by the request threads
+    public static class Recording {
+
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> drops = new EnumMap<>(Operation.class);
+
+        Recording() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(3));
+                statuses.put(operation, new ConcurrentHashMap<>());
+                failures.put(operation, new LongAdder());
+                drops.put(operation, new LongAdder());
+            }
+        }
+
+        void record(Operation operation, int status, long latencyNanos) {
+            latencies.get(operation).recordValue(latencyNanos);
+            statuses.get(operation).computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+
+        void fail(Operation operation) {
+            failures.get(operation).increment();
+        }
+
+        void drop(Operation operation) {
+            drops.get(operation).increment();
+        }
+
+        public Histogram latencies(Operation operation) {
+            return latencies.get(operation);
+        }
+
+        public Map<Integer, Long> statuses(Operation operation) {
+            return statuses.get(operation).entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+        }
+
+        // requests that got no response at all
+        public long failures(Operation operation) {
+            return failures.get(operation).sum();
+        }
+
+        // not sent because max-in-flight requests were outstanding
+        public long drops(Operation operation) {
+            return drops.get(operation).sum();
+        }
+    }
+
+    // the ids of the existing employees, sampled and removed in O(1)
+    private static final class IdPool {
+
+        private final List<Long> ids;
+
+        IdPool(Collection<Long> ids) {
+            this.ids = new ArrayList<>(ids);
+        }
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized Optional<Long> pick(Random random) {
+            return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(random.nextInt(ids.size())));
+        }
+
+        synchronized Optional<Long> remove(Random random) {
+            if (ids.isEmpty()) {
+                return Optional.empty();
+            }
+            int index = random.nextInt(ids.size());
+            long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return Optional.of(id);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.joenas.testingapp.loadtest;
+
+import io.github.joenas.testingapp.dto.EmployeeRequest;
+import io.github.joenas.testingapp.model.EmailHash;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Reproducible employees: the same seed always produces the same sequence. Names and email domains are drawn
+// from small pools with a skewed distribution, so a few domains and initials dominate like in real data,
+// and every email is unique by its sequence number and the seed.
+public class SyntheticEmployees {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Sandra", "Paul", "Ashley",
+            "Steven", "Emily", "Andrew", "Donna", "Joshua", "Michelle", "Kenneth", "Carol", "Kevin", "Amanda"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores"};
+    private static final String[] DOMAINS = {
+            "example.com", "corp.example.com", "mail.example.org", "example.net", "sales.example.com",
+            "eng.example.com", "example.io", "partner.example.com", "contractor.example.net", "example.de"};
+
+    private static final int INSERT_BATCH_SIZE = 5000;
+
+    private final Random random;
+    private final String prefix;
+    private long sequence;
+
+    public SyntheticEmployees(long seed, String prefix) {
+        this.random = new Random(seed);
+        this.prefix = prefix + seed;
+    }
+
+    public EmployeeRequest next() {
+        String firstName = FIRST_NAMES[skewed(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[skewed(LAST_NAMES.length)];
+        String email = firstName.toLowerCase(Locale.ROOT) + "." + lastName.toLowerCase(Locale.ROOT)
+                + "." + prefix + "." + sequence++ + "@" + DOMAINS[skewed(DOMAINS.length)];
+        return new EmployeeRequest(firstName, lastName, email);
+    }
+
+    // Inserts count employees with JDBC batches, bypassing the service so loading 100k rows takes seconds.
+    // Caches built before are not told, see EmployeeLoadTests.
+    public void insert(JdbcTemplate jdbcTemplate, int count) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            EmployeeRequest employee = next();
+            batch.add(new Object[]{employee.firstName(), employee.lastName(), employee.email(),
+                    EmailHash.of(employee.email())});
+            if (batch.size() == INSERT_BATCH_SIZE || i == count - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into employees (first_name, last_name, email, email_hash) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // an index below bound, small ones far more likely: the square of a uniform value
+    private int skewed(int bound) {
+        double uniform = random.nextDouble();
+        return (int) (uniform * uniform * bound);
+    }
+}
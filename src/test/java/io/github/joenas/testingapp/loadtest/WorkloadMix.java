@@ -0,0 +1,80 @@
+package io.github.joenas.testingapp.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+// Relative weights of the operations, parsed from e.g. "get=60,batch=10,stats=5,create=10,update=10,delete=5".
+// Operations not mentioned are not sent.
+public record WorkloadMix(Map<Operation, Integer> weights) {
+
+    public static final String DEFAULT = "get=60,batch=10,stats=5,create=10,update=10,delete=5";
+
+    public enum Operation {
+        GET("get"), BATCH("batch"), STATS("stats"), LIST("list"), CREATE("create"), UPDATE("update"),
+        DELETE("delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + key);
+        }
+    }
+
+    public WorkloadMix {
+        weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The workload mix needs at least one operation with a positive weight");
+        }
+    }
+
+    public static WorkloadMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split("=");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got " + entry);
+            }
+            int weight = Integer.parseInt(keyAndWeight[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight " + entry);
+            }
+            weights.merge(Operation.of(keyAndWeight[0].trim()), weight, Integer::sum);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    public Operation pick(Random random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int point = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!mix.isEmpty()) {
+                mix.append(',');
+            }
+            mix.append(operation.key).append('=').append(weight);
+        });
+        return mix.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.joenas.testingapp.pool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PoolSizingAdvisorTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final PoolSizingAdvisor advisor = new PoolSizingAdvisor(() -> {
+        throw new UnsupportedOperationException("samples are added by the tests");
+    }, Duration.ofMinutes(5), 0.75, 2);
+
+    // one sample per second, every second borrowsPerSecond connections held for usageMillis each
+    private void addSamples(int seconds, int maxPoolSize, int active, int pending, long borrowsPerSecond,
+                            long usageMillis, long acquireMillis) {
+        for (int second = 0; second <= seconds; second++) {
+            long borrows = second * borrowsPerSecond;
+            advisor.add(new PoolSample(second * SECOND, maxPoolSize, active, pending, borrows,
+                    borrows * usageMillis * 1_000_000, borrows * acquireMillis * 1_000_000));
+        }
+    }
+
+    @DisplayName("JUnit test for a recommendation without samples")
+    @Test
+    public void givenNoSamples_whenAdvice_thenNoRecommendation() {
+        //given - precondition or setup
+        advisor.add(new PoolSample(0, 10, 0, 0, 0, 0, 0));
+
+        //when - action or the behaviour to test
+        PoolSizingAdvice advice = advisor.advice();
+
+        //then - verify the output
+        assertThat(advice.recommendedPoolSize()).isEqualTo(10);
+        assertThat(advice.reason()).isEqualTo("not enough samples yet");
+    }
+
+    @DisplayName("JUnit test for a saturated pool with waiting threads")
+    @Test
+    public void givenThreadsWaitingForConnections_whenAdvice_thenRecommendsLargerPool() {
+        //given - precondition or setup
+        addSamples(60, 10, 10, 4, 1000, 12, 3);
+
+        //when - action or the behaviour to test
+        PoolSizingAdvice advice = advisor.advice();
+
+        //then - verify the output
+        // 1000 borrows/s holding 12 ms keep 12 connections busy, 16 at 75% utilization
+        assertThat(advice.borrowsPerSecond()).isEqualTo(1000);
+        assertThat(advice.meanUsageMillis()).isEqualTo(12);
+        assertThat(advice.meanAcquireMillis()).isEqualTo(3);
+        assertThat(advice.meanBusyConnections()).isEqualTo(12);
+        assertThat(advice.peakDemand()).isEqualTo(14);
+        assertThat(advice.waitingShare()).isEqualTo(1);
+        assertThat(advice.recommendedPoolSize()).isEqualTo(16);
+        assertThat(advice.reason()).startsWith("threads waited for a connection");
+    }
+
+    @DisplayName("JUnit test for a mostly idle pool")
+    @Test
+    public void givenMostlyIdlePool_whenAdvice_thenRecommendsSmallerPool() {
+        //given - precondition or setup
+        addSamples(60, 10, 1, 0, 100, 10, 0);
+
+        //when - action or the behaviour to test
+        PoolSizingAdvice advice = advisor.advice();
+
+        //then - verify the output
+        // one connection busy on average, two at 75% utilization
+        assertThat(advice.meanBusyConnections()).isEqualTo(1);
+        assertThat(advice.peakDemand()).isEqualTo(1);
+        assertThat(advice.recommendedPoolSize()).isEqualTo(2);
+        assertThat(advice.reason()).startsWith("at most 1 of 10 connections");
+    }
+
+    @DisplayName("JUnit test for samples older than the window")
+    @Test
+    public void givenSamplesOlderThanWindow_whenAdvice_thenOnlyWindowCounts() {
+        //given - precondition or setup
+        advisor.add(new PoolSample(0, 10, 10, 20, 0, 0, 0));
+        advisor.add(new PoolSample(6 * 60 * SECOND, 10, 1, 0, 0, 0, 0));
+        advisor.add(new PoolSample(7 * 60 * SECOND, 10, 1, 0, 600, 600_000_000, 0));
+
+        //when - action or the behaviour to test
+        PoolSizingAdvice advice = advisor.advice();
+
+        //then - verify the output
+        assertThat(advice.samples()).isEqualTo(2);
+        assertThat(advice.peakDemand()).isEqualTo(1);
+        assertThat(advice.waitingShare()).isZero();
+    }
+}
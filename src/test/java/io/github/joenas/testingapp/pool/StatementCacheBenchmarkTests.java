@@ -0,0 +1,142 @@
+package io.github.joenas.testingapp.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.joenas.testingapp.model.EmailHash;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Latency of the name lookups of EmployeeRepository with and without H2's per-connection statement cache
+// (QUERY_CACHE_SIZE, 8 by default). Like Hibernate, every lookup prepares its statement again, and between two
+// lookups the connection runs the other statements of the application, so a small cache keeps evicting them.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+public class StatementCacheBenchmarkTests {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    // as generated by Hibernate for findByJPQL and written in findByNativeSQL
+    private static final List<String> NAME_LOOKUPS = List.of(
+            "select e1_0.id,e1_0.email,e1_0.email_hash,e1_0.first_name,e1_0.last_name,e1_0.version"
+                    + " from employees e1_0 where e1_0.first_name=? and e1_0.last_name=?",
+            "select * from employees e where e.first_name =? and e.last_name =?");
+
+    // the statements the rest of the application runs on the same pooled connections
+    private static final List<String> OTHER_STATEMENTS = List.of(
+            "select e1_0.id,e1_0.email,e1_0.email_hash,e1_0.first_name,e1_0.last_name,e1_0.version"
+                    + " from employees e1_0 where e1_0.id=?",
+            "select e1_0.id,e1_0.email,e1_0.email_hash,e1_0.first_name,e1_0.last_name,e1_0.version"
+                    + " from employees e1_0 where e1_0.email_hash=?",
+            "select e1_0.id,e1_0.email,e1_0.email_hash,e1_0.first_name,e1_0.last_name,e1_0.version"
+                    + " from employees e1_0 where e1_0.id>? order by e1_0.id fetch first 100 rows only",
+            "select e1_0.id from employees e1_0 where e1_0.id in (?,?,?,?,?)",
+            "select count(*) from employees where id>?",
+            "select lower(substring(email, locate('@', email) + 1)), count(*) from employees where id>?"
+                    + " group by lower(substring(email, locate('@', email) + 1))",
+            "select upper(substring(last_name, 1, 1)), count(*) from employees where id>?"
+                    + " group by upper(substring(last_name, 1, 1))",
+            "select seq, employee_id, change_type from employee_change_log where seq>? order by seq",
+            "select status from idempotency_keys where created_at < current_timestamp and idempotency_key=?",
+            "update employees set version=version where id=?");
+
+    @DisplayName("Benchmark the name lookups with and without the H2 statement cache")
+    @Test
+    public void compareStatementCacheSizes() throws SQLException {
+        double[] uncached = measure(0);
+        double[] defaultCache = measure(8);
+        double[] tuned = measure(64);
+        System.out.printf("QUERY_CACHE_SIZE=0 : p50 %6.1f us, p99 %6.1f us%n", uncached[0], uncached[1]);
+        System.out.printf("QUERY_CACHE_SIZE=8 : p50 %6.1f us, p99 %6.1f us%n", defaultCache[0], defaultCache[1]);
+        System.out.printf("QUERY_CACHE_SIZE=64: p50 %6.1f us, p99 %6.1f us%n", tuned[0], tuned[1]);
+
+        // with 12 statements in rotation the default cache behaves like none, a cache holding all of them skips parsing
+        assertThat(tuned[0]).isLessThan(defaultCache[0]);
+        assertThat(tuned[0]).isLessThan(uncached[0]);
+    }
+
+    // p50 and p99 of a name lookup in microseconds, the in-memory database is gone once the pool is closed
+    private static double[] measure(int queryCacheSize) throws SQLException {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:statement-cache-" + queryCacheSize);
+            dataSource.setUsername("sa");
+            // Flyway needs a second connection for its lock
+            dataSource.setMaximumPoolSize(2);
+            dataSource.addDataSourceProperty("QUERY_CACHE_SIZE", queryCacheSize);
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                    .load()
+                    .migrate();
+            insertEmployees(new JdbcTemplate(dataSource));
+
+            Random random = new Random(42);
+            try (Connection connection = dataSource.getConnection()) {
+                for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                    iteration(connection, random);
+                }
+                long[] latencies = new long[ITERATIONS];
+                for (int i = 0; i < ITERATIONS; i++) {
+                    latencies[i] = iteration(connection, random);
+                }
+                Arrays.sort(latencies);
+                return new double[]{percentile(latencies, 50), percentile(latencies, 99)};
+            }
+        }
+    }
+
+    // runs the other statements and returns the time of the name lookup
+    private static long iteration(Connection connection, Random random) throws SQLException {
+        for (String sql : OTHER_STATEMENTS) {
+            execute(connection, sql, random.nextInt(EMPLOYEES));
+        }
+        int employee = random.nextInt(EMPLOYEES);
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(
+                NAME_LOOKUPS.get(employee % NAME_LOOKUPS.size()))) {
+            statement.setString(1, "First" + employee);
+            statement.setString(2, "Last" + employee);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void execute(Connection connection, String sql, long parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setLong(i, parameter + i);
+            }
+            statement.execute();
+        }
+    }
+
+    private static void insertEmployees(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            String email = "employee" + i + "@example.com";
+            rows.add(new Object[]{"First" + i, "Last" + i, email, EmailHash.of(email)});
+        }
+        jdbcTemplate.batchUpdate("insert into employees (first_name, last_name, email, email_hash) values (?, ?, ?, ?)",
+                rows);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile / 100 * sorted.length) - 1] / 1000.0;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.joenas.testingapp.querybudget;
+
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.IntStream;
+
+import static io.github.joenas.testingapp.querybudget.QueryCountAssertions.assertQueryCount;
+import static io.github.joenas.testingapp.querybudget.QueryCountAssertions.queryCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"app.query-budget.max-rows=5", "app.query-budget.action=FAIL"})
+public class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@doe.com")
+                .build());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for the statement and row count headers of a single employee lookup")
+    @Test
+    public void givenEmployeeNotCached_whenGetEmployeeById_thenOneStatementAndOneRow() throws Exception {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+
+        //then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(queryCount(1))
+                .andExpect(header().string(QueryBudgetAdvice.QUERY_ROWS_HEADER, "1"));
+    }
+
+    @DisplayName("JUnit test for a second lookup answered by the second-level cache")
+    @Test
+    public void givenEmployeeCached_whenGetEmployeeById_thenNoStatement() throws Exception {
+        //given - precondition or setup
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()));
+
+        //when - action or the behaviour to test
+        //then - verify the output
+        assertQueryCount(0, () -> mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(queryCount(0)));
+    }
+
+    @DisplayName("JUnit test for failing a request that reads more rows than the budget allows")
+    @Test
+    public void givenMoreEmployeesThanRowBudget_whenGetAllEmployees_thenServerError() throws Exception {
+        //given - precondition or setup
+        employeeRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> Employee.builder().firstName("Jane").lastName("Doe").email("jane" + i + "@doe.com").build())
+                .toList());
+
+        //when - action or the behaviour to test
+        mockMvc.perform(get("/api/employees"))
+
+        //then - verify the output
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.type").value("/problems/query-budget-exceeded"))
+                .andExpect(header().string(QueryBudgetAdvice.QUERY_ROWS_HEADER, "6"));
+    }
+}
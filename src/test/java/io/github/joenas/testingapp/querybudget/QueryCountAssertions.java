@@ -0,0 +1,43 @@
+package io.github.joenas.testingapp.querybudget;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+// Statement count assertions for tests running with app.query-budget.enabled=true, the default outside prod.
+//   mockMvc.perform(get("/api/employees/{id}", id)).andExpect(queryCount(1));
+//   assertQueryCount(1, () -> employeeService.getEmployeeById(id));
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    // statements of one EmployeeController request, from its X-Query-Count header
+    public static ResultMatcher queryCount(int expected) {
+        return header().string(QueryBudgetAdvice.QUERY_COUNT_HEADER, Integer.toString(expected));
+    }
+
+    public static ResultMatcher queryCountAtMost(int max) {
+        return result -> assertThat(result.getResponse().getHeader(QueryBudgetAdvice.QUERY_COUNT_HEADER))
+                .as(QueryBudgetAdvice.QUERY_COUNT_HEADER)
+                .isNotNull()
+                .satisfies(count -> assertThat(Integer.parseInt(count)).isLessThanOrEqualTo(max));
+    }
+
+    // statements the action runs on the calling thread, MockMvc requests included
+    public static void assertQueryCount(int expected, ThrowingRunnable action) throws Exception {
+        QueryCount count = QueryCounter.start();
+        try {
+            action.run();
+        } finally {
+            QueryCounter.stop(count);
+        }
+        assertThat(count.getStatements()).as("statements executed").isEqualTo(expected);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -1,18 +1,27 @@
 package io.github.joenas.testingapp.repository;
 
+import io.github.joenas.testingapp.emailfilter.KnownEmailFilter;
+import io.github.joenas.testingapp.exception.ResourceConflictException;
+import io.github.joenas.testingapp.model.EmailHash;
 import io.github.joenas.testingapp.model.Employee;
 import org.aspectj.weaver.ast.ITestVisitor;
 import org.hibernate.query.sqm.mutation.internal.cte.CteInsertStrategy;
+import io.github.joenas.testingapp.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 // @DataJpaTest is a specialized test annotation that can be used to test JPA applications.
 // It provides the following features:
@@ -72,6 +81,29 @@ public class EmployeeRepositoryTests {
         assertThat(employeesList).hasSize(2);
     }
 
+    @DisplayName("JUnit test for keyset pagination by id")
+    @Test
+    public void givenEmployeesList_whenFindByIdGreaterThan_thenReturnNextPageOrderedById() {
+        // given setup
+        for (int i = 0; i < 5; i++) {
+            employeeRepository.save(Employee.builder()
+                    .firstName("John")
+                    .lastName("Doe")
+                    .email("john" + i + "@doe.com")
+                    .build());
+        }
+        List<Employee> firstPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(2));
+        // when
+        List<Employee> secondPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                firstPage.get(1).getId(), Limit.of(2));
+
+        // then
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(2);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(firstPage.get(1).getId());
+        assertThat(secondPage.get(1).getId()).isGreaterThan(secondPage.get(0).getId());
+    }
+
     @DisplayName("JUnit test for finding employee by id")
     @Test
     public void givenEmployeeObject_whenFindById_thenReturnEmployeeObject() {
@@ -100,6 +132,20 @@ public class EmployeeRepositoryTests {
 
     }
 
+    @DisplayName("JUnit test for getting employee by email ignoring case and surrounding whitespace")
+    @Test
+    public void givenEmailVariant_whenFindByEmail_thenReturnEmployeeObject() {
+        //given setup
+
+        employeeRepository.save(employee);
+        //when
+        Optional<Employee> employeeDB = employeeRepository.findByEmail("  John@DOE.com ");
+        //then
+        assertThat(employeeDB).contains(employee);
+        assertThat(employeeDB.get().getEmailHash()).isEqualTo(EmailHash.of("john@doe.com"));
+        assertThat(employeeRepository.findByEmail("john@doe.org")).isEmpty();
+    }
+
     @DisplayName("JUnit test for update employee operation")
     @Test
     public void givenEmployeeObject_whenUpdateEmploye_thenReturnUpdatedEmployee() {
@@ -189,4 +235,91 @@ public class EmployeeRepositoryTests {
         assertThat(employeeDB.getLastName()).isEqualTo(employee.getLastName());
     }
 
+    @DisplayName("JUnit test for replacing the email domain with a set-based update")
+    @Test
+    public void givenEmployeesInDomain_whenReplaceEmailDomain_thenOnlyMatchingEmailsChange() {
+        //given setup
+        Employee john = employeeRepository.save(employee);
+        Employee jane = employeeRepository.save(Employee.builder()
+                .firstName("Jane").lastName("Doe").email("jane@doe.com.example").build());
+        List<Long> ids = employeeRepository.findIdsByEmailDomain("doe.com", 0, Limit.of(10));
+        //when
+        int updated = employeeRepository.replaceEmailDomain(ids, "doe.com", "doe.org");
+        //then
+        assertThat(ids).containsExactly(john.getId());
+        assertThat(updated).isEqualTo(1);
+        assertThat(employeeRepository.findById(john.getId())).get().extracting(Employee::getEmail).isEqualTo("john@doe.org");
+        assertThat(employeeRepository.findById(jane.getId())).get().extracting(Employee::getEmail).isEqualTo("jane@doe.com.example");
+        assertThat(employeeRepository.countEmailDomainCollisions("doe.org", "doe.com.example")).isZero();
+        // the hash is rewritten by the same call
+        assertThat(employeeRepository.findByEmail("john@doe.org")).get().extracting(Employee::getId).isEqualTo(john.getId());
+    }
+
+    @DisplayName("JUnit test for the email hash following a bulk email domain change")
+    @Test
+    public void givenEmployeeInDomain_whenServiceReplacesEmailDomain_thenFoundByNewEmail() {
+        //given setup
+        employeeRepository.save(employee);
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(employeeRepository, event -> {});
+        //when
+        employeeService.replaceEmailDomain("doe.com", "doe.org");
+        //then
+        assertThat(employeeRepository.findByEmail("john@doe.org")).isPresent();
+        assertThat(employeeRepository.findByEmail("john@doe.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for counting emails a domain change would duplicate")
+    @Test
+    public void givenSameLocalPartInTargetDomain_whenCountEmailDomainCollisions_thenCollisionIsFound() {
+        //given setup
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("John").lastName("Doe").email("john@doe.org").build());
+        //when
+        long collisions = employeeRepository.countEmailDomainCollisions("doe.com", "doe.org");
+        //then
+        assertThat(collisions).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for counting a domain change collision that differs only in case")
+    @Test
+    public void givenSameAddressInOtherCase_whenCountEmailDomainCollisions_thenCollisionIsFound() {
+        //given setup
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("John").lastName("Doe").email("John@Doe.org").build());
+        //when
+        long collisions = employeeRepository.countEmailDomainCollisions("doe.com", "doe.org");
+        //then
+        assertThat(collisions).isEqualTo(1);
+        assertThat(employeeRepository.countEmailDomainCollisions("doe.com", "Doe.com")).isZero();
+    }
+
+    @DisplayName("JUnit test for deleting a chunk of employees by id and email domain")
+    @Test
+    public void givenIds_whenDeleteByIdsAndEmailDomain_thenOnlyMatchingEmployeesAreDeleted() {
+        //given setup
+        Employee john = employeeRepository.save(employee);
+        Employee jane = employeeRepository.save(Employee.builder()
+                .firstName("Jane").lastName("Doe").email("jane@test.example").build());
+        //when
+        int deleted = employeeRepository.deleteByIdsAndEmailDomain(List.of(john.getId(), jane.getId()), "test.example");
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(employeeRepository.findExistingIds(List.of(john.getId(), jane.getId()))).containsExactly(john.getId());
+    }
+
+    @DisplayName("JUnit test for the unique email hash catching a duplicate that passed the check")
+    @Test
+    public void givenDuplicateCheckSkipped_whenSaveEmployeeWithExistingEmail_thenConflict() {
+        //given setup
+        employeeRepository.save(employee);
+        KnownEmailFilter knownEmailFilter = mock(KnownEmailFilter.class);
+        given(knownEmailFilter.mightExist(anyString())).willReturn(false);
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(employeeRepository, event -> {});
+        employeeService.setKnownEmailFilter(knownEmailFilter);
+        //when
+        Throwable thrown = catchThrowable(() -> employeeService.saveEmployee(Employee.builder()
+                .firstName("Johnny").lastName("Doe").email(" John@Doe.com").build()));
+        //then
+        assertThat(thrown).isInstanceOf(ResourceConflictException.class);
+    }
 }
@@ -0,0 +1,128 @@
+package io.github.joenas.testingapp.repository;
+
+import io.github.joenas.testingapp.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every repository call runs in its own transaction here, as in the services, so reads after the first one
+// can only be answered by the second-level and query cache, never by the persistence context.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeSecondLevelCacheTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@doe.com")
+                .build());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for findById answered from the second-level cache")
+    @Test
+    public void givenCachedEmployee_whenFindById_thenNoSqlIsExecuted() {
+        //given
+        employeeRepository.findById(employee.getId());
+        long statements = statistics.getPrepareStatementCount();
+        //when
+        Optional<Employee> cached = employeeRepository.findById(employee.getId());
+        //then
+        assertThat(cached).get().extracting(Employee::getEmail).isEqualTo("john@doe.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for findByEmail and the JPQL name lookups answered from the query cache")
+    @Test
+    public void givenCachedQueries_whenRepeated_thenNoSqlIsExecuted() {
+        //given
+        employeeRepository.findByEmail("john@doe.com");
+        employeeRepository.findByJPQL("John", "Doe");
+        employeeRepository.findByJPQLNamedParams("John", "Doe");
+        long statements = statistics.getPrepareStatementCount();
+        //when
+        Optional<Employee> byEmail = employeeRepository.findByEmail("john@doe.com");
+        Employee byName = employeeRepository.findByJPQL("John", "Doe");
+        Employee byNamedParams = employeeRepository.findByJPQLNamedParams("John", "Doe");
+        //then
+        assertThat(byEmail).isPresent();
+        assertThat(List.of(byName, byNamedParams)).extracting(Employee::getId).containsOnly(employee.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @DisplayName("JUnit test for cached entries and query results after an update")
+    @Test
+    public void givenCachedEmployee_whenUpdated_thenReadsSeeTheNewState() {
+        //given
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("john@doe.com");
+        employee.setEmail("john@doe.org");
+        //when
+        employeeRepository.save(employee);
+        //then
+        assertThat(employeeRepository.findById(employee.getId())).get()
+                .extracting(Employee::getEmail).isEqualTo("john@doe.org");
+        assertThat(employeeRepository.findByEmail("john@doe.com")).isEmpty();
+        assertThat(employeeRepository.findByEmail("john@doe.org")).isPresent();
+    }
+
+    @DisplayName("JUnit test for cached entries and query results after a delete")
+    @Test
+    public void givenCachedEmployee_whenDeleted_thenReadsFindNothing() {
+        //given
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("john@doe.com");
+        //when
+        employeeRepository.deleteById(employee.getId());
+        //then
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(employeeRepository.findByEmail("john@doe.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for cached entries after a bulk JPQL update")
+    @Test
+    public void givenCachedEmployee_whenEmailDomainReplacedInBulk_thenReadsSeeTheNewState() {
+        //given
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("john@doe.com");
+        //when
+        employeeRepository.replaceEmailDomain(List.of(employee.getId()), "doe.com", "doe.org");
+        //then
+        assertThat(employeeRepository.findById(employee.getId())).get()
+                .extracting(Employee::getEmail).isEqualTo("john@doe.org");
+        assertThat(employeeRepository.findByEmail("john@doe.com")).isEmpty();
+    }
+}
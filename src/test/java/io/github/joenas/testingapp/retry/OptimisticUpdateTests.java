@@ -0,0 +1,106 @@
+package io.github.joenas.testingapp.retry;
+
+import io.github.joenas.testingapp.exception.ResourceConflictException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = "app.update-retry.max-attempts=100")
+public class OptimisticUpdateTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    private Employee saveEmployee() {
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@doe.com")
+                .build());
+    }
+
+    @DisplayName("JUnit test for updating an employee read before a concurrent update")
+    @Test
+    public void givenStaleEmployee_whenUpdateEmployee_thenThrowsResourceConflictException() {
+        //given - precondition or setup
+        long id = saveEmployee().getId();
+        Employee first = employeeRepository.findById(id).orElseThrow();
+        Employee second = employeeRepository.findById(id).orElseThrow();
+        first.setFirstName("Jane");
+        employeeService.updateEmployee(first);
+
+        //when - action or the behaviour to test
+        second.setLastName("Smith");
+
+        //then - verify the output
+        assertThatThrownBy(() -> employeeService.updateEmployee(second)).isInstanceOf(ResourceConflictException.class);
+        Employee current = employeeRepository.findById(id).orElseThrow();
+        assertThat(current.getFirstName()).isEqualTo("Jane");
+        assertThat(current.getLastName()).isEqualTo("Doe");
+        assertThat(current.getVersion()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for concurrent field updates of the same employee")
+    @Test
+    public void givenConcurrentWriters_whenUpdateEmployeeById_thenNoUpdateIsLost() throws Exception {
+        //given - precondition or setup
+        long id = saveEmployee().getId();
+        int writers = 4;
+        int updatesPerWriter = 10;
+        AtomicInteger updates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when - action or the behaviour to test
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int writer = 0; writer < writers; writer++) {
+                String firstName = "Writer" + writer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < updatesPerWriter; i++) {
+                        // a distinct value every time, an update that changes nothing creates no version
+                        String value = firstName + "-" + i;
+                        employeeService.updateEmployee(id, employee -> employee.setFirstName(value));
+                        updates.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        //then - verify the output
+        // every successful update produced exactly one new version
+        assertThat(updates.get()).isEqualTo(writers * updatesPerWriter);
+        assertThat(employeeRepository.findById(id).orElseThrow().getVersion()).isEqualTo(writers * updatesPerWriter);
+    }
+}
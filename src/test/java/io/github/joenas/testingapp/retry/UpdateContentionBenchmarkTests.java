@@ -0,0 +1,114 @@
+package io.github.joenas.testingapp.retry;
+
+import io.github.joenas.testingapp.exception.ResourceConflictException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput of N writers updating one hot employee through EmployeeService.updateEmployee(id, changes)
+// with the default retry policy, against the in-memory database. Reports the successful updates per second,
+// the retries and the updates given up with 409, and checks that no successful update was lost.
+// The SQL logging of the default profile is switched off, it would dominate the measurement.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "spring.jpa.properties.hibernate.generate_statistics=false"})
+public class UpdateContentionBenchmarkTests {
+
+    private static final int[] WRITERS = {1, 2, 4, 8, 16};
+    private static final long WARMUP_MILLIS = 500;
+    private static final long MEASURE_MILLIS = 2000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UpdateRetryPolicy updateRetryPolicy;
+
+    @DisplayName("Benchmark updates of a hot employee by 1 to 16 concurrent writers")
+    @Test
+    public void measureHotRowThroughput() throws Exception {
+        long id = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@doe.com")
+                .build()).getId();
+        try {
+            run(id, 4, WARMUP_MILLIS);
+            System.out.println("writers  updates/s  retries/update  conflicts");
+            for (int writers : WRITERS) {
+                long versionBefore = employeeRepository.findById(id).orElseThrow().getVersion();
+                long retriesBefore = updateRetryPolicy.getRetries();
+                Result result = run(id, writers, MEASURE_MILLIS);
+                long versions = employeeRepository.findById(id).orElseThrow().getVersion() - versionBefore;
+                long retries = updateRetryPolicy.getRetries() - retriesBefore;
+                System.out.printf("%7d  %9.0f  %14.2f  %9d%n", writers,
+                        result.updates() * 1000.0 / MEASURE_MILLIS,
+                        result.updates() == 0 ? 0 : (double) retries / result.updates(), result.conflicts());
+
+                // every successful update is a new version, none overwrote another
+                assertThat(versions).isEqualTo(result.updates());
+                assertThat(result.updates()).isPositive();
+            }
+        } finally {
+            employeeRepository.deleteById(id);
+        }
+    }
+
+    private Result run(long id, int writers, long millis) throws Exception {
+        LongAdder updates = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int writer = 0; writer < writers; writer++) {
+                String firstName = "Writer" + writer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long stopAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+                    for (long i = 0; System.nanoTime() < stopAt; i++) {
+                        // a distinct value every time, an update that changes nothing creates no version
+                        String value = firstName + "-" + i;
+                        try {
+                            employeeService.updateEmployee(id, employee -> employee.setFirstName(value));
+                            updates.increment();
+                        } catch (ResourceConflictException e) {
+                            conflicts.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new Result(updates.sum(), conflicts.sum());
+    }
+
+    private record Result(long updates, long conflicts) {
+    }
+}
@@ -1,8 +1,10 @@
 package io.github.joenas.testingapp.service;
 
-import io.github.joenas.testingapp.exception.ResourceNotFoundException;
+import io.github.joenas.testingapp.emailfilter.KnownEmailFilter;
+import io.github.joenas.testingapp.exception.ResourceConflictException;
 import io.github.joenas.testingapp.model.Employee;
 import io.github.joenas.testingapp.repository.EmployeeRepository;
+import io.github.joenas.testingapp.retry.UpdateRetryPolicy;
 import io.github.joenas.testingapp.service.impl.EmployeeServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,10 +20,16 @@ import static org.mockito.Mockito.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 
 // @ExtendsWith is needed so that the class uses @Mock as well as @InjectMocks annotations
@@ -30,6 +38,8 @@ public class EmployeeServiceTests {
 
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private EmployeeServiceImpl employeeService;
     private Employee employee;
@@ -71,6 +81,21 @@ public class EmployeeServiceTests {
         Assertions.assertThat(savedEmployee).isNotNull();
     }
 
+    @DisplayName("JUnit test for saveEmployee skipping the duplicate check for an email known to be new")
+    @Test
+    public void givenEmailAbsentFromFilter_whenSaveEmployee_thenNoDuplicateQuery() {
+        //given
+        KnownEmailFilter knownEmailFilter = mock(KnownEmailFilter.class);
+        given(knownEmailFilter.mightExist(employee.getEmail())).willReturn(false);
+        given(employeeRepository.save(employee)).willReturn(employee);
+        employeeService.setKnownEmailFilter(knownEmailFilter);
+        //when
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        //then
+        Assertions.assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any());
+    }
+
     // JUnit test for saveEmployee method with duplicate email
     @DisplayName("JUnit test for saveEmployee method which throws Exception")
     @Test
@@ -86,9 +111,11 @@ public class EmployeeServiceTests {
         System.out.println(employeeRepository);
         System.out.println(employeeService);
         //when
-        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class,
-                () -> employeeService.saveEmployee(employee));
+        ResourceConflictException exception = org.junit.jupiter.api.Assertions.assertThrows(
+                ResourceConflictException.class, () -> employeeService.saveEmployee(employee));
         //then
+        // expected business error, no stack trace is captured
+        Assertions.assertThat(exception.getStackTrace()).isEmpty();
         verify(employeeRepository, never()).save(any(Employee.class));
 
     }
@@ -157,6 +184,48 @@ public class EmployeeServiceTests {
         Assertions.assertThat(updatedEmployee.getEmail()).isEqualTo("jane@doe.com");
     }
 
+    @DisplayName("JUnit test for updateEmployee retrying after a concurrent update")
+    @Test
+    public void givenConcurrentUpdate_whenUpdateEmployeeById_thenChangesAppliedToNewVersion() {
+        //given - precondition or setup
+        long id = 1L;
+        employeeService.setUpdateRetryPolicy(new UpdateRetryPolicy(3, Duration.ZERO, Duration.ZERO));
+        // the concurrent update changed the last name, the second read sees it
+        given(employeeRepository.findById(id)).willReturn(
+                Optional.of(Employee.builder().id(id).firstName("John").lastName("Doe").email("john@doe.com").build()),
+                Optional.of(Employee.builder().id(id).firstName("John").lastName("Smith").email("john@doe.com")
+                        .version(1).build()));
+        given(employeeRepository.save(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, id))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        //when - action or the behaviour to test
+        Optional<Employee> updatedEmployee = employeeService.updateEmployee(id, current -> current.setFirstName("Jane"));
+        //then - verify the output
+        Assertions.assertThat(updatedEmployee).get()
+                .extracting(Employee::getFirstName, Employee::getLastName, Employee::getVersion)
+                .containsExactly("Jane", "Smith", 1L);
+        verify(employeeRepository, times(2)).save(any(Employee.class));
+        verify(eventPublisher, times(1)).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @DisplayName("JUnit test for updateEmployee giving up on a hot employee")
+    @Test
+    public void givenEveryAttemptConflicts_whenUpdateEmployeeById_thenThrowsResourceConflictException() {
+        //given - precondition or setup
+        long id = 1L;
+        employeeService.setUpdateRetryPolicy(new UpdateRetryPolicy(3, Duration.ZERO, Duration.ZERO));
+        given(employeeRepository.findById(id)).willAnswer(invocation -> Optional.of(
+                Employee.builder().id(id).firstName("John").lastName("Doe").email("john@doe.com").build()));
+        given(employeeRepository.save(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, id));
+        //when - action or the behaviour to test
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceConflictException.class,
+                () -> employeeService.updateEmployee(id, current -> current.setFirstName("Jane")));
+        //then - verify the output
+        verify(employeeRepository, times(3)).save(any(Employee.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @DisplayName("JUnit test for deleteEmployee operation")
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturnVoid() {
@@ -166,6 +235,46 @@ public class EmployeeServiceTests {
         employeeService.deleteEmployee(employee.getId());
         //then - verify the output
         verify(employeeRepository, times(1)).deleteById(employee.getId());
+        verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(employee.getId()));
+    }
+
+    @DisplayName("JUnit test for bulk deleting employees in chunks")
+    @Test
+    public void givenManyIds_whenDeleteEmployees_thenChunksAreDeletedAndCachesNotified() {
+        //given - precondition or setup
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+        given(employeeRepository.deleteByIds(any())).willAnswer(invocation -> invocation.getArgument(0, List.class).size());
+        //when - action or the behaviour to test
+        int deleted = employeeService.deleteEmployees(ids);
+        //then - verify the output
+        Assertions.assertThat(deleted).isEqualTo(1200);
+        verify(employeeRepository, times(3)).deleteByIds(any());
+        verify(eventPublisher, times(1200)).publishEvent(any(EmployeeChangedEvent.class));
+    }
 
+    @DisplayName("JUnit test for rejecting an email domain change that would duplicate emails")
+    @Test
+    public void givenCollidingEmails_whenReplaceEmailDomain_thenThrowsResourceConflictException() {
+        //given - precondition or setup
+        given(employeeRepository.countEmailDomainCollisions("doe.com", "doe.org")).willReturn(1L);
+        //when - action or the behaviour to test
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceConflictException.class,
+                () -> employeeService.replaceEmailDomain("doe.com", "doe.org"));
+        //then - verify the output
+        verify(employeeRepository, never()).replaceEmailDomain(any(), any(), any());
+    }
+
+    @DisplayName("JUnit test for an email domain change racing a new employee with the same email")
+    @Test
+    public void givenDuplicateEmailAfterCollisionCheck_whenReplaceEmailDomain_thenThrowsResourceConflictException() {
+        //given - precondition or setup
+        given(employeeRepository.findIdsByEmailDomain(eq("doe.com"), anyLong(), any())).willReturn(List.of(1L));
+        given(employeeRepository.replaceEmailDomain(any(), any(), any())).willThrow(new DuplicateKeyException(
+                "batch update failed", new SQLException("Duplicate entry for key 'employees.uk_employees_email_hash'")));
+        //when - action or the behaviour to test
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceConflictException.class,
+                () -> employeeService.replaceEmailDomain("doe.com", "doe.org"));
+        //then - verify the output
+        verify(eventPublisher, never()).publishEvent(any(EmployeeChangedEvent.class));
     }
 }
@@ -0,0 +1,159 @@
+package io.github.joenas.testingapp.service;
+
+import io.github.joenas.testingapp.exception.ResourceConflictException;
+import io.github.joenas.testingapp.exception.ResourceNotFoundException;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.impl.ShardedEmployeeServiceImpl;
+import io.github.joenas.testingapp.sharding.EmployeeShard;
+import io.github.joenas.testingapp.sharding.ShardIdAllocator;
+import io.github.joenas.testingapp.sharding.ShardRouter;
+import io.github.joenas.testingapp.sharding.ShardingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// the sharded service runs against several in-memory H2 databases, one per shard
+public class ShardedEmployeeServiceTests {
+
+    private static final int SHARD_COUNT = 3;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private List<EmployeeShard> shards;
+    private ExecutorService executor;
+    private ShardedEmployeeServiceImpl employeeService;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        shards = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                    .generateUniqueName(true)
+                    .setType(EmbeddedDatabaseType.H2)
+                    .build();
+            ShardingConfig.initializeSchema(database);
+            databases.add(database);
+            shards.add(new EmployeeShard(i, new JdbcTemplate(database)));
+        }
+        // small blocks so the tests also cover the reservation of further blocks
+        ShardIdAllocator idAllocator = new ShardIdAllocator(shards.get(0).getJdbcTemplate(),
+                new TransactionTemplate(new DataSourceTransactionManager(databases.get(0))), 4);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        employeeService = new ShardedEmployeeServiceImpl(shards, new ShardRouter(SHARD_COUNT), idAllocator, executor,
+                events::add);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.close();
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @DisplayName("JUnit test for saveEmployee spreading employees over all shards")
+    @Test
+    public void givenManyEmployees_whenSaveEmployee_thenEveryShardReceivesEmployees() {
+        //given - precondition or setup
+        Set<Long> ids = new HashSet<>();
+        //when - action or the behaviour to test
+        for (int i = 0; i < 30; i++) {
+            ids.add(employeeService.saveEmployee(employee("user" + i + "@doe.com")).getId());
+        }
+        //then - verify the output
+        assertThat(ids).hasSize(30);
+        for (EmployeeShard shard : shards) {
+            assertThat(shard.findAllOrderById()).isNotEmpty();
+        }
+    }
+
+    @DisplayName("JUnit test for saveEmployee with an email stored on another shard")
+    @Test
+    public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
+        //given - precondition or setup
+        for (int i = 0; i < 10; i++) {
+            employeeService.saveEmployee(employee("user" + i + "@doe.com"));
+        }
+        //when - action or the behaviour to test
+        //then - verify the output
+        for (int i = 0; i < 10; i++) {
+            String email = "user" + i + "@doe.com";
+            assertThrows(ResourceConflictException.class, () -> employeeService.saveEmployee(employee(email)));
+        }
+        assertThat(employeeService.getAllEmployees()).hasSize(10);
+    }
+
+    @DisplayName("JUnit test for getAllEmployees merging the shards ordered by id")
+    @Test
+    public void givenEmployeesOnAllShards_whenGetAllEmployees_thenReturnEmployeesOrderedById() {
+        //given - precondition or setup
+        for (int i = 0; i < 25; i++) {
+            employeeService.saveEmployee(employee("user" + i + "@doe.com"));
+        }
+        //when - action or the behaviour to test
+        List<Employee> employees = employeeService.getAllEmployees();
+        //then - verify the output
+        assertThat(employees).hasSize(25);
+        assertThat(employees).extracting(Employee::getId).isSorted();
+    }
+
+    @DisplayName("JUnit test for getEmployeeById, updateEmployee and deleteEmployee routed to one shard")
+    @Test
+    public void givenSavedEmployee_whenUpdateAndDelete_thenOnlyOwningShardIsChanged() {
+        //given - precondition or setup
+        Employee savedEmployee = employeeService.saveEmployee(employee("john@doe.com"));
+        long id = savedEmployee.getId();
+        int owner = new ShardRouter(SHARD_COUNT).shardFor(id);
+        //when - action or the behaviour to test
+        savedEmployee.setEmail("jane@doe.com");
+        employeeService.updateEmployee(savedEmployee);
+        //then - verify the output
+        assertThat(employeeService.getEmployeeById(id)).map(Employee::getEmail).contains("jane@doe.com");
+        assertThat(employeeService.findByEmail("jane@doe.com")).map(Employee::getId).contains(id);
+        for (EmployeeShard shard : shards) {
+            assertThat(shard.findById(id).isPresent()).isEqualTo(shard.getIndex() == owner);
+        }
+
+        employeeService.deleteEmployee(id);
+        Optional<Employee> deletedEmployee = employeeService.getEmployeeById(id);
+        assertThat(deletedEmployee).isEmpty();
+    }
+
+    @DisplayName("JUnit test for updateEmployee and deleteEmployee of a missing employee")
+    @Test
+    public void givenMissingEmployee_whenUpdateAndDelete_thenNotFoundAndNoEvents() {
+        //given - precondition or setup
+        Employee missing = employee("ghost@doe.com");
+        missing.setId(42L);
+        //when - action or the behaviour to test
+        //then - verify the output
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(missing));
+        assertThat(employeeService.updateEmployee(42L, employee -> employee.setLastName("Smith"))).isEmpty();
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(42L));
+        assertThat(events).isEmpty();
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.joenas.testingapp.snapshot;
+
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+import static io.github.joenas.testingapp.snapshot.EmployeeSnapshotStoreTests.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class EmployeeSnapshotFileTests {
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private EmployeeSnapshotStore store;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        file = directory.resolve("employees.snapshot");
+        store = new EmployeeSnapshotStore(16);
+        store.load(sink -> {
+            sink.accept(employee(1L, "John", "Doe", "john@doe.com"));
+            sink.accept(employee(5L, "Jane", "Doe", "jane@doe.com"));
+        });
+        EmployeeSnapshotFile.write(file, store);
+    }
+
+    @DisplayName("JUnit test for reading a persisted snapshot back through a memory mapping")
+    @Test
+    public void givenPersistedSnapshot_whenRead_thenStoreAndHighWaterMarkAreRestored() {
+        //given - precondition or setup
+        EmployeeSnapshotStore restored = new EmployeeSnapshotStore(16);
+        //when - action or the behaviour to test
+        OptionalLong highWaterMark = EmployeeSnapshotFile.read(file, restored);
+        //then - verify the output
+        assertThat(highWaterMark).hasValue(5L);
+        assertThat(restored.isLoaded()).isTrue();
+        assertThat(restored.getAll()).extracting(Employee::getEmail).containsExactly("john@doe.com", "jane@doe.com");
+    }
+
+    @DisplayName("JUnit test for rejecting a snapshot with a flipped payload byte")
+    @Test
+    public void givenCorruptSnapshot_whenRead_thenItIsIgnored() throws Exception {
+        //given - precondition or setup
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x20;
+        Files.write(file, bytes);
+        //when - action or the behaviour to test
+        OptionalLong highWaterMark = EmployeeSnapshotFile.read(file, new EmployeeSnapshotStore(16));
+        //then - verify the output
+        assertThat(highWaterMark).isEmpty();
+    }
+
+    @DisplayName("JUnit test for catching up from the database above the high-water mark after a warm start")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenPersistedSnapshot_whenLoad_thenOnlyNewerEmployeesAreRead() throws Exception {
+        //given - precondition or setup
+        Files.write(EmployeeSnapshotFile.cleanShutdownMarker(file), new byte[0]);
+        EmployeeService employeeService = mock(EmployeeService.class);
+        willAnswer(invocation -> {
+            invocation.getArgument(1, Consumer.class).accept(employee(6L, "Max", "Doe", "max@doe.com"));
+            return null;
+        }).given(employeeService).forEachEmployeeAfter(eq(5L), any());
+        EmployeeSnapshotStore restored = new EmployeeSnapshotStore(16);
+        //when - action or the behaviour to test
+        EmployeeSnapshotConfig.SnapshotWrapper.load(restored, employeeService, file);
+        //then - verify the output
+        assertThat(restored.getAll()).extracting(Employee::getId).containsExactly(1L, 5L, 6L);
+        verify(employeeService, never()).forEachEmployee(any());
+        assertThat(EmployeeSnapshotFile.cleanShutdownMarker(file)).doesNotExist();
+    }
+
+    @DisplayName("JUnit test for a cold load when the snapshot was not written on a clean shutdown")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenSnapshotWithoutCleanShutdownMarker_whenLoad_thenEmployeesAreLoadedFromTheDatabase() {
+        //given - precondition or setup
+        EmployeeService employeeService = mock(EmployeeService.class);
+        willAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(employee(1L, "John", "Smith", "john@smith.com"));
+            return null;
+        }).given(employeeService).forEachEmployee(any());
+        EmployeeSnapshotStore restored = new EmployeeSnapshotStore(16);
+        //when - action or the behaviour to test
+        EmployeeSnapshotConfig.SnapshotWrapper.load(restored, employeeService, file);
+        //then - verify the output
+        assertThat(restored.getAll()).extracting(Employee::getEmail).containsExactly("john@smith.com");
+        verify(employeeService, never()).forEachEmployeeAfter(anyLong(), any());
+    }
+
+    @DisplayName("JUnit test for writing the snapshot and its marker on shutdown")
+    @Test
+    public void givenLoadedStore_whenShutdown_thenSnapshotAndMarkerAreWritten() throws Exception {
+        //given - precondition or setup
+        Files.delete(file);
+        EmployeeSnapshotConfig.EmployeeSnapshotPersister persister =
+                new EmployeeSnapshotConfig.EmployeeSnapshotPersister(store, file);
+        //when - action or the behaviour to test
+        persister.destroy();
+        //then - verify the output
+        assertThat(EmployeeSnapshotFile.cleanShutdownMarker(file)).exists();
+        assertThat(EmployeeSnapshotFile.read(file, new EmployeeSnapshotStore(16))).hasValue(5L);
+    }
+
+    @DisplayName("JUnit test for falling back to a cold load when the snapshot is truncated")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenTruncatedSnapshot_whenLoad_thenEmployeesAreLoadedFromTheDatabase() throws Exception {
+        //given - precondition or setup
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        EmployeeService employeeService = mock(EmployeeService.class);
+        willAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(employee(9L, "Eve", "Doe", "eve@doe.com"));
+            return null;
+        }).given(employeeService).forEachEmployee(any());
+        EmployeeSnapshotStore restored = new EmployeeSnapshotStore(16);
+        //when - action or the behaviour to test
+        EmployeeSnapshotConfig.SnapshotWrapper.load(restored, employeeService, file);
+        //then - verify the output
+        assertThat(restored.getAll()).extracting(Employee::getId).containsExactly(9L);
+        verify(employeeService, never()).forEachEmployeeAfter(anyLong(), any());
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.joenas.testingapp.snapshot;
+
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeeService;
+import io.github.joenas.testingapp.service.impl.SnapshotEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class EmployeeSnapshotStoreTests {
+
+    private EmployeeSnapshotStore store;
+
+    @BeforeEach
+    public void setup() {
+        store = new EmployeeSnapshotStore(2);
+        store.load(sink -> {
+            sink.accept(employee(1L, "John", "Doe", "john@doe.com"));
+            sink.accept(employee(3L, "Jane", "Doe", "jane@doe.com"));
+        });
+    }
+
+    @DisplayName("JUnit test for reading a loaded employee from the snapshot")
+    @Test
+    public void givenLoadedSnapshot_whenGet_thenEmployeeIsMaterialized() {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        Optional<Employee> employee = store.get(3L);
+        //then - verify the output
+        assertThat(employee).hasValueSatisfying(value -> {
+            assertThat(value.getFirstName()).isEqualTo("Jane");
+            assertThat(value.getLastName()).isEqualTo("Doe");
+            assertThat(value.getEmail()).isEqualTo("jane@doe.com");
+        });
+        assertThat(store.get(2L)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for applying change events to the snapshot in id order")
+    @Test
+    public void givenChangeEvents_whenApplied_thenSnapshotStaysSortedAndCurrent() {
+        //given - precondition or setup
+        Employee inserted = employee(2L, "Max", "Müller", "max@müller.de");
+        Employee updated = employee(1L, "John", "Smith", "john@smith.com");
+        //when - action or the behaviour to test
+        store.onEmployeeChanged(EmployeeChangedEvent.created(inserted));
+        store.onEmployeeChanged(EmployeeChangedEvent.created(employee(4L, "Eve", "Doe", "eve@doe.com")));
+        store.onEmployeeChanged(EmployeeChangedEvent.updated(updated));
+        store.onEmployeeChanged(EmployeeChangedEvent.deleted(3L));
+        //then - verify the output
+        assertThat(store.getAll()).extracting(Employee::getId).containsExactly(1L, 2L, 4L);
+        assertThat(store.get(1L)).get().extracting(Employee::getLastName).isEqualTo("Smith");
+        assertThat(store.get(2L)).get().extracting(Employee::getEmail).isEqualTo("max@müller.de");
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @DisplayName("JUnit test for sharing repeated names through the dictionaries")
+    @Test
+    public void givenRepeatedNames_whenGet_thenSameStringInstancesAreReturned() {
+        //given - precondition or setup
+
+        //when - action or the behaviour to test
+        Employee john = store.get(1L).orElseThrow();
+        Employee jane = store.get(3L).orElseThrow();
+        //then - verify the output
+        assertThat(john.getLastName()).isSameAs(jane.getLastName());
+    }
+
+    @DisplayName("JUnit test for reads going to the wrapped service until the snapshot is loaded")
+    @Test
+    public void givenUnloadedSnapshot_whenGetAllEmployees_thenDelegateIsUsed() {
+        //given - precondition or setup
+        EmployeeService delegate = mock(EmployeeService.class);
+        EmployeeSnapshotStore emptyStore = new EmployeeSnapshotStore(16);
+        SnapshotEmployeeServiceImpl employeeService = new SnapshotEmployeeServiceImpl(delegate, emptyStore);
+        given(delegate.getAllEmployees()).willReturn(List.of(employee(1L, "John", "Doe", "john@doe.com")));
+        //when - action or the behaviour to test
+        List<Employee> beforeLoad = employeeService.getAllEmployees();
+        emptyStore.load(sink -> sink.accept(employee(7L, "Jane", "Doe", "jane@doe.com")));
+        Optional<Employee> afterLoad = employeeService.getEmployeeById(7L);
+        //then - verify the output
+        assertThat(beforeLoad).hasSize(1);
+        assertThat(afterLoad).isPresent();
+        verify(delegate, never()).getEmployeeById(7L);
+    }
+
+    static Employee employee(long id, String firstName, String lastName, String email) {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
+}
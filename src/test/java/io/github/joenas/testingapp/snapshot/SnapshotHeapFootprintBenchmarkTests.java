@@ -0,0 +1,69 @@
+package io.github.joenas.testingapp.snapshot;
+
+import io.github.joenas.testingapp.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Heap per employee for 1M employees held as JPA entities vs. the columnar EmployeeSnapshotStore,
+// measured as retained heap after GC. Names are drawn from realistic pools of distinct values.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+public class SnapshotHeapFootprintBenchmarkTests {
+
+    private static final int EMPLOYEES = 1_000_000;
+    private static final int FIRST_NAMES = 2_000;
+    private static final int LAST_NAMES = 20_000;
+
+    @DisplayName("Benchmark the heap footprint of entities and the snapshot store")
+    @Test
+    public void compareHeapFootprint() throws Exception {
+        long baseline = usedHeap();
+        List<Employee> entities = new ArrayList<>(EMPLOYEES);
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            entities.add(employee(i));
+        }
+        long entityBytes = usedHeap() - baseline;
+        assertThat(entities).hasSize(EMPLOYEES);
+        entities = null;
+
+        baseline = usedHeap();
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(EMPLOYEES);
+        store.load(sink -> {
+            for (int i = 1; i <= EMPLOYEES; i++) {
+                sink.accept(employee(i));
+            }
+        });
+        long snapshotBytes = usedHeap() - baseline;
+        assertThat(store.size()).isEqualTo(EMPLOYEES);
+
+        System.out.printf("entities: %,d bytes (%.1f per employee)%n", entityBytes, (double) entityBytes / EMPLOYEES);
+        System.out.printf("snapshot: %,d bytes (%.1f per employee), estimated %,d bytes%n",
+                snapshotBytes, (double) snapshotBytes / EMPLOYEES, store.estimatedHeapBytes());
+        assertThat(snapshotBytes).isLessThan(entityBytes);
+    }
+
+    // new String instances per employee, like rows coming out of the JDBC driver
+    private static Employee employee(int i) {
+        return Employee.builder()
+                .id(i)
+                .firstName(new String("First" + (i % FIRST_NAMES)))
+                .lastName(new String("Last" + (i * 31 % LAST_NAMES)))
+                .email("employee" + i + "@example.com")
+                .build();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.joenas.testingapp.stats;
+
+import io.github.joenas.testingapp.exception.ServiceUnavailableException;
+import io.github.joenas.testingapp.model.EmailHash;
+import io.github.joenas.testingapp.model.Employee;
+import io.github.joenas.testingapp.service.EmployeeChangedEvent;
+import io.github.joenas.testingapp.service.EmployeesInvalidatedEvent;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// the store runs against an in-memory H2 database migrated like the application's
+public class EmployeeStatsStoreTests {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private EmployeeStatsStore store;
+
+    @BeforeEach
+    public void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        Flyway.configure()
+                .dataSource(database)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(database);
+        // pages of 2 rows so the build takes several
+        store = new EmployeeStatsStore(jdbcTemplate, Duration.ofMinutes(5), 2, Clock.systemUTC());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.destroy();
+        database.shutdown();
+    }
+
+    private void insert(long id, String lastName, String email) {
+        jdbcTemplate.update("insert into employees (id, first_name, last_name, email, email_hash) values (?, ?, ?, ?, ?)",
+                id, "First", lastName, email, EmailHash.of(email));
+    }
+
+    private static Employee employee(long id, String lastName, String email) {
+        return Employee.builder()
+                .id(id)
+                .firstName("First")
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
+
+    private void awaitRebuilt(long drifts) throws InterruptedException {
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((store.getDrifts() < drifts || store.getStats().stale()) && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+    }
+
+    @DisplayName("JUnit test for counting employees per email domain and last name initial")
+    @Test
+    public void givenEmployees_whenRebuild_thenCountsByDomainAndInitial() {
+        //given - precondition or setup
+        insert(1, "Doe", "john@doe.com");
+        insert(2, "doe", "jane@Doe.com");
+        insert(3, "Roe", "mary@roe.com");
+        insert(7, "Ørsted", "hans@roe.com");
+        insert(9, "Smith", "no-domain");
+
+        //when - action or the behaviour to test
+        store.rebuild();
+
+        //then - verify the output
+        EmployeeStats stats = store.getStats();
+        assertThat(stats.total()).isEqualTo(5);
+        assertThat(stats.byEmailDomain()).isEqualTo(Map.of("doe.com", 2L, "roe.com", 2L, "no-domain", 1L));
+        assertThat(stats.byLastNameInitial()).isEqualTo(Map.of("D", 2L, "R", 1L, "Ø", 1L, "S", 1L));
+        assertThat(stats.stale()).isFalse();
+        // the same counts as the GROUP BY queries
+        store.reconcile();
+        assertThat(store.getDrifts()).isZero();
+    }
+
+    @DisplayName("JUnit test for keeping the counts current from change events")
+    @Test
+    public void givenBuiltStats_whenEmployeesChanged_thenCountsFollow() {
+        //given - precondition or setup
+        insert(1, "Doe", "john@doe.com");
+        insert(2, "Roe", "mary@roe.com");
+        store.rebuild();
+        EmployeeStats before = store.getStats();
+
+        //when - action or the behaviour to test
+        store.onEmployeeChanged(EmployeeChangedEvent.created(employee(3, "Doe", "jane@doe.com")));
+        store.onEmployeeChanged(EmployeeChangedEvent.updated(employee(2, "Smith", "mary@smith.com")));
+        store.onEmployeeChanged(EmployeeChangedEvent.deleted(1));
+        // deleting twice counts once
+        store.onEmployeeChanged(EmployeeChangedEvent.deleted(1));
+
+        //then - verify the output
+        EmployeeStats stats = store.getStats();
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byEmailDomain()).isEqualTo(Map.of("doe.com", 1L, "smith.com", 1L));
+        assertThat(stats.byLastNameInitial()).isEqualTo(Map.of("D", 1L, "S", 1L));
+        assertThat(stats.updatedAt()).isAfterOrEqualTo(before.updatedAt());
+        // reads between changes share the snapshot
+        assertThat(store.getStats()).isSameAs(stats);
+    }
+
+    @DisplayName("JUnit test for reloading employees changed by another instance")
+    @Test
+    public void givenEmployeesChangedElsewhere_whenInvalidated_thenReloaded() {
+        //given - precondition or setup
+        insert(1, "Doe", "john@doe.com");
+        insert(2, "Roe", "mary@roe.com");
+        store.rebuild();
+        jdbcTemplate.update("update employees set email = 'john@other.com' where id = 1");
+        jdbcTemplate.update("delete from employees where id = 2");
+        insert(5, "Smith", "anna@smith.com");
+
+        //when - action or the behaviour to test
+        store.onEmployeesInvalidated(EmployeesInvalidatedEvent.of(Set.of(1L, 2L, 5L)));
+
+        //then - verify the output
+        EmployeeStats stats = store.getStats();
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byEmailDomain()).isEqualTo(Map.of("other.com", 1L, "smith.com", 1L));
+        assertThat(stats.byLastNameInitial()).isEqualTo(Map.of("D", 1L, "S", 1L));
+    }
+
+    @DisplayName("JUnit test for rebuilding counts that differ from the database")
+    @Test
+    public void givenRowsChangedWithoutEvents_whenReconcile_thenRebuilt() throws Exception {
+        //given - precondition or setup
+        insert(1, "Doe", "john@doe.com");
+        store.rebuild();
+        insert(2, "Roe", "mary@roe.com");
+
+        //when - action or the behaviour to test
+        store.reconcile();
+
+        //then - verify the output
+        awaitRebuilt(1);
+        assertThat(store.getDrifts()).isEqualTo(1);
+        EmployeeStats stats = store.getStats();
+        assertThat(stats.stale()).isFalse();
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byEmailDomain()).isEqualTo(Map.of("doe.com", 1L, "roe.com", 1L));
+    }
+
+    @DisplayName("JUnit test for the staleness of counts before the build and after a missed reconcile")
+    @Test
+    public void givenOverdueReconcile_whenGetStats_thenStale() throws Exception {
+        //given - precondition or setup
+        insert(1, "Doe", "john@doe.com");
+        store.destroy();
+        store = new EmployeeStatsStore(jdbcTemplate, Duration.ofMillis(50), 100, Clock.systemUTC());
+        assertThatThrownBy(store::getStats).isInstanceOf(ServiceUnavailableException.class);
+        store.rebuild();
+
+        //when - action or the behaviour to test
+        Thread.sleep(150);
+
+        //then - verify the output
+        assertThat(store.getStats().stale()).isTrue();
+        store.reconcile();
+        assertThat(store.getStats().stale()).isFalse();
+    }
+}